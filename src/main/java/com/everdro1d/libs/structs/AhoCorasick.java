@@ -0,0 +1,339 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://cr.yp.to/bib/1975/aho.pdf (Aho, Corasick, Efficient String Matching)
+ * https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.*;
+
+/**
+ * An Aho-Corasick automaton that finds every occurrence of many keys in a text in a
+ * single pass, built from the keys of a {@link Trie} with {@link Trie#matcher()}.
+ * <p>Checking a line against {@code n} keywords with {@link String#contains} reads the line
+ * {@code n} times. The automaton reads it once: the Trie's nodes become states, and each
+ * state gets a failure link to the state of its longest proper suffix that is also a
+ * prefix of some key. When the next character has no edge, the scan follows failure links
+ * instead of backing up in the text, so the cost is linear in the text length plus the
+ * number of matches, whatever the number of keys.</p>
+ * <p>Matches may overlap and are reported in order of their end position, the longest
+ * first for the same end. The empty key never matches. An automaton built from a
+ * case-insensitive Trie folds every character of the text the same way the Trie folds
+ * keys, and reports the keys as the Trie stores them. The automaton is a snapshot of the
+ * Trie's keys and values at the time it was built; it is immutable and may be shared
+ * between threads.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * Trie&lt;String&gt; keywords = new Trie&lt;&gt;(Map.of("error", "ERROR", "warn", "WARN"));
+ * AhoCorasick&lt;String&gt; matcher = keywords.matcher();
+ *
+ * matcher.containsAny(line);
+ * for (AhoCorasick.Match&lt;String&gt; match : matcher.findAll(line)) {
+ *     highlight(match.getStart(), match.getEnd(), match.getValue());
+ * }
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored with each key
+ * @see Trie#matcher()
+ */
+public final class AhoCorasick<T> {
+    private static final int NO_STATE = -1;
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * One occurrence of a key in the scanned text.
+     * @param <T> the type of value stored with each key
+     */
+    public static final class Match<T> {
+        private final int start;
+        private final int end;
+        private final String key;
+        private final T value;
+
+        private Match(int start, int end, String key, T value) {
+            this.start = start;
+            this.end = end;
+            this.key = key;
+            this.value = value;
+        }
+
+        /**
+         * @return index of the first character of the occurrence
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * @return index after the last character of the occurrence
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        /**
+         * @return the matched key
+         */
+        public String getKey() {
+            return key;
+        }
+
+        /**
+         * @return the value stored with the matched key
+         */
+        public T getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            return key + "@[" + start + ", " + end + ")";
+        }
+    }
+
+    /**
+     * Receives matches as they are found, without allocating a {@link Match} for each.
+     * @param <T> the type of value stored with each key
+     */
+    @FunctionalInterface
+    public interface MatchHandler<T> {
+
+        /**
+         * Called for each occurrence of a key.
+         * @param start index of the first character of the occurrence
+         * @param end index after the last character of the occurrence
+         * @param key the matched key
+         * @param value the value stored with the matched key
+         * @return true to keep scanning, false to stop
+         */
+        boolean onMatch(int start, int end, String key, T value);
+    }
+
+    /**
+     * Edge characters of each state in increasing order, parallel to {@link #targets}.
+     */
+    private final char[][] edges;
+    private final int[][] targets;
+
+    /**
+     * State of the longest proper suffix of each state's path that is a prefix of a key.
+     */
+    private final int[] fail;
+
+    /**
+     * Nearest state along the failure links that ends a key, NO_STATE if none.
+     */
+    private final int[] output;
+
+    /**
+     * Length of each state's path, i.e. of the key it ends.
+     */
+    private final int[] depth;
+
+    /**
+     * Key ending at each state, null if the state does not end a key.
+     */
+    private final String[] keys;
+    private final Object[] values;
+
+    private final int keyCount;
+
+    private final boolean ignoreCase;
+
+    AhoCorasick(Trie.TrieNode<T> root, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        // number the Trie's nodes breadth first, so a state's failure target is always numbered before it
+        List<Trie.TrieNode<T>> nodes = new ArrayList<>();
+        List<Integer> parents = new ArrayList<>();
+        nodes.add(root);
+        parents.add(NO_STATE);
+        for (int state = 0; state < nodes.size(); state++) {
+            Trie.TrieNode<T> node = nodes.get(state);
+            Trie.TrieNode<T>[] children = node.orderedChildren();
+            for (int i = 0; i < node.childCount; i++) {
+                nodes.add(children[i]);
+                parents.add(state);
+            }
+        }
+
+        int stateCount = nodes.size();
+        edges = new char[stateCount][];
+        targets = new int[stateCount][];
+        fail = new int[stateCount];
+        output = new int[stateCount];
+        depth = new int[stateCount];
+        keys = new String[stateCount];
+        values = new Object[stateCount];
+
+        int nextState = 1;
+        int count = 0;
+        for (int state = 0; state < stateCount; state++) {
+            Trie.TrieNode<T> node = nodes.get(state);
+            Trie.TrieNode<T>[] children = node.orderedChildren();
+            edges[state] = new char[node.childCount];
+            targets[state] = new int[node.childCount];
+            for (int i = 0; i < node.childCount; i++) {
+                edges[state][i] = children[i].character;
+                targets[state][i] = nextState;
+                depth[nextState] = depth[state] + 1;
+                nextState++;
+            }
+
+            if (state != 0 && node.isEndOfWord) {
+                keys[state] = spell(nodes, parents, state);
+                values[state] = node.value;
+                count++;
+            }
+        }
+        keyCount = count;
+
+        output[0] = NO_STATE;
+        for (int state = 1; state < stateCount; state++) {
+            int parent = parents.get(state);
+            char character = nodes.get(state).character;
+
+            int suffix = NO_STATE;
+            if (parent != 0) {
+                int candidate = fail[parent];
+                while ((suffix = transition(candidate, character)) == NO_STATE && candidate != 0) {
+                    candidate = fail[candidate];
+                }
+            }
+            fail[state] = suffix == NO_STATE ? 0 : suffix;
+
+            int failState = fail[state];
+            output[state] = keys[failState] != null ? failState : output[failState];
+        }
+    }
+
+    /**
+     * Get the number of keys the automaton matches.
+     * @return number of keys, not counting the empty key
+     */
+    public int size() {
+        return keyCount;
+    }
+
+    /**
+     * Check whether keys are matched regardless of case.
+     * @return true if the source Trie ignored case
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Checks if any key occurs in the text, stopping at the first occurrence.
+     * @param text text to scan
+     * @return true if any key occurs in the text
+     */
+    public boolean containsAny(CharSequence text) {
+        return !scan(text, (start, end, key, value) -> false);
+    }
+
+    /**
+     * Finds every occurrence of every key in the text.
+     * @param text text to scan
+     * @return the matches, in order of their end position
+     */
+    public List<Match<T>> findAll(CharSequence text) {
+        List<Match<T>> matches = new ArrayList<>();
+        scan(text, (start, end, key, value) -> matches.add(new Match<>(start, end, key, value)));
+        return matches;
+    }
+
+    /**
+     * Scans the text, passing each occurrence of a key to the handler.
+     * @param text text to scan
+     * @param handler receives the matches, in order of their end position
+     * @return true if the whole text was scanned, false if the handler stopped the scan
+     */
+    public boolean scan(CharSequence text, MatchHandler<T> handler) {
+        int state = 0;
+        for (int i = 0; i < text.length(); i++) {
+            state = step(state, text.charAt(i));
+            if (!report(state, i + 1, handler)) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Scans the characters of a reader until its end, passing each occurrence of a key to
+     * the handler. Positions count characters from the reader's current position, and
+     * are {@code int}s like those of the other scans, so at most {@link Integer#MAX_VALUE}
+     * characters can be scanned. The reader is not closed.
+     * @param reader characters to scan
+     * @param handler receives the matches, in order of their end position
+     * @return true if the whole input was scanned, false if the handler stopped the scan
+     * @throws IOException if reading fails
+     * @throws IllegalStateException if the reader holds more than {@link Integer#MAX_VALUE}
+     * characters; matches up to that point have already been passed to the handler
+     */
+    public boolean scan(Reader reader, MatchHandler<T> handler) throws IOException {
+        char[] buffer = new char[READ_BUFFER_SIZE];
+        int state = 0;
+        int position = 0;
+        int read;
+        while ((read = reader.read(buffer)) != -1) {
+            for (int i = 0; i < read; i++) {
+                if (position == Integer.MAX_VALUE) {
+                    throw new IllegalStateException("Reader is longer than " + Integer.MAX_VALUE + " characters");
+                }
+                state = step(state, buffer[i]);
+                if (!report(state, ++position, handler)) return false;
+            }
+        }
+        return true;
+    }
+
+    // ---
+    private int transition(int state, char character) {
+        char[] stateEdges = edges[state];
+        int low = 0;
+        int high = stateEdges.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midKey = stateEdges[mid];
+            if (midKey < character) {
+                low = mid + 1;
+            } else if (midKey > character) {
+                high = mid - 1;
+            } else {
+                return targets[state][mid];
+            }
+        }
+        return NO_STATE;
+    }
+
+    private int step(int state, char character) {
+        if (ignoreCase) character = Trie.foldCase(character);
+        int next;
+        while ((next = transition(state, character)) == NO_STATE && state != 0) {
+            state = fail[state];
+        }
+        return next == NO_STATE ? 0 : next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean report(int state, int end, MatchHandler<T> handler) {
+        for (int s = keys[state] != null ? state : output[state]; s != NO_STATE; s = output[s]) {
+            if (!handler.onMatch(end - depth[s], end, keys[s], (T) values[s])) return false;
+        }
+        return true;
+    }
+
+    private String spell(List<Trie.TrieNode<T>> nodes, List<Integer> parents, int state) {
+        char[] key = new char[depth[state]];
+        for (int s = state, i = key.length - 1; s != 0; s = parents.get(s), i--) {
+            key[i] = nodes.get(s).character;
+        }
+        return new String(key);
+    }
+    // ---
+
+}
@@ -0,0 +1,305 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Bloom_filter
+ * https://www.eecs.harvard.edu/~michaelm/postscripts/rsa2008.pdf (Kirsch, Mitzenmacher, Less Hashing, Same Performance)
+ * https://www.cs.amherst.edu/~ccmcgeoch/cs34/papers/cacheefficientbloomfilters-jea.pdf (Putze, Sanders, Singler, Cache-, Hash- and Space-Efficient Bloom Filters)
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A Bloom filter over string keys: a bit array that answers "definitely absent" or
+ * "possibly present" with a few hash probes.
+ * <p>Each key sets {@code k} bits chosen by hashing it. A key whose bits are not all set
+ * was never added, so a miss is certain; a key whose bits are all set may still be a
+ * false positive, at a rate fixed by the number of bits per key. Keys cannot be removed,
+ * since their bits may be shared with other keys.</p>
+ * <p>The filter is sized from the expected number of insertions and the target false
+ * positive rate. Adding far more keys than expected raises the false positive rate;
+ * {@link #expectedFalsePositiveRate()} reports the current estimate.</p>
+ * <p>The {@link #createBlocked(long, double) blocked} variant keeps all bits of a key in
+ * one 64-byte block, the size of a cache line, so a lookup touches one cache line instead
+ * of {@code k}. It needs slightly more bits for the same false positive rate.</p>
+ * <p>A filter can front any key set, or be attached to a {@link Trie} with
+ * {@link Trie#attachBloomFilter(long, double)} so that definite misses skip the node
+ * walk. It is not thread-safe.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * BloomFilter filter = BloomFilter.create(1_000_000, 0.01);
+ * filter.putAll(knownKeys);
+ *
+ * if (filter.mightContain(key) &amp;&amp; knownKeys.contains(key)) { ... }
+ * </pre></blockquote>
+ *
+ * @see Trie#attachBloomFilter(long, double)
+ */
+public final class BloomFilter {
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /**
+     * Bits per block of the blocked variant: one 64-byte cache line.
+     */
+    private static final int BLOCK_BITS = 512;
+
+    /**
+     * Extra bits per key in blocked filters, making up for the uneven load of the blocks.
+     */
+    private static final double BLOCKED_OVERHEAD = 1.2;
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+    private final boolean blocked;
+    private long insertions;
+
+    private BloomFilter(long bitCount, int hashCount, boolean blocked) {
+        if (bitCount > (long) Integer.MAX_VALUE * Long.SIZE) {
+            throw new IllegalArgumentException("Bloom filter too large: " + bitCount + " bits");
+        }
+        this.words = new long[(int) ((bitCount + Long.SIZE - 1) / Long.SIZE)];
+        this.bitCount = (long) words.length * Long.SIZE;
+        this.hashCount = hashCount;
+        this.blocked = blocked;
+    }
+
+    /**
+     * Creates a filter sized for the expected number of keys and false positive rate.
+     * @param expectedInsertions number of keys expected to be added
+     * @param falsePositiveRate target false positive rate, between 0 and 1 exclusive
+     * @return a new empty filter
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static BloomFilter create(long expectedInsertions, double falsePositiveRate) {
+        long bits = optimalBitCount(expectedInsertions, falsePositiveRate);
+        return new BloomFilter(bits, optimalHashCount(expectedInsertions, bits), false);
+    }
+
+    /**
+     * Creates a cache-line blocked filter sized for the expected number of keys and
+     * false positive rate.
+     * @param expectedInsertions number of keys expected to be added
+     * @param falsePositiveRate target false positive rate, between 0 and 1 exclusive
+     * @return a new empty filter
+     * @throws IllegalArgumentException if an argument is out of range
+     */
+    public static BloomFilter createBlocked(long expectedInsertions, double falsePositiveRate) {
+        long bits = (long) (optimalBitCount(expectedInsertions, falsePositiveRate) * BLOCKED_OVERHEAD);
+        bits = Math.max(BLOCK_BITS, (bits + BLOCK_BITS - 1) / BLOCK_BITS * BLOCK_BITS);
+        return new BloomFilter(bits, optimalHashCount(expectedInsertions, bits), true);
+    }
+
+    /**
+     * Adds a key.
+     * @param key key to add
+     * @return true if the filter changed, i.e. the key was definitely not added before
+     */
+    public boolean put(CharSequence key) {
+        return putHash(hash(key, 0, key.length()));
+    }
+
+    /**
+     * Adds every key of a collection.
+     * @param keys keys to add
+     */
+    public void putAll(Iterable<? extends CharSequence> keys) {
+        for (CharSequence key : keys) {
+            put(key);
+        }
+    }
+
+    /**
+     * Checks if a key may have been added.
+     * @param key key to check for
+     * @return false if the key was definitely never added, true if it may have been
+     */
+    public boolean mightContain(CharSequence key) {
+        return mightContainHash(hash(key, 0, key.length()));
+    }
+
+    /**
+     * Checks if the key held in the characters from start (inclusive) to end (exclusive)
+     * of the sequence may have been added, without copying it.
+     * @param key sequence holding the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @return false if the key was definitely never added, true if it may have been
+     */
+    public boolean mightContain(CharSequence key, int start, int end) {
+        Objects.checkFromToIndex(start, end, key.length());
+        return mightContainHash(hash(key, start, end));
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        Arrays.fill(words, 0L);
+        insertions = 0;
+    }
+
+    /**
+     * Get the number of bits in the filter.
+     * @return size of the bit array
+     */
+    public long bitSize() {
+        return bitCount;
+    }
+
+    /**
+     * Get the number of bits set per key.
+     * @return number of hash probes per key
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * Check whether this is the cache-line blocked variant.
+     * @return true if every key's bits lie in one 64-byte block
+     */
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Get the number of adds that changed the filter, an estimate of the number of
+     * distinct keys added.
+     * @return number of changing insertions
+     */
+    public long insertions() {
+        return insertions;
+    }
+
+    /**
+     * Estimate the current false positive rate from the share of bits set.
+     * @return probability that a key never added is reported as possibly present
+     */
+    public double expectedFalsePositiveRate() {
+        long set = 0;
+        for (long word : words) {
+            set += Long.bitCount(word);
+        }
+        return Math.pow((double) set / bitCount, hashCount);
+    }
+
+    @Override
+    public String toString() {
+        return "BloomFilter{bits=" + bitCount
+                + ", hashes=" + hashCount
+                + ", blocked=" + blocked
+                + ", insertions=" + insertions
+                + '}';
+    }
+
+    // ---
+    /**
+     * Feeds one more character into a key hash started with {@link #hashStart()}.
+     * Lets a {@link Trie} hash its keys with the characters folded as it reads them.
+     */
+    static long hashStep(long hash, char c) {
+        return (hash ^ c) * FNV_PRIME;
+    }
+
+    static long hashStart() {
+        return FNV_OFFSET;
+    }
+
+    private static long hash(CharSequence key, int start, int end) {
+        long hash = hashStart();
+        for (int i = start; i < end; i++) {
+            hash = hashStep(hash, key.charAt(i));
+        }
+        return hash;
+    }
+
+    /**
+     * Sets the bits of a key hash computed with {@link #hashStep(long, char)}.
+     * @return true if any bit changed
+     */
+    boolean putHash(long hash) {
+        long mixed = mix(hash);
+        long step = Long.rotateLeft(mixed, 32) | 1;
+        long base = blockBase(mixed);
+
+        boolean changed = false;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(base, mixed + i * step);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((words[word] & mask) == 0) {
+                words[word] |= mask;
+                changed = true;
+            }
+        }
+        if (changed) insertions++;
+        return changed;
+    }
+
+    /**
+     * Checks the bits of a key hash computed with {@link #hashStep(long, char)}.
+     */
+    boolean mightContainHash(long hash) {
+        long mixed = mix(hash);
+        long step = Long.rotateLeft(mixed, 32) | 1;
+        long base = blockBase(mixed);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = bitIndex(base, mixed + i * step);
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * @return index of the first bit of the key's block, or -1 when not blocked
+     */
+    private long blockBase(long mixed) {
+        if (!blocked) return -1;
+        long blocks = bitCount / BLOCK_BITS;
+        // the probe positions use every bit of the hash, so pick the block from a second mix
+        return Long.remainderUnsigned(mix(mixed), blocks) * BLOCK_BITS;
+    }
+
+    /**
+     * Maps one probe of the double hashing sequence to a bit, within the block if blocked.
+     */
+    private long bitIndex(long base, long probe) {
+        if (base >= 0) return base + (probe & (BLOCK_BITS - 1));
+        return (probe & Long.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * Final mix of MurmurHash3, spreading the FNV hash over all 64 bits.
+     */
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+
+    private static long optimalBitCount(long expectedInsertions, double falsePositiveRate) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (!(falsePositiveRate > 0.0 && falsePositiveRate < 1.0)) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        double bits = -expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2));
+        return Math.max(Long.SIZE, (long) Math.ceil(bits));
+    }
+
+    private static int optimalHashCount(long expectedInsertions, long bitCount) {
+        return Math.max(1, (int) Math.round((double) bitCount / expectedInsertions * Math.log(2)));
+    }
+    // ---
+
+}
@@ -0,0 +1,450 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * A Trie keyed by the UTF-8 bytes of its keys, for lookups straight over I/O buffers.
+ * <p>A {@link Trie} walks {@code char}s, so bytes read from a file or a process must first
+ * be decoded into a String. ByteTrie walks bytes instead: {@link #contains(byte[], int, int)}
+ * and {@link #contains(ByteBuffer)} read the key in place, from an array range or from the
+ * remaining bytes of a heap, direct or memory-mapped buffer, without copying or decoding.
+ * Lookups allocate nothing.</p>
+ * <p>String keys are encoded to UTF-8 on insert, so a String key and its encoded bytes
+ * find the same entry. Since UTF-8 preserves code point order, keys are
+ * listed in code point order, which matches {@link String#compareTo(String)} outside
+ * surrogate pairs.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * ByteTrie&lt;Integer&gt; ids = new ByteTrie&lt;&gt;();
+ * ids.insert("apple", 1);
+ *
+ * ByteBuffer line = ...; // a slice of a mapped file
+ * Integer id = ids.get(line);
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored in the ByteTrie
+ * @see Trie
+ */
+public class ByteTrie<T> {
+
+    private static final class Node<T> {
+        private static final byte[] NO_KEYS = new byte[0];
+        @SuppressWarnings("rawtypes")
+        private static final Node[] NO_NODES = new Node[0];
+
+        boolean isEndOfWord;
+        T value;
+
+        /**
+         * Child bytes in increasing unsigned order, parallel to {@link #children}.
+         */
+        byte[] keys = NO_KEYS;
+        @SuppressWarnings("unchecked")
+        Node<T>[] children = NO_NODES;
+        int childCount;
+
+        /**
+         * Binary searches the child bytes, comparing them as unsigned.
+         * @return index of the byte, or -(insertion point) - 1
+         */
+        private int indexOf(byte b) {
+            int key = b & 0xFF;
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int midKey = keys[mid] & 0xFF;
+                if (midKey < key) {
+                    low = mid + 1;
+                } else if (midKey > key) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private Node<T> getChild(byte b) {
+            int i = indexOf(b);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node<T> getOrAddChild(byte b) {
+            int i = indexOf(b);
+            if (i >= 0) return children[i];
+
+            int index = -(i + 1);
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount << 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+
+            Node<T> child = new Node<>();
+            keys[index] = b;
+            children[index] = child;
+            childCount++;
+            return child;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void removeChild(byte b) {
+            int i = indexOf(b);
+            if (i < 0) return;
+
+            System.arraycopy(keys, i + 1, keys, i, childCount - i - 1);
+            System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+            children[--childCount] = null;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = NO_NODES;
+            }
+        }
+    }
+
+    private Node<T> root = new Node<>();
+    private int size;
+
+    /**
+     * Creates a new ByteTrie without any values.
+     */
+    public ByteTrie() {
+    }
+
+    /**
+     * Creates a new ByteTrie containing the key-value pairs given in the map.
+     * @param map map of key-value pairs the tree should be init with
+     */
+    public ByteTrie(Map<String, T> map) {
+        for (Map.Entry<String, T> entry : map.entrySet()) {
+            insert(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Get the number of keys in the ByteTrie.
+     * @return number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the ByteTrie is empty.
+     * @return true if it contains no keys, else false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        root = new Node<>();
+        size = 0;
+    }
+
+    /**
+     * Inserts the UTF-8 encoding of the given key.
+     * @param key key to insert
+     * @param value value to associate with the key
+     */
+    public void insert(String key, T value) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        insert(bytes, 0, bytes.length, value);
+    }
+
+    /**
+     * Inserts the key held in a range of a byte array. The bytes are copied into the tree.
+     * @param key array holding the key
+     * @param offset index of the first byte of the key
+     * @param length number of bytes in the key
+     * @param value value to associate with the key
+     */
+    public void insert(byte[] key, int offset, int length, T value) {
+        Objects.checkFromIndexSize(offset, length, key.length);
+        Node<T> node = root;
+        for (int i = offset; i < offset + length; i++) {
+            node = node.getOrAddChild(key[i]);
+        }
+        if (!node.isEndOfWord) {
+            node.isEndOfWord = true;
+            size++;
+        }
+        node.value = value;
+    }
+
+    /**
+     * Checks if the UTF-8 encoding of the given key exists in the tree.
+     * @param key key to check for
+     * @return true if the key exists
+     */
+    public boolean contains(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        return contains(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Checks if the given key exists in the tree.
+     * @param key key to check for
+     * @return true if the key exists
+     */
+    public boolean contains(byte[] key) {
+        return contains(key, 0, key.length);
+    }
+
+    /**
+     * Checks if the key held in a range of a byte array exists in the tree.
+     * @param key array holding the key
+     * @param offset index of the first byte of the key
+     * @param length number of bytes in the key
+     * @return true if the key exists
+     */
+    public boolean contains(byte[] key, int offset, int length) {
+        Node<T> node = find(key, offset, length);
+        return node != null && node.isEndOfWord;
+    }
+
+    /**
+     * Checks if the remaining bytes of the buffer, from its position to its limit, are a
+     * key in the tree. The buffer's position is not changed.
+     * @param key buffer holding the key
+     * @return true if the key exists
+     */
+    public boolean contains(ByteBuffer key) {
+        Node<T> node = find(key);
+        return node != null && node.isEndOfWord;
+    }
+
+    /**
+     * Checks if any keys in the tree start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        return startsWith(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Checks if any keys in the tree start with the bytes held in a range of a byte array.
+     * @param prefix array holding the prefix
+     * @param offset index of the first byte of the prefix
+     * @param length number of bytes in the prefix
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(byte[] prefix, int offset, int length) {
+        return isPrefixNode(find(prefix, offset, length));
+    }
+
+    /**
+     * Checks if any keys in the tree start with the remaining bytes of the buffer.
+     * The buffer's position is not changed.
+     * @param prefix buffer holding the prefix
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(ByteBuffer prefix) {
+        return isPrefixNode(find(prefix));
+    }
+
+    /**
+     * Get the value of the UTF-8 encoding of a key.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    public T get(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        return get(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Get the value of a key.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    public T get(byte[] key) {
+        return get(key, 0, key.length);
+    }
+
+    /**
+     * Get the value of the key held in a range of a byte array.
+     * @param key array holding the key
+     * @param offset index of the first byte of the key
+     * @param length number of bytes in the key
+     * @return the value associated with the key
+     */
+    public T get(byte[] key, int offset, int length) {
+        Node<T> node = find(key, offset, length);
+        return node != null && node.isEndOfWord ? node.value : null;
+    }
+
+    /**
+     * Get the value of the key held in the remaining bytes of the buffer.
+     * The buffer's position is not changed.
+     * @param key buffer holding the key
+     * @return the value associated with the key
+     */
+    public T get(ByteBuffer key) {
+        Node<T> node = find(key);
+        return node != null && node.isEndOfWord ? node.value : null;
+    }
+
+    /**
+     * Removes the UTF-8 encoding of the given key.
+     * @param key key to remove
+     * @return true if the key was removed, false otherwise (including key does not exist)
+     */
+    public boolean remove(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        return remove(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Removes the key held in a range of a byte array.
+     * @param key array holding the key
+     * @param offset index of the first byte of the key
+     * @param length number of bytes in the key
+     * @return true if the key was removed, false otherwise (including key does not exist)
+     */
+    public boolean remove(byte[] key, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, key.length);
+        if (!removeHelper(root, key, offset, offset + length)) return false;
+        size--;
+        return true;
+    }
+
+    /**
+     * List the keys in the ByteTrie, decoded from UTF-8.
+     * @return A list of all the keys in the ByteTrie
+     */
+    public List<String> listKeys() {
+        return listKeysMatching("", -1);
+    }
+
+    /**
+     * List the keys that match the prefix with a limit on the number of matches,
+     * in code point order. Keys are decoded from UTF-8.
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        byte[] bytes = prefix.getBytes(StandardCharsets.UTF_8);
+        Node<T> node = find(bytes, 0, bytes.length);
+        if (node != null) {
+            KeyAssembler assembler = new KeyAssembler(bytes);
+            collect(node, assembler, list, null, maxMatches);
+        }
+        return list;
+    }
+
+    /**
+     * Flatten the ByteTrie to a map, with keys decoded from UTF-8.
+     * @return map key, value
+     */
+    public Map<String,T> getTrieAsMap() {
+        Map<String,T> map = new HashMap<>();
+        collect(root, new KeyAssembler(new byte[0]), null, map, -1);
+        return map;
+    }
+
+    // ---
+    /**
+     * Growable byte buffer spelling the key of the current path.
+     */
+    private static final class KeyAssembler {
+        byte[] bytes;
+        int length;
+
+        KeyAssembler(byte[] prefix) {
+            bytes = Arrays.copyOf(prefix, Math.max(16, prefix.length * 2));
+            length = prefix.length;
+        }
+
+        void append(byte b) {
+            if (length == bytes.length) bytes = Arrays.copyOf(bytes, length << 1);
+            bytes[length++] = b;
+        }
+
+        @Override
+        public String toString() {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+    }
+
+    private void collect(
+            Node<T> node, KeyAssembler assembler,
+            List<String> list, Map<String,T> map, int maxMatches
+    ) {
+        if (node.isEndOfWord) {
+            if (list != null) list.add(assembler.toString());
+            if (map != null) map.put(assembler.toString(), node.value);
+        }
+
+        for (int i = 0; i < node.childCount; i++) {
+            if (list != null && maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            assembler.append(node.keys[i]);
+            collect(node.children[i], assembler, list, map, maxMatches);
+            assembler.length--;
+        }
+    }
+
+    private Node<T> find(byte[] key, int offset, int length) {
+        Objects.checkFromIndexSize(offset, length, key.length);
+        Node<T> node = root;
+        for (int i = offset; i < offset + length && node != null; i++) {
+            node = node.getChild(key[i]);
+        }
+        return node;
+    }
+
+    /**
+     * Follows the remaining bytes of the buffer with absolute reads, leaving its position alone.
+     */
+    private Node<T> find(ByteBuffer key) {
+        Node<T> node = root;
+        for (int i = key.position(); i < key.limit() && node != null; i++) {
+            node = node.getChild(key.get(i));
+        }
+        return node;
+    }
+
+    private boolean isPrefixNode(Node<T> node) {
+        return node != null && (node == root || node.isEndOfWord || node.childCount > 0);
+    }
+
+    /**
+     * @return true if the key was found and removed
+     */
+    private boolean removeHelper(Node<T> node, byte[] key, int index, int end) {
+        if (index == end) {
+            if (!node.isEndOfWord) return false;
+            node.isEndOfWord = false;
+            node.value = null;
+            return true;
+        }
+
+        Node<T> child = node.getChild(key[index]);
+        if (child == null || !removeHelper(child, key, index + 1, end)) return false;
+
+        if (!child.isEndOfWord && child.childCount == 0) {
+            node.removeChild(key[index]);
+        }
+        return true;
+    }
+    // ---
+
+}
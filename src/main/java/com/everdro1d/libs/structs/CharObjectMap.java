@@ -0,0 +1,289 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Linear_probing
+ * https://en.wikipedia.org/wiki/Open_addressing
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A hash map from {@code char} keys to objects, with open addressing and linear probing.
+ * <p>A {@code HashMap<Character, V>} boxes every key and allocates an entry object per
+ * mapping. CharObjectMap keeps the keys in a {@code char[]} and the values in a parallel
+ * array, so a lookup hashes the key, then reads neighbouring slots of two arrays until
+ * it finds the key or an empty slot. Removal shifts the following entries of the probe
+ * chain back instead of leaving tombstones, so lookups never slow down over time.</p>
+ * <p>The table is kept at most half full and doubles when it fills up. There are only
+ * 2<sup>16</sup> distinct keys, so it never needs more than 2<sup>17</sup> slots. Values
+ * must not be null: an empty value slot marks an empty table slot. The map is not
+ * thread-safe.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * CharObjectMap&lt;String&gt; entities = new CharObjectMap&lt;&gt;();
+ * entities.put('&amp;', "&amp;amp;");
+ * entities.get('&amp;');
+ * </pre></blockquote>
+ *
+ * @param <V> the type of mapped values
+ * @see IntObjectMap
+ * @see ObjectIntMap
+ */
+public final class CharObjectMap<V> {
+    private static final int MINIMUM_CAPACITY = 8;
+
+    /**
+     * Holds every char key at half load, so the table never grows past it.
+     */
+    private static final int MAXIMUM_CAPACITY = 1 << 17;
+
+    /**
+     * Receives the entries of the map.
+     * @param <V> the type of mapped values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Called for each entry.
+         * @param key key of the entry
+         * @param value value of the entry
+         */
+        void accept(char key, V value);
+    }
+
+    private char[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public CharObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that holds the expected number of entries without resizing.
+     * @param expectedSize number of entries expected
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public CharObjectMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size is negative: " + expectedSize);
+        int capacity = capacityFor(expectedSize);
+        keys = new char[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Get the number of entries.
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map has no entries.
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every entry, keeping the table capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Get the value of a key.
+     * @param key key to look up
+     * @return the value, or null if the key is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V get(char key) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    /**
+     * Get the value of a key, or a default if it is not mapped.
+     * @param key key to look up
+     * @param defaultValue value to return if the key is not mapped
+     * @return the value, or the default
+     */
+    public V getOrDefault(char key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Checks if a key is mapped.
+     * @param key key to check for
+     * @return true if the key is mapped
+     */
+    public boolean containsKey(char key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     * @param key key to map
+     * @param value value to map the key to
+     * @return the previous value, or null if the key was not mapped
+     * @throws NullPointerException if the value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V put(char key, V value) {
+        Objects.requireNonNull(value);
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length >> 1) grow();
+        return null;
+    }
+
+    /**
+     * Maps a key to a value unless it is already mapped.
+     * @param key key to map
+     * @param value value to map the key to
+     * @return the existing value, or null if the key was not mapped
+     * @throws NullPointerException if the value is null
+     */
+    public V putIfAbsent(char key, V value) {
+        V existing = get(key);
+        if (existing != null) return existing;
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * Removes the mapping of a key.
+     * @param key key to remove
+     * @return the removed value, or null if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(char key) {
+        int i = indexOf(key);
+        if (i < 0) return null;
+
+        V previous = (V) values[i];
+        int mask = keys.length - 1;
+        // backward-shift deletion keeps probe chains intact without tombstones
+        int gap = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return previous;
+    }
+
+    /**
+     * Passes every entry to the action, in table order.
+     * @param action receives each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /**
+     * Get the mapped keys.
+     * @return a new array of the keys, in table order
+     */
+    public char[] keys() {
+        char[] result = new char[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) result[count++] = keys[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    // ---
+    private int indexOf(char key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the table. At most half of MAXIMUM_CAPACITY keys exist, so it is never
+     * called at the maximum capacity.
+     */
+    private void grow() {
+        resize(keys.length << 1);
+    }
+
+    private void resize(int capacity) {
+        char[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new char[capacity];
+        values = new Object[capacity];
+
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == null) continue;
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(char key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return a power of two table size that holds the expected entries without
+     * resizing, clamped to the minimum and maximum capacity
+     */
+    static int capacityFor(int expectedSize) {
+        int clamped = Math.max(1, Math.min(expectedSize, MAXIMUM_CAPACITY >> 2));
+        return Math.max(MINIMUM_CAPACITY, Integer.highestOneBit(clamped) << 2);
+    }
+    // ---
+
+}
@@ -0,0 +1,476 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Longest_prefix_match
+ * https://datatracker.ietf.org/doc/html/rfc4632 (Classless Inter-domain Routing)
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.net.InetAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * A binary trie of IPv4 and IPv6 CIDR blocks answering longest-prefix-match lookups,
+ * like a routing table.
+ * <p>Each level of the tree consumes one bit of the address, most significant first, so a
+ * block {@code 10.0.0.0/8} is the node reached by its first 8 bits. A lookup follows the
+ * bits of the address and remembers the last node holding a value, which is the most
+ * specific block containing the address.</p>
+ * <p>Addresses are passed as primitives: an {@code int} for IPv4 and a pair of
+ * {@code long}s (high and low 64 bits) for IPv6. Nodes live in a flat {@code int} array
+ * of child indexes instead of objects, so a lookup is at most 32 or 128 array reads and
+ * allocates nothing. The String and {@link InetAddress} overloads are for convenience
+ * and do allocate.</p>
+ * <p>Removing a block clears its value but keeps its nodes for reuse; {@link #clear()}
+ * releases them. A CidrTrie is not thread-safe, but concurrent lookups are safe while no
+ * thread modifies it.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * CidrTrie&lt;String&gt; routes = new CidrTrie&lt;&gt;();
+ * routes.insert("10.0.0.0/8", "internal");
+ * routes.insert("10.1.0.0/16", "lab");
+ *
+ * routes.lookup(0x0A010203); // "lab", for 10.1.2.3
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored for each block
+ * @see Trie#longestPrefixValue(String)
+ */
+public class CidrTrie<T> {
+    private static final Object NO_VALUE = new Object();
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Index of the IPv4 root node. Index 0 is never a child, so 0 also means "no child".
+     */
+    private static final int V4_ROOT = 0;
+
+    /**
+     * Index of the IPv6 root node.
+     */
+    private static final int V6_ROOT = 1;
+
+    /**
+     * Child indexes, two per node: {@code children[node * 2 + bit]}, 0 when absent.
+     */
+    private int[] children;
+
+    /**
+     * Value of each node, {@link #NO_VALUE} when the node is not the end of a block.
+     */
+    private Object[] values;
+
+    private int nodeCount;
+    private int size;
+
+    /**
+     * Creates an empty CidrTrie.
+     */
+    public CidrTrie() {
+        clear();
+    }
+
+    /**
+     * Get the number of blocks in the CidrTrie, IPv4 and IPv6 together.
+     * @return number of blocks
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the CidrTrie is empty.
+     * @return true if it contains no blocks, else false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every block and releases the nodes.
+     */
+    public void clear() {
+        children = new int[INITIAL_CAPACITY * 2];
+        values = new Object[INITIAL_CAPACITY];
+        values[V4_ROOT] = NO_VALUE;
+        values[V6_ROOT] = NO_VALUE;
+        nodeCount = 2;
+        size = 0;
+    }
+
+    // IPv4
+
+    /**
+     * Inserts an IPv4 block, replacing the value of an existing one.
+     * Bits of the address past the prefix length are ignored.
+     * @param address the block's address, most significant byte first
+     * @param prefixLength number of leading bits in the block, 0 to 32
+     * @param value value to associate with the block
+     */
+    public void insert(int address, int prefixLength, T value) {
+        checkPrefixLength(prefixLength, 32);
+        int node = V4_ROOT;
+        for (int i = 0; i < prefixLength; i++) {
+            node = getOrAddChild(node, (address >>> (31 - i)) & 1);
+        }
+        setValue(node, value);
+    }
+
+    /**
+     * Get the value of exactly the given IPv4 block.
+     * @param address the block's address
+     * @param prefixLength number of leading bits in the block, 0 to 32
+     * @return the value of the block, null if it does not exist
+     */
+    public T get(int address, int prefixLength) {
+        checkPrefixLength(prefixLength, 32);
+        int node = V4_ROOT;
+        for (int i = 0; i < prefixLength && node != -1; i++) {
+            node = child(node, (address >>> (31 - i)) & 1);
+        }
+        return node == -1 ? null : valueOf(node);
+    }
+
+    /**
+     * Finds the most specific IPv4 block containing the address.
+     * @param address the address to look up
+     * @return the value of the longest matching block, null if no block contains it
+     */
+    @SuppressWarnings("unchecked")
+    public T lookup(int address) {
+        Object match = values[V4_ROOT];
+        int node = V4_ROOT;
+        for (int i = 0; i < 32; i++) {
+            node = children[(node << 1) | ((address >>> (31 - i)) & 1)];
+            if (node == 0) break;
+            if (values[node] != NO_VALUE) match = values[node];
+        }
+        return match == NO_VALUE ? null : (T) match;
+    }
+
+    /**
+     * Removes an IPv4 block.
+     * @param address the block's address
+     * @param prefixLength number of leading bits in the block, 0 to 32
+     * @return true if the block was removed, false otherwise (including block does not exist)
+     */
+    public boolean remove(int address, int prefixLength) {
+        checkPrefixLength(prefixLength, 32);
+        int node = V4_ROOT;
+        for (int i = 0; i < prefixLength && node != -1; i++) {
+            node = child(node, (address >>> (31 - i)) & 1);
+        }
+        return node != -1 && clearValue(node);
+    }
+
+    // IPv6
+
+    /**
+     * Inserts an IPv6 block, replacing the value of an existing one.
+     * Bits of the address past the prefix length are ignored.
+     * @param high the first 64 bits of the block's address
+     * @param low the last 64 bits of the block's address
+     * @param prefixLength number of leading bits in the block, 0 to 128
+     * @param value value to associate with the block
+     */
+    public void insert(long high, long low, int prefixLength, T value) {
+        checkPrefixLength(prefixLength, 128);
+        int node = V6_ROOT;
+        for (int i = 0; i < prefixLength; i++) {
+            node = getOrAddChild(node, bit(high, low, i));
+        }
+        setValue(node, value);
+    }
+
+    /**
+     * Get the value of exactly the given IPv6 block.
+     * @param high the first 64 bits of the block's address
+     * @param low the last 64 bits of the block's address
+     * @param prefixLength number of leading bits in the block, 0 to 128
+     * @return the value of the block, null if it does not exist
+     */
+    public T get(long high, long low, int prefixLength) {
+        checkPrefixLength(prefixLength, 128);
+        int node = V6_ROOT;
+        for (int i = 0; i < prefixLength && node != -1; i++) {
+            node = child(node, bit(high, low, i));
+        }
+        return node == -1 ? null : valueOf(node);
+    }
+
+    /**
+     * Finds the most specific IPv6 block containing the address.
+     * @param high the first 64 bits of the address
+     * @param low the last 64 bits of the address
+     * @return the value of the longest matching block, null if no block contains it
+     */
+    @SuppressWarnings("unchecked")
+    public T lookup(long high, long low) {
+        Object match = values[V6_ROOT];
+        int node = V6_ROOT;
+        for (int i = 0; i < 128; i++) {
+            node = children[(node << 1) | bit(high, low, i)];
+            if (node == 0) break;
+            if (values[node] != NO_VALUE) match = values[node];
+        }
+        return match == NO_VALUE ? null : (T) match;
+    }
+
+    /**
+     * Removes an IPv6 block.
+     * @param high the first 64 bits of the block's address
+     * @param low the last 64 bits of the block's address
+     * @param prefixLength number of leading bits in the block, 0 to 128
+     * @return true if the block was removed, false otherwise (including block does not exist)
+     */
+    public boolean remove(long high, long low, int prefixLength) {
+        checkPrefixLength(prefixLength, 128);
+        int node = V6_ROOT;
+        for (int i = 0; i < prefixLength && node != -1; i++) {
+            node = child(node, bit(high, low, i));
+        }
+        return node != -1 && clearValue(node);
+    }
+
+    // Text forms
+
+    /**
+     * Inserts a block written in CIDR notation, such as {@code 192.168.0.0/16} or
+     * {@code 2001:db8::/32}. An address without a prefix length is a single host.
+     * <p>Like {@link InetAddress}, an IPv4-mapped block such as {@code ::ffff:10.0.0.0/104}
+     * is stored as the IPv4 block it maps, here {@code 10.0.0.0/8}.</p>
+     * @param cidr the block in CIDR notation, with a numeric address
+     * @param value value to associate with the block
+     * @throws IllegalArgumentException if the text is not a numeric address or CIDR block,
+     * or is an IPv4-mapped block shorter than 96 bits
+     */
+    public void insert(String cidr, T value) {
+        int slash = cidr.indexOf('/');
+        byte[] bytes = parseAddress(slash == -1 ? cidr : cidr.substring(0, slash));
+        int prefixLength;
+        try {
+            prefixLength = slash == -1 ? bytes.length * 8 : Integer.parseInt(cidr.substring(slash + 1));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid prefix length: " + cidr, e);
+        }
+
+        if (isIpv4Mapped(bytes)) {
+            if (prefixLength < 96 || prefixLength > 128) {
+                throw new IllegalArgumentException("IPv4-mapped prefix length must be between 96 and 128: " + cidr);
+            }
+            bytes = Arrays.copyOfRange(bytes, 12, 16);
+            prefixLength -= 96;
+        }
+
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length == 4) {
+            insert(buffer.getInt(), prefixLength, value);
+        } else {
+            insert(buffer.getLong(), buffer.getLong(), prefixLength, value);
+        }
+    }
+
+    /**
+     * Finds the most specific block containing the address.
+     * @param address an IPv4 or IPv6 address
+     * @return the value of the longest matching block, null if no block contains it
+     */
+    public T lookup(InetAddress address) {
+        return lookupAddress(address.getAddress());
+    }
+
+    /**
+     * Finds the most specific block containing a numeric IPv4 or IPv6 address.
+     * An IPv4-mapped address such as {@code ::ffff:10.1.2.3} is looked up as IPv4.
+     * @param address a numeric address, such as {@code 10.1.2.3} or {@code 2001:db8::1}
+     * @return the value of the longest matching block, null if no block contains it
+     * @throws IllegalArgumentException if the text is not a numeric address
+     */
+    public T lookup(String address) {
+        byte[] bytes = parseAddress(address);
+        return lookupAddress(isIpv4Mapped(bytes) ? Arrays.copyOfRange(bytes, 12, 16) : bytes);
+    }
+
+    // ---
+    private T lookupAddress(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        if (bytes.length == 16) {
+            return lookup(buffer.getLong(), buffer.getLong());
+        }
+        return lookup(buffer.getInt());
+    }
+
+    private static int bit(long high, long low, int index) {
+        return index < 64
+                ? (int) (high >>> (63 - index)) & 1
+                : (int) (low >>> (127 - index)) & 1;
+    }
+
+    /**
+     * @return index of the child, or -1 if it does not exist
+     */
+    private int child(int node, int bit) {
+        int child = children[(node << 1) | bit];
+        return child == 0 ? -1 : child;
+    }
+
+    private int getOrAddChild(int node, int bit) {
+        int slot = (node << 1) | bit;
+        if (children[slot] != 0) return children[slot];
+
+        if (nodeCount == values.length) {
+            int capacity = values.length << 1;
+            children = Arrays.copyOf(children, capacity * 2);
+            values = Arrays.copyOf(values, capacity);
+        }
+        int child = nodeCount++;
+        values[child] = NO_VALUE;
+        children[slot] = child;
+        return child;
+    }
+
+    private void setValue(int node, T value) {
+        if (values[node] == NO_VALUE) size++;
+        values[node] = value;
+    }
+
+    private boolean clearValue(int node) {
+        if (values[node] == NO_VALUE) return false;
+        values[node] = NO_VALUE;
+        size--;
+        return true;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T valueOf(int node) {
+        Object value = values[node];
+        return value == NO_VALUE ? null : (T) value;
+    }
+
+    private static void checkPrefixLength(int prefixLength, int bits) {
+        if (prefixLength < 0 || prefixLength > bits) {
+            throw new IllegalArgumentException("Prefix length must be between 0 and " + bits + ": " + prefixLength);
+        }
+    }
+
+    private static boolean isIpv4Mapped(byte[] bytes) {
+        if (bytes.length != 16 || bytes[10] != (byte) 0xFF || bytes[11] != (byte) 0xFF) return false;
+        for (int i = 0; i < 10; i++) {
+            if (bytes[i] != 0) return false;
+        }
+        return true;
+    }
+
+    /**
+     * Parses a numeric address by hand, so text that is not a literal can never reach
+     * the name service the way it would through {@link InetAddress#getByName(String)}.
+     * @return 4 bytes for IPv4, 16 bytes for IPv6
+     */
+    private static byte[] parseAddress(String text) {
+        byte[] bytes = text.indexOf(':') == -1 ? parseIpv4(text) : parseIpv6(text);
+        if (bytes == null) throw new IllegalArgumentException("Not a numeric address: " + text);
+        return bytes;
+    }
+
+    /**
+     * @return the dotted quad as 4 bytes, or null if any octet is missing or above 255
+     */
+    private static byte[] parseIpv4(String text) {
+        byte[] bytes = new byte[4];
+        int octets = 0;
+        int value = 0;
+        int digits = 0;
+        for (int i = 0; i <= text.length(); i++) {
+            char c = i < text.length() ? text.charAt(i) : '.';
+            if (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (++digits > 3 || value > 255) return null;
+            } else if (c == '.' && digits > 0 && octets < 4) {
+                bytes[octets++] = (byte) value;
+                value = 0;
+                digits = 0;
+            } else {
+                return null;
+            }
+        }
+        return octets == 4 ? bytes : null;
+    }
+
+    /**
+     * Parses the RFC 4291 text forms: eight groups of 1 to 4 hex digits, at most one
+     * {@code ::} standing for one or more zero groups, and an optional dotted quad in
+     * place of the last two groups.
+     * @return the address as 16 bytes, or null if the text is not in one of those forms
+     */
+    private static byte[] parseIpv6(String text) {
+        int gap = text.indexOf("::");
+        if (gap != -1 && text.indexOf("::", gap + 1) != -1) return null;
+
+        int[] groups = new int[8];
+        int headCount = parseGroups(gap == -1 ? text : text.substring(0, gap), groups, gap == -1);
+        if (headCount < 0) return null;
+        if (gap == -1) {
+            if (headCount != 8) return null;
+        } else {
+            int[] tail = new int[8];
+            int tailCount = parseGroups(text.substring(gap + 2), tail, true);
+            if (tailCount < 0 || headCount + tailCount > 7) return null;
+            System.arraycopy(tail, 0, groups, 8 - tailCount, tailCount);
+        }
+
+        byte[] bytes = new byte[16];
+        for (int i = 0; i < 8; i++) {
+            bytes[i << 1] = (byte) (groups[i] >>> 8);
+            bytes[(i << 1) + 1] = (byte) groups[i];
+        }
+        return bytes;
+    }
+
+    /**
+     * Parses colon separated hex groups into the start of the array.
+     * @param endsAddress whether the text ends the address, so its last group may be a dotted quad
+     * @return number of 16-bit groups parsed, or -1 if the text is malformed
+     */
+    private static int parseGroups(String text, int[] groups, boolean endsAddress) {
+        if (text.isEmpty()) return 0;
+
+        int count = 0;
+        int start = 0;
+        while (start <= text.length()) {
+            int end = text.indexOf(':', start);
+            if (end == -1) end = text.length();
+
+            if (end == text.length() && endsAddress && text.indexOf('.', start) != -1) {
+                byte[] ipv4 = parseIpv4(text.substring(start));
+                if (ipv4 == null || count > 6) return -1;
+                groups[count++] = (ipv4[0] & 0xFF) << 8 | ipv4[1] & 0xFF;
+                groups[count++] = (ipv4[2] & 0xFF) << 8 | ipv4[3] & 0xFF;
+                return count;
+            }
+
+            if (end == start || end - start > 4 || count == 8) return -1;
+            int group = 0;
+            for (int i = start; i < end; i++) {
+                int digit = hexDigit(text.charAt(i));
+                if (digit < 0) return -1;
+                group = (group << 4) | digit;
+            }
+            groups[count++] = group;
+            start = end + 1;
+        }
+        return count;
+    }
+
+    private static int hexDigit(char c) {
+        if (c >= '0' && c <= '9') return c - '0';
+        if (c >= 'a' && c <= 'f') return c - 'a' + 10;
+        if (c >= 'A' && c <= 'F') return c - 'A' + 10;
+        return -1;
+    }
+    // ---
+
+}
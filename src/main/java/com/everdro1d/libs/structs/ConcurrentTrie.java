@@ -0,0 +1,470 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Ctrie
+ * https://infoscience.epfl.ch/record/166908/files/ctries-techreport.pdf
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * A thread-safe, lock-free variant of {@link Trie}.
+ * <p>Every node holds a single immutable state (its value plus sorted child arrays) that is
+ * replaced with compare-and-set. Readers ({@link #get(String)}, {@link #startsWith(String)},
+ * {@link #listKeysMatching(String, int)}, ...) only follow volatile references and never
+ * block, even while other threads insert or remove keys.</p>
+ * <p>Removed leaves are first marked dead, so that a concurrent insert can never attach
+ * a child to a node that is being unlinked, and are then pruned from their parent.
+ * Any thread that runs into a dead node helps to unlink it before retrying.</p>
+ * <p>Listing operations are weakly consistent, like the iterators of
+ * {@link java.util.concurrent.ConcurrentHashMap}: they reflect the trie at some point
+ * during the traversal and never throw {@link ConcurrentModificationException}.</p>
+ *
+ * @param <T> the type of value stored in the ConcurrentTrie
+ * @see Trie
+ */
+public class ConcurrentTrie<T> {
+
+    /**
+     * Marks a node state that is not the end of a key. Distinct from null, which is a valid value.
+     */
+    private static final Object NO_VALUE = new Object();
+
+    private static final char[] NO_KEYS = new char[0];
+    private static final Node[] NO_NODES = new Node[0];
+
+    /**
+     * State of a node without value or children.
+     */
+    private static final State EMPTY = new State(NO_VALUE, NO_KEYS, NO_NODES);
+
+    /**
+     * State of a node that has been logically removed. Never replaced once set.
+     */
+    private static final State DEAD = new State(NO_VALUE, NO_KEYS, NO_NODES);
+
+    private static final AtomicReferenceFieldUpdater<Node, State> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(Node.class, State.class, "state");
+
+    /**
+     * Immutable snapshot of a node. Child arrays are copied on write and shared between
+     * states that only differ in their value.
+     */
+    private static final class State {
+        final Object value;
+        final char[] keys;
+        final Node[] nodes;
+
+        State(Object value, char[] keys, Node[] nodes) {
+            this.value = value;
+            this.keys = keys;
+            this.nodes = nodes;
+        }
+
+        private boolean hasValue() {
+            return value != NO_VALUE;
+        }
+
+        private boolean isEmpty() {
+            return keys.length == 0;
+        }
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? nodes[i] : null;
+        }
+
+        private State withValue(Object newValue) {
+            if (newValue == NO_VALUE && keys.length == 0) return EMPTY;
+            return new State(newValue, keys, nodes);
+        }
+
+        private State withChild(char c, Node node) {
+            int index = -(Arrays.binarySearch(keys, c) + 1);
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newNodes = new Node[nodes.length + 1];
+
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(nodes, 0, newNodes, 0, index);
+            newKeys[index] = c;
+            newNodes[index] = node;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(nodes, index, newNodes, index + 1, nodes.length - index);
+            return new State(value, newKeys, newNodes);
+        }
+
+        private State withoutChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            if (keys.length == 1) return value == NO_VALUE ? EMPTY : new State(value, NO_KEYS, NO_NODES);
+
+            char[] newKeys = new char[keys.length - 1];
+            Node[] newNodes = new Node[nodes.length - 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(nodes, 0, newNodes, 0, index);
+            System.arraycopy(keys, index + 1, newKeys, index, newKeys.length - index);
+            System.arraycopy(nodes, index + 1, newNodes, index, newNodes.length - index);
+            return new State(value, newKeys, newNodes);
+        }
+    }
+
+    private static final class Node {
+        final char character;
+        volatile State state = EMPTY;
+
+        Node(char character) {
+            this.character = character;
+        }
+
+        private boolean cas(State expected, State update) {
+            return STATE.compareAndSet(this, expected, update);
+        }
+    }
+
+    /**
+     * Root node of the ConcurrentTrie. Never marked dead.
+     */
+    private final Node root = new Node('\0');
+
+    /**
+     * Creates a new ConcurrentTrie without any values.
+     */
+    public ConcurrentTrie() {
+    }
+
+    /**
+     * Creates a new ConcurrentTrie containing the keys given in the list.
+     * @param list list of key the tree should be init with
+     */
+    public ConcurrentTrie(List<String> list) {
+        insert(list);
+    }
+
+    /**
+     * Creates a new ConcurrentTrie containing the key-value pairs given in the map.
+     * @param map map of key-value pairs the tree should be init with
+     */
+    public ConcurrentTrie(Map<String, T> map) {
+        insert(map);
+    }
+
+    /**
+     * Inserts the given key into the ConcurrentTrie, creating nodes where necessary.
+     * @param key key to insert
+     */
+    public void insert(String key) {
+        insert(key, null);
+    }
+
+    /**
+     * Inserts the given key-value pair into the ConcurrentTrie, creating nodes where necessary.
+     * @param key key to insert
+     * @param value value to associate with the key
+     */
+    public void insert(String key, T value) {
+        while (true) {
+            Node node = walkOrCreate(key);
+            if (node == null) continue; // ran into a node that died under us, retry
+
+            State state = node.state;
+            if (state == DEAD) continue;
+            if (node.cas(state, state.withValue(value))) return;
+        }
+    }
+
+    /**
+     * Inserts the list of keys into the ConcurrentTrie.
+     * @param list the list of keys to insert
+     */
+    public void insert(List<String> list) {
+        for (String key : list) {
+            insert(key);
+        }
+    }
+
+    /**
+     * Inserts a map of key-value pairs into the ConcurrentTrie.
+     * @param map the map of key-value pairs to insert
+     */
+    public void insert(Map<String, T> map) {
+        for (Map.Entry<String, T> entry : map.entrySet()) {
+            insert(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Checks if the given key exists in the tree.
+     * @param key key to check for
+     * @return true if the key is currently in the ConcurrentTrie
+     */
+    public boolean contains(String key) {
+        Node node = find(key);
+        return node != null && node.state.hasValue();
+    }
+
+    /**
+     * Checks if any of the given keys exist in the tree.
+     * @param list the list of keys to check for
+     * @return true if any key in the list exists in the ConcurrentTrie
+     */
+    public boolean containsAny(List<String> list) {
+        for (String key : list) {
+            if (contains(key)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if all the given keys exist in the tree.
+     * @param list the list of keys to check for
+     * @return true if all keys in the list exist in the ConcurrentTrie
+     */
+    public boolean containsAll(List<String> list) {
+        for (String key : list) {
+            if (!contains(key)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if any keys in the tree start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        Node node = find(prefix);
+        if (node == null) return false;
+        if (node == root) return true;
+
+        State state = node.state;
+        return state.hasValue() || !state.isEmpty();
+    }
+
+    /**
+     * Checks if the ConcurrentTrie is empty.
+     * @return true if the root node has no children and is not a key, else false.
+     */
+    public boolean isEmpty() {
+        State state = root.state;
+        return !state.hasValue() && state.isEmpty();
+    }
+
+    /**
+     * Removes every key from the ConcurrentTrie.
+     */
+    public void clear() {
+        root.state = EMPTY;
+    }
+
+    /**
+     * Get the value of a key in the ConcurrentTrie.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    @SuppressWarnings("unchecked")
+    public T get(String key) {
+        Node node = find(key);
+        if (node == null) return null;
+
+        State state = node.state;
+        return state.hasValue() ? (T) state.value : null;
+    }
+
+    /**
+     * Set the value for an existing key in the ConcurrentTrie.
+     * @param key key to search for
+     * @param value value to set as
+     * @return true if value was set, false otherwise (including value does not exist)
+     */
+    public boolean set(String key, T value) {
+        Node node = find(key);
+        if (node == null) return false;
+
+        while (true) {
+            State state = node.state;
+            if (!state.hasValue()) return false;
+            if (node.cas(state, state.withValue(value))) return true;
+        }
+    }
+
+    /**
+     * Removes the given key from the ConcurrentTrie, pruning nodes that no longer lead to a key.
+     * @param key key to remove
+     * @return true if this call removed the key, false otherwise (including key does not exist)
+     */
+    public boolean remove(String key) {
+        Node[] path = new Node[key.length() + 1];
+        path[0] = root;
+        for (int i = 0; i < key.length(); i++) {
+            path[i + 1] = path[i].state.child(key.charAt(i));
+            if (path[i + 1] == null) return false; // key does not exist
+        }
+
+        Node node = path[key.length()];
+        State update;
+        while (true) {
+            State state = node.state;
+            if (!state.hasValue()) return false; // key does not exist (or is already dead)
+
+            update = (state.isEmpty() && node != root) ? DEAD : state.withValue(NO_VALUE);
+            if (node.cas(state, update)) break;
+        }
+
+        // walk back up, unlinking dead nodes and killing parents that became empty
+        for (int i = key.length(); i > 0 && path[i].state == DEAD; i--) {
+            Node parent = path[i - 1];
+            unlink(parent, path[i]);
+
+            if (parent == root) break;
+            parent.cas(EMPTY, DEAD);
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all keys in a given list from the ConcurrentTrie
+     * @param list list of keys to remove
+     * @return true if none of the given keys exist in the ConcurrentTrie, false otherwise
+     */
+    public boolean removeAll(List<String> list) {
+        for (String key : list) {
+            remove(key);
+        }
+
+        return !containsAny(list);
+    }
+
+    /**
+     * List the keys in a ConcurrentTrie.
+     * @return A list of all the keys in the ConcurrentTrie
+     */
+    public List<String> listKeys() {
+        return listKeysMatching("");
+    }
+
+    /**
+     * List the keys in a ConcurrentTrie that match the prefix.
+     *
+     * @param prefix prefix to match
+     * @return List of all matching keys in the ConcurrentTrie
+     *
+     * @see #listKeysMatching(String, int)
+     */
+    public List<String> listKeysMatching(String prefix) {
+        return listKeysMatching(prefix, -1);
+    }
+
+    /**
+     * List the keys in a ConcurrentTrie that match the prefix with a limit on the number of matches.
+     * Keys are visited in lexicographic order of their characters.
+     *
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys in the ConcurrentTrie
+     *
+     * @see #listKeysMatching(String)
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        Node node = find(prefix);
+        if (node != null) {
+            collect(node, new StringBuilder(prefix), list, null, maxMatches);
+        }
+        return list;
+    }
+
+    /**
+     * Flatten the ConcurrentTrie to a map.
+     * @return map key, value
+     */
+    public Map<String,T> getTrieAsMap() {
+        Map<String,T> map = new HashMap<>();
+        collect(root, new StringBuilder(), null, map, -1);
+        return map;
+    }
+
+    // ---
+    @SuppressWarnings("unchecked")
+    private void collect(
+            Node currentNode, StringBuilder stringAssembler,
+            List<String> list, Map<String,T> map, int maxMatches
+    ) {
+        State state = currentNode.state; // one snapshot per node
+        if (state.hasValue()) {
+            if (list != null) list.add(stringAssembler.toString());
+            if (map != null) map.put(stringAssembler.toString(), (T) state.value);
+        }
+
+        for (int i = 0; i < state.keys.length; i++) {
+            if (list != null && maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            collect(state.nodes[i], stringAssembler.append(state.keys[i]), list, map, maxMatches);
+            stringAssembler.setLength(stringAssembler.length() - 1);
+        }
+    }
+
+    /**
+     * Follows the key without modifying anything.
+     * @return the node for the key, or null if it does not exist
+     */
+    private Node find(String key) {
+        Node currentNode = root;
+        for (int i = 0; i < key.length() && currentNode != null; i++) {
+            currentNode = currentNode.state.child(key.charAt(i));
+        }
+        return currentNode;
+    }
+
+    /**
+     * Follows the key, creating missing nodes and unlinking dead ones on the way.
+     * @return the node for the key, or null if it died before it could be returned
+     */
+    private Node walkOrCreate(String key) {
+        Node currentNode = root;
+        int i = 0;
+
+        while (i < key.length()) {
+            State state = currentNode.state;
+            if (state == DEAD) return null;
+
+            char character = key.charAt(i);
+            Node childNode = state.child(character);
+            if (childNode == null) {
+                childNode = new Node(character);
+                if (!currentNode.cas(state, state.withChild(character, childNode))) continue;
+            } else if (childNode.state == DEAD) {
+                unlink(currentNode, childNode);
+                continue;
+            }
+
+            currentNode = childNode;
+            i++;
+        }
+
+        return currentNode;
+    }
+
+    /**
+     * Removes the given dead child from the parent, unless someone else already did.
+     */
+    private static void unlink(Node parent, Node child) {
+        while (true) {
+            State state = parent.state;
+            if (state == DEAD || state.child(child.character) != child) return;
+            if (parent.cas(state, state.withoutChild(child.character))) return;
+        }
+    }
+    // ---
+
+}
@@ -0,0 +1,375 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://aclanthology.org/J00-1002.pdf (Daciuk et al., Incremental Construction of Minimal Acyclic Finite-State Automata)
+ * https://en.wikipedia.org/wiki/Deterministic_acyclic_finite_state_automaton
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A minimal directed acyclic word graph (DAWG), also known as a minimal acyclic
+ * finite-state automaton, for large static word lists.
+ * <p>Unlike a {@link Trie}, which only shares common prefixes, a DAWG also shares
+ * common suffixes: every set of keys that continue the same way below a node is stored
+ * once. For natural language word lists this typically cuts the node count by an
+ * order of magnitude.</p>
+ * <p>It is built in one streaming pass over lexicographically sorted keys with
+ * {@link Builder}, in time linear in the total input length. Keys are never collected
+ * in a list, so input can come straight from a {@link Stream} or a file.</p>
+ * <p>A Dawg is a set of keys, it does not store values. It is immutable once built and
+ * may be shared between threads.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * Dawg words = Dawg.fromSortedFile(Path.of("words.txt"));
+ * words.contains("apple");
+ * words.listKeysMatching("app", 10);
+ * </pre></blockquote>
+ *
+ * @see Trie
+ */
+public final class Dawg {
+
+    private static final class State {
+        private static final char[] NO_CHARS = new char[0];
+        private static final State[] NO_STATES = new State[0];
+
+        boolean isFinal;
+
+        /**
+         * Outgoing edge characters in increasing order, parallel to {@link #targets}.
+         */
+        char[] chars = NO_CHARS;
+        State[] targets = NO_STATES;
+        int edgeCount;
+
+        /**
+         * Cached hash, only valid once the state is registered and can no longer change.
+         */
+        int hash;
+
+        private State target(char c) {
+            int i = Arrays.binarySearch(chars, 0, edgeCount, c);
+            return i >= 0 ? targets[i] : null;
+        }
+
+        private State lastTarget() {
+            return edgeCount == 0 ? null : targets[edgeCount - 1];
+        }
+
+        /**
+         * Adds an edge, which must sort after every existing edge.
+         */
+        private void appendEdge(char c, State target) {
+            if (edgeCount == chars.length) {
+                int capacity = Math.max(2, edgeCount << 1);
+                chars = Arrays.copyOf(chars, capacity);
+                targets = Arrays.copyOf(targets, capacity);
+            }
+            chars[edgeCount] = c;
+            targets[edgeCount] = target;
+            edgeCount++;
+        }
+
+        /**
+         * Drops unused array capacity once the state is final.
+         */
+        private void trim() {
+            if (edgeCount != chars.length) {
+                chars = edgeCount == 0 ? NO_CHARS : Arrays.copyOf(chars, edgeCount);
+                targets = edgeCount == 0 ? NO_STATES : Arrays.copyOf(targets, edgeCount);
+            }
+        }
+
+        private int computeHash() {
+            int h = isFinal ? 1 : 0;
+            for (int i = 0; i < edgeCount; i++) {
+                h = 31 * h + chars[i];
+                h = 31 * h + System.identityHashCode(targets[i]);
+            }
+            return h;
+        }
+
+        /**
+         * Two registered states are equivalent when they agree on finality and have the
+         * same edges to the same (already unique) targets.
+         */
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof State state)) return false;
+            if (isFinal != state.isFinal || edgeCount != state.edgeCount) return false;
+
+            for (int i = 0; i < edgeCount; i++) {
+                if (chars[i] != state.chars[i] || targets[i] != state.targets[i]) return false;
+            }
+            return true;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Builds a minimal {@link Dawg} from keys added in lexicographic order
+     * (the order of {@link String#compareTo(String)}).
+     * <p>After each key, the part of the previous key that the new key does not share is
+     * final, so its states are replaced by equivalent registered states or registered
+     * themselves. The graph stays minimal at every step and the builder only keeps the
+     * path of the last key plus the register of unique states.</p>
+     */
+    public static final class Builder {
+        private final State root = new State();
+        private final Map<State, State> register = new HashMap<>();
+
+        /**
+         * States on the path of the previous key that are not yet minimized, root excluded.
+         */
+        private final List<State> unchecked = new ArrayList<>();
+
+        private String previousKey = "";
+        private int keyCount;
+        private boolean built;
+
+        /**
+         * Creates an empty Builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Adds the next key. Adding the same key again is ignored.
+         * @param key key to add, must not sort before the previously added key
+         * @return this builder
+         * @throws IllegalArgumentException if the key sorts before the previous key
+         * @throws IllegalStateException if {@link #build()} was already called
+         */
+        public Builder add(String key) {
+            if (built) throw new IllegalStateException("Dawg was already built");
+
+            int order = key.compareTo(previousKey);
+            if (order < 0) {
+                throw new IllegalArgumentException(
+                        "Keys must be added in sorted order: \"" + key + "\" after \"" + previousKey + "\""
+                );
+            }
+            if (order == 0 && keyCount > 0) return this;
+
+            int common = 0;
+            int max = Math.min(key.length(), previousKey.length());
+            while (common < max && key.charAt(common) == previousKey.charAt(common)) {
+                common++;
+            }
+
+            minimize(common);
+
+            State currentNode = common == 0 ? root : unchecked.get(common - 1);
+            for (int i = common; i < key.length(); i++) {
+                State next = new State();
+                currentNode.appendEdge(key.charAt(i), next);
+                unchecked.add(next);
+                currentNode = next;
+            }
+            currentNode.isFinal = true;
+
+            previousKey = key;
+            keyCount++;
+            return this;
+        }
+
+        /**
+         * Adds every key of a sorted stream, consuming it lazily.
+         * @param keys keys in sorted order
+         * @return this builder
+         */
+        public Builder addAll(Stream<String> keys) {
+            keys.forEachOrdered(this::add);
+            return this;
+        }
+
+        /**
+         * Minimizes the remaining states and returns the finished graph.
+         * The builder cannot be used afterwards.
+         * @return the minimal Dawg of all added keys
+         */
+        public Dawg build() {
+            minimize(0);
+            root.trim();
+            built = true;
+            int stateCount = register.size() + 1;
+            register.clear();
+            return new Dawg(root, keyCount, stateCount);
+        }
+
+        /**
+         * Replaces or registers every unchecked state deeper than the given depth,
+         * deepest first, so that children are always unique before their parent is hashed.
+         */
+        private void minimize(int downTo) {
+            for (int i = unchecked.size() - 1; i >= downTo; i--) {
+                State parent = i == 0 ? root : unchecked.get(i - 1);
+                State child = unchecked.remove(i);
+
+                child.trim();
+                child.hash = child.computeHash();
+                State existing = register.putIfAbsent(child, child);
+                if (existing != null) {
+                    parent.targets[parent.edgeCount - 1] = existing;
+                }
+            }
+        }
+    }
+
+    private final State root;
+    private final int size;
+    private final int stateCount;
+
+    private Dawg(State root, int size, int stateCount) {
+        this.root = root;
+        this.size = size;
+        this.stateCount = stateCount;
+    }
+
+    /**
+     * Builds a Dawg from a stream of sorted keys without collecting them first.
+     * @param keys keys in lexicographic order
+     * @return the minimal Dawg of the keys
+     * @throws IllegalArgumentException if the keys are not sorted
+     */
+    public static Dawg fromSortedKeys(Stream<String> keys) {
+        return new Builder().addAll(keys).build();
+    }
+
+    /**
+     * Builds a Dawg from a UTF-8 file with one key per line, in lexicographic order.
+     * Lines are read lazily, so the file is never held in memory.
+     * @param file file to read
+     * @return the minimal Dawg of the lines
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the lines are not sorted
+     */
+    public static Dawg fromSortedFile(Path file) throws IOException {
+        try (Stream<String> lines = java.nio.file.Files.lines(file, StandardCharsets.UTF_8)) {
+            return fromSortedKeys(lines);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Get the number of keys in the Dawg.
+     * @return number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the number of states (nodes) in the Dawg, after suffix sharing.
+     * @return number of states, including the root
+     */
+    public int stateCount() {
+        return stateCount;
+    }
+
+    /**
+     * Checks if the Dawg is empty.
+     * @return true if it contains no keys, else false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Checks if the given key exists in the graph.
+     * @param key key to check for
+     * @return true if the key was added to the Dawg
+     */
+    public boolean contains(String key) {
+        State state = find(key);
+        return state != null && state.isFinal;
+    }
+
+    /**
+     * Checks if any keys in the graph start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        // every state other than the root leads to a key, and the root matches the empty prefix
+        return find(prefix) != null;
+    }
+
+    /**
+     * List the keys in a Dawg.
+     * @return A list of all the keys in the Dawg
+     */
+    public List<String> listKeys() {
+        return listKeysMatching("");
+    }
+
+    /**
+     * List the keys in a Dawg that match the prefix.
+     *
+     * @param prefix prefix to match
+     * @return List of all matching keys in the Dawg
+     *
+     * @see #listKeysMatching(String, int)
+     */
+    public List<String> listKeysMatching(String prefix) {
+        return listKeysMatching(prefix, -1);
+    }
+
+    /**
+     * List the keys in a Dawg that match the prefix with a limit on the number of matches.
+     * Keys are listed in lexicographic order.
+     *
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys in the Dawg
+     *
+     * @see #listKeysMatching(String)
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        State state = find(prefix);
+        if (state != null) {
+            listKeysHelper(state, list, new StringBuilder(prefix), maxMatches);
+        }
+        return list;
+    }
+
+    // ---
+    private void listKeysHelper(State state, List<String> list, StringBuilder stringAssembler, int maxMatches) {
+        if (state.isFinal) list.add(stringAssembler.toString());
+
+        for (int i = 0; i < state.edgeCount; i++) {
+            if (maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            stringAssembler.append(state.chars[i]);
+            listKeysHelper(state.targets[i], list, stringAssembler, maxMatches);
+            stringAssembler.setLength(stringAssembler.length() - 1);
+        }
+    }
+
+    private State find(String key) {
+        State state = root;
+        for (int i = 0; i < key.length() && state != null; i++) {
+            state = state.target(key.charAt(i));
+        }
+        return state;
+    }
+    // ---
+
+}
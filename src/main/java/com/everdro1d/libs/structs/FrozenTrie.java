@@ -0,0 +1,383 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://linux.thai.net/~thep/datrie/datrie.html
+ * https://en.wikipedia.org/wiki/Double-array_trie
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.*;
+
+/**
+ * An immutable trie stored as a double array, created with {@link Trie#freeze()}.
+ * <p>Every node is a state index into two parallel {@code int[]} arrays. The child of
+ * state {@code s} for the character code {@code c} is {@code t = base[s] + c}, and it
+ * exists only if {@code check[t] == s}. Lookups therefore need array indexing only,
+ * with no object graph to chase.</p>
+ * <p>Characters are mapped to dense codes first, so the arrays stay compact for any
+ * alphabet actually used by the keys. Each state also links to its first child and each
+ * child to its next sibling, so listing keys visits only the children that exist instead
+ * of probing every code of the alphabet. A FrozenTrie compiled from a case-insensitive
+ * Trie folds the characters of every query the same way the Trie does.</p>
+ * <p>All fields are final and never modified after construction, so a FrozenTrie can
+ * be shared between threads without synchronization.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * Trie&lt;String&gt; trie = new Trie&lt;&gt;(dictionary);
+ * FrozenTrie&lt;String&gt; frozen = trie.freeze();
+ * frozen.get("apple");
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored in the FrozenTrie
+ * @see Trie#freeze()
+ */
+public final class FrozenTrie<T> {
+    private static final int FREE = -1;
+    private static final int ROOT = 0;
+
+    /**
+     * Dense code of each character (1-based), indexed by the character. 0 means unused.
+     */
+    private final int[] codes;
+
+    /**
+     * Character of each dense code, the inverse of {@link #codes}.
+     */
+    private final char[] characters;
+
+    private final int[] base;
+    private final int[] check;
+
+    /**
+     * First child of each state in character order, FREE if it has none. Together with
+     * {@link #nextSibling} this lists a state's children without probing every code.
+     */
+    private final int[] firstChild;
+
+    /**
+     * Next child of the same parent in character order, FREE after the last one.
+     */
+    private final int[] nextSibling;
+
+    /**
+     * Bit set of states that end a key.
+     */
+    private final long[] terminal;
+
+    /**
+     * Values by state. Only set for terminal states.
+     */
+    private final Object[] values;
+
+    private final int size;
+
+    private final boolean ignoreCase;
+
+    /**
+     * Builds the double array from the nodes of a {@link Trie}.
+     * @param root root node of the Trie to compile
+     * @param ignoreCase whether the Trie folds the case of its keys
+     */
+    FrozenTrie(Trie.TrieNode<T> root, boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
+        // collect the alphabet so codes are dense
+        BitSet alphabet = new BitSet();
+        int keyCount = 0;
+        Deque<Trie.TrieNode<T>> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            Trie.TrieNode<T> node = stack.pop();
+            if (node.isEndOfWord) keyCount++;
+            for (Trie.TrieNode<T> child : node.getChildren()) {
+                alphabet.set(child.character);
+                stack.push(child);
+            }
+        }
+
+        int maxChar = alphabet.length();
+        codes = new int[maxChar];
+        characters = new char[alphabet.cardinality() + 1];
+        int code = 0;
+        for (int c = alphabet.nextSetBit(0); c >= 0; c = alphabet.nextSetBit(c + 1)) {
+            codes[c] = ++code;
+            characters[code] = (char) c;
+        }
+
+        Builder<T> builder = new Builder<>(codes, Math.max(16, keyCount * 2));
+        builder.build(root);
+
+        int length = builder.highestUsed + 1;
+        base = Arrays.copyOf(builder.base, length);
+        check = Arrays.copyOf(builder.check, length);
+        firstChild = Arrays.copyOf(builder.firstChild, length);
+        nextSibling = Arrays.copyOf(builder.nextSibling, length);
+        values = Arrays.copyOf(builder.values, length);
+        terminal = Arrays.copyOf(builder.terminal, (length + 63) >>> 6);
+        size = keyCount;
+    }
+
+    /**
+     * Lays out the states breadth first, picking for every state the lowest base
+     * at which all of its children land on free slots.
+     */
+    private static final class Builder<T> {
+        final int[] codes;
+        int[] base;
+        int[] check;
+        int[] firstChild;
+        int[] nextSibling;
+        Object[] values;
+        long[] terminal;
+        int firstFree = 1;
+        int highestUsed = ROOT;
+
+        Builder(int[] codes, int capacity) {
+            this.codes = codes;
+            base = new int[capacity];
+            check = new int[capacity];
+            firstChild = new int[capacity];
+            nextSibling = new int[capacity];
+            values = new Object[capacity];
+            terminal = new long[(capacity + 63) >>> 6];
+            Arrays.fill(check, FREE);
+            Arrays.fill(firstChild, FREE);
+            Arrays.fill(nextSibling, FREE);
+            check[ROOT] = Integer.MAX_VALUE; // occupied, has no parent
+        }
+
+        private void build(Trie.TrieNode<T> root) {
+            ArrayDeque<Trie.TrieNode<T>> nodes = new ArrayDeque<>();
+            ArrayDeque<Integer> states = new ArrayDeque<>();
+            nodes.add(root);
+            states.add(ROOT);
+
+            while (!nodes.isEmpty()) {
+                Trie.TrieNode<T> node = nodes.poll();
+                int state = states.poll();
+
+                if (node.isEndOfWord) {
+                    terminal[state >>> 6] |= 1L << state;
+                    values[state] = node.value;
+                }
+
+                List<Trie.TrieNode<T>> children = node.getChildren();
+                if (children.isEmpty()) continue;
+
+                int[] childCodes = new int[children.size()];
+                for (int i = 0; i < childCodes.length; i++) {
+                    childCodes[i] = codes[children.get(i).character];
+                }
+
+                int b = findBase(childCodes);
+                base[state] = b;
+                firstChild[state] = b + childCodes[0];
+                for (int i = 0; i < childCodes.length; i++) {
+                    int slot = b + childCodes[i];
+                    check[slot] = state;
+                    if (i + 1 < childCodes.length) nextSibling[slot] = b + childCodes[i + 1];
+                    highestUsed = Math.max(highestUsed, slot);
+                    nodes.add(children.get(i));
+                    states.add(slot);
+                }
+                while (firstFree < check.length && check[firstFree] != FREE) firstFree++;
+            }
+        }
+
+        private int findBase(int[] childCodes) {
+            // children are in character order, and codes follow character order
+            int first = childCodes[0];
+            int start = Math.max(firstFree, first);
+            int occupied = 0;
+            for (int slot = start; ; slot++) {
+                ensureCapacity(slot + 1);
+                if (check[slot] != FREE) {
+                    occupied++;
+                    continue;
+                }
+
+                int b = slot - first;
+                boolean fits = true;
+                for (int i = 1; i < childCodes.length && fits; i++) {
+                    ensureCapacity(b + childCodes[i] + 1);
+                    fits = check[b + childCodes[i]] == FREE;
+                }
+                if (fits) {
+                    // stop rescanning a region that is nearly full, trading a few holes for linear build time
+                    if (occupied * 20L >= (slot - start + 1) * 19L) firstFree = slot;
+                    return b;
+                }
+                occupied++;
+            }
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity <= check.length) return;
+
+            int oldLength = check.length;
+            int newLength = Math.max(capacity, oldLength + (oldLength >> 1));
+            base = Arrays.copyOf(base, newLength);
+            check = Arrays.copyOf(check, newLength);
+            firstChild = Arrays.copyOf(firstChild, newLength);
+            nextSibling = Arrays.copyOf(nextSibling, newLength);
+            values = Arrays.copyOf(values, newLength);
+            terminal = Arrays.copyOf(terminal, (newLength + 63) >>> 6);
+            Arrays.fill(check, oldLength, newLength, FREE);
+            Arrays.fill(firstChild, oldLength, newLength, FREE);
+            Arrays.fill(nextSibling, oldLength, newLength, FREE);
+        }
+    }
+
+    /**
+     * Get the number of keys in the FrozenTrie.
+     * @return number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the FrozenTrie is empty.
+     * @return true if it contains no keys, else false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Check whether keys are matched regardless of case.
+     * @return true if the source Trie ignored case
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Checks if the given key exists in the tree.
+     * @param key key to check for
+     * @return true if the key was in the Trie when it was frozen
+     */
+    public boolean contains(String key) {
+        int state = walk(key);
+        return state != FREE && isTerminal(state);
+    }
+
+    /**
+     * Checks if any keys in the tree start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        return walk(prefix) != FREE;
+    }
+
+    /**
+     * Get the value of a key in the FrozenTrie.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    @SuppressWarnings("unchecked")
+    public T get(String key) {
+        int state = walk(key);
+        return state != FREE && isTerminal(state) ? (T) values[state] : null;
+    }
+
+    /**
+     * List the keys in a FrozenTrie.
+     * @return A list of all the keys in the FrozenTrie
+     */
+    public List<String> listKeys() {
+        return listKeysMatching("");
+    }
+
+    /**
+     * List the keys in a FrozenTrie that match the prefix.
+     *
+     * @param prefix prefix to match
+     * @return List of all matching keys in the FrozenTrie
+     *
+     * @see #listKeysMatching(String, int)
+     */
+    public List<String> listKeysMatching(String prefix) {
+        return listKeysMatching(prefix, -1);
+    }
+
+    /**
+     * List the keys in a FrozenTrie that match the prefix with a limit on the number of matches.
+     * Keys are visited in lexicographic order of their characters.
+     *
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys in the FrozenTrie
+     *
+     * @see #listKeysMatching(String)
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        int state = walk(prefix);
+        if (state != FREE) {
+            String keyPrefix = ignoreCase ? Trie.foldCase(prefix) : prefix;
+            collect(state, new StringBuilder(keyPrefix), list, null, maxMatches);
+        }
+        return list;
+    }
+
+    /**
+     * Flatten the FrozenTrie to a map.
+     * @return map key, value
+     */
+    public Map<String,T> getTrieAsMap() {
+        Map<String,T> map = new HashMap<>();
+        collect(ROOT, new StringBuilder(), null, map, -1);
+        return map;
+    }
+
+    // ---
+    @SuppressWarnings("unchecked")
+    private void collect(
+            int state, StringBuilder stringAssembler,
+            List<String> list, Map<String,T> map, int maxMatches
+    ) {
+        if (isTerminal(state)) {
+            if (list != null) list.add(stringAssembler.toString());
+            if (map != null) map.put(stringAssembler.toString(), (T) values[state]);
+        }
+
+        int b = base[state];
+        for (int child = firstChild[state]; child != FREE; child = nextSibling[child]) {
+            if (list != null && maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            collect(child, stringAssembler.append(characters[child - b]), list, map, maxMatches);
+            stringAssembler.setLength(stringAssembler.length() - 1);
+        }
+    }
+
+    /**
+     * Follows the key through the double array.
+     * @return the state for the key, or FREE if there is none
+     */
+    private int walk(String key) {
+        int state = ROOT;
+        for (int i = 0; i < key.length(); i++) {
+            char character = ignoreCase ? Trie.foldCase(key.charAt(i)) : key.charAt(i);
+            if (character >= codes.length) return FREE;
+
+            int code = codes[character];
+            if (code == 0) return FREE;
+
+            int next = base[state] + code;
+            if (next >= check.length || check[next] != state) return FREE;
+            state = next;
+        }
+        return state;
+    }
+
+    private boolean isTerminal(int state) {
+        return (terminal[state >>> 6] & (1L << state)) != 0;
+    }
+    // ---
+
+}
@@ -0,0 +1,297 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Linear_probing
+ * https://en.wikipedia.org/wiki/Open_addressing
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A hash map from {@code int} keys to objects, with open addressing and linear probing.
+ * <p>A {@code HashMap<Integer, V>} boxes every key and allocates an entry object per
+ * mapping. IntObjectMap keeps the keys in an {@code int[]} and the values in a parallel
+ * array, so a lookup hashes the key, then reads neighbouring slots of two arrays until
+ * it finds the key or an empty slot. Removal shifts the following entries of the probe
+ * chain back instead of leaving tombstones, so lookups never slow down over time.</p>
+ * <p>The table is kept at most half full and doubles when it fills up, up to
+ * 2<sup>30</sup> slots. Past that it fills further, and adding a key throws
+ * {@link IllegalStateException} once a single slot is left. Values must not be null: an
+ * empty value slot marks an empty table slot. The map is not thread-safe.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * IntObjectMap&lt;String&gt; names = new IntObjectMap&lt;&gt;();
+ * names.put(404, "Not Found");
+ * names.get(404);
+ * </pre></blockquote>
+ *
+ * @param <V> the type of mapped values
+ * @see CharObjectMap
+ * @see ObjectIntMap
+ */
+public final class IntObjectMap<V> {
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    /**
+     * Receives the entries of the map.
+     * @param <V> the type of mapped values
+     */
+    @FunctionalInterface
+    public interface EntryConsumer<V> {
+
+        /**
+         * Called for each entry.
+         * @param key key of the entry
+         * @param value value of the entry
+         */
+        void accept(int key, V value);
+    }
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public IntObjectMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that holds the expected number of entries without resizing.
+     * @param expectedSize number of entries expected
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public IntObjectMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size is negative: " + expectedSize);
+        int capacity = capacityFor(expectedSize);
+        keys = new int[capacity];
+        values = new Object[capacity];
+    }
+
+    /**
+     * Get the number of entries.
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map has no entries.
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every entry, keeping the table capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Get the value of a key.
+     * @param key key to look up
+     * @return the value, or null if the key is not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int i = indexOf(key);
+        return i >= 0 ? (V) values[i] : null;
+    }
+
+    /**
+     * Get the value of a key, or a default if it is not mapped.
+     * @param key key to look up
+     * @param defaultValue value to return if the key is not mapped
+     * @return the value, or the default
+     */
+    public V getOrDefault(int key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Checks if a key is mapped.
+     * @param key key to check for
+     * @return true if the key is mapped
+     */
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     * @param key key to map
+     * @param value value to map the key to
+     * @return the previous value, or null if the key was not mapped
+     * @throws NullPointerException if the value is null
+     * @throws IllegalStateException if the key is new and the map is full
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        Objects.requireNonNull(value);
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (values[i] != null) {
+            if (keys[i] == key) {
+                V previous = (V) values[i];
+                values[i] = value;
+                return previous;
+            }
+            i = (i + 1) & mask;
+        }
+
+        checkNotFull();
+        keys[i] = key;
+        values[i] = value;
+        if (++size > keys.length >> 1) grow();
+        return null;
+    }
+
+    /**
+     * Maps a key to a value unless it is already mapped.
+     * @param key key to map
+     * @param value value to map the key to
+     * @return the existing value, or null if the key was not mapped
+     * @throws NullPointerException if the value is null
+     * @throws IllegalStateException if the key is new and the map is full
+     */
+    public V putIfAbsent(int key, V value) {
+        V existing = get(key);
+        if (existing != null) return existing;
+        put(key, value);
+        return null;
+    }
+
+    /**
+     * Removes the mapping of a key.
+     * @param key key to remove
+     * @return the removed value, or null if the key was not mapped
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int i = indexOf(key);
+        if (i < 0) return null;
+
+        V previous = (V) values[i];
+        int mask = keys.length - 1;
+        // backward-shift deletion keeps probe chains intact without tombstones
+        int gap = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        values[gap] = null;
+        size--;
+        return previous;
+    }
+
+    /**
+     * Passes every entry to the action, in table order.
+     * @param action receives each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(EntryConsumer<? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) action.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /**
+     * Get the mapped keys.
+     * @return a new array of the keys, in table order
+     */
+    public int[] keys() {
+        int[] result = new int[size];
+        int count = 0;
+        for (int i = 0; i < keys.length; i++) {
+            if (values[i] != null) result[count++] = keys[i];
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    // ---
+    private int indexOf(int key) {
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); values[i] != null; i = (i + 1) & mask) {
+            if (keys[i] == key) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Doubles the table unless it has reached the maximum capacity.
+     */
+    private void grow() {
+        if (keys.length < MAXIMUM_CAPACITY) resize(keys.length << 1);
+    }
+
+    /**
+     * At the maximum capacity the table fills past half, but one slot must stay empty
+     * to end every probe.
+     */
+    private void checkNotFull() {
+        if (size == MAXIMUM_CAPACITY - 1) {
+            throw new IllegalStateException("Map is full: " + size + " entries");
+        }
+    }
+
+    private void resize(int capacity) {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        keys = new int[capacity];
+        values = new Object[capacity];
+
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldValues[j] == null) continue;
+            int i = slot(oldKeys[j], mask);
+            while (values[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(int key, int mask) {
+        int h = key * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return a power of two table size that holds the expected entries without
+     * resizing, clamped to the minimum and maximum capacity
+     */
+    static int capacityFor(int expectedSize) {
+        int clamped = Math.max(1, Math.min(expectedSize, MAXIMUM_CAPACITY >> 2));
+        return Math.max(MINIMUM_CAPACITY, Integer.highestOneBit(clamped) << 2);
+    }
+    // ---
+
+}
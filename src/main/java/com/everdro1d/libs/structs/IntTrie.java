@@ -0,0 +1,309 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.*;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A Trie with {@code int} values stored in primitive slots, for counters and ids.
+ * <p>A {@code Trie<Integer>} keeps a boxed {@link Integer} in every node that holds a
+ * value, and each update of a counter allocates a new one. IntTrie stores the value in
+ * the node itself, so {@link #addTo(String, int)} over a large corpus produces no garbage
+ * once the keys exist, and only allocates the nodes for new keys.</p>
+ * <p>Missing keys read as {@code 0}, like an absent counter.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * IntTrie wordCounts = new IntTrie();
+ * for (String word : words) {
+ *     wordCounts.increment(word);
+ * }
+ * wordCounts.getInt("apple");
+ * </pre></blockquote>
+ *
+ * @see LongTrie
+ * @see Trie
+ */
+public class IntTrie {
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+
+        boolean isEndOfWord;
+        int value;
+
+        /**
+         * Child characters in increasing order, parallel to {@link #children}.
+         */
+        char[] keys = NO_KEYS;
+        Node[] children = NO_NODES;
+        int childCount;
+
+        private Node getChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, childCount, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node getOrAddChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, childCount, c);
+            if (i >= 0) return children[i];
+
+            int index = -(i + 1);
+            if (childCount == keys.length) {
+                int capacity = Math.max(2, childCount << 1);
+                keys = Arrays.copyOf(keys, capacity);
+                children = Arrays.copyOf(children, capacity);
+            }
+            System.arraycopy(keys, index, keys, index + 1, childCount - index);
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+
+            Node child = new Node();
+            keys[index] = c;
+            children[index] = child;
+            childCount++;
+            return child;
+        }
+
+        private void removeChild(char c) {
+            int i = Arrays.binarySearch(keys, 0, childCount, c);
+            if (i < 0) return;
+
+            System.arraycopy(keys, i + 1, keys, i, childCount - i - 1);
+            System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+            children[--childCount] = null;
+            if (childCount == 0) {
+                keys = NO_KEYS;
+                children = NO_NODES;
+            }
+        }
+    }
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * Creates a new IntTrie without any values.
+     */
+    public IntTrie() {
+    }
+
+    /**
+     * Get the number of keys in the IntTrie.
+     * @return number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks if the IntTrie is empty.
+     * @return true if it contains no keys, else false.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every key.
+     */
+    public void clear() {
+        root.isEndOfWord = false;
+        root.value = 0;
+        root.keys = Node.NO_KEYS;
+        root.children = Node.NO_NODES;
+        root.childCount = 0;
+        size = 0;
+    }
+
+    /**
+     * Checks if the given key exists in the tree.
+     * @param key key to check for
+     * @return true if the key exists
+     */
+    public boolean contains(String key) {
+        Node node = find(key);
+        return node != null && node.isEndOfWord;
+    }
+
+    /**
+     * Checks if any keys in the tree start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        Node node = find(prefix);
+        return node != null && (node == root || node.isEndOfWord || node.childCount > 0);
+    }
+
+    /**
+     * Get the value of a key.
+     * @param key the key to search for
+     * @return the value associated with the key, 0 if the key does not exist
+     */
+    public int getInt(String key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Get the value of a key, or a default when the key does not exist.
+     * @param key the key to search for
+     * @param defaultValue value to return if the key does not exist
+     * @return the value associated with the key, or defaultValue
+     */
+    public int getOrDefault(String key, int defaultValue) {
+        Node node = find(key);
+        return node != null && node.isEndOfWord ? node.value : defaultValue;
+    }
+
+    /**
+     * Inserts the key with the given value, replacing any existing value.
+     * @param key key to insert
+     * @param value value to associate with the key
+     * @return the previous value, 0 if the key did not exist
+     */
+    public int putInt(String key, int value) {
+        Node node = insert(key);
+        int previous = node.value;
+        node.value = value;
+        return previous;
+    }
+
+    /**
+     * Adds to the value of a key, inserting it with a value of 0 first if it does not exist.
+     * @param key key to update
+     * @param delta amount to add
+     * @return the new value
+     */
+    public int addTo(String key, int delta) {
+        Node node = insert(key);
+        return node.value += delta;
+    }
+
+    /**
+     * Adds one to the value of a key, inserting it first if it does not exist.
+     * @param key key to update
+     * @return the new value
+     * @see #addTo(String, int)
+     */
+    public int increment(String key) {
+        return addTo(key, 1);
+    }
+
+    /**
+     * Removes the given key.
+     * @param key key to remove
+     * @return true if the key was removed, false otherwise (including key does not exist)
+     */
+    public boolean remove(String key) {
+        if (!removeHelper(root, key, 0)) return false;
+        size--;
+        return true;
+    }
+
+    /**
+     * List the keys in the IntTrie.
+     * @return A list of all the keys in the IntTrie
+     */
+    public List<String> listKeys() {
+        return listKeysMatching("", -1);
+    }
+
+    /**
+     * List the keys that match the prefix with a limit on the number of matches,
+     * in lexicographic order.
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        Node node = find(prefix);
+        if (node != null) {
+            listKeysHelper(node, new StringBuilder(prefix), list, maxMatches);
+        }
+        return list;
+    }
+
+    /**
+     * Calls the action for every key and value, in lexicographic order, without boxing.
+     * @param action action to call with each key and its value
+     */
+    public void forEach(ObjIntConsumer<String> action) {
+        forEachHelper(root, new StringBuilder(), action);
+    }
+
+    // ---
+    private Node find(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.getChild(key.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Walks the key from the root, adding missing nodes, and marks its node as a key.
+     * @return the node of the key
+     */
+    private Node insert(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrAddChild(key.charAt(i));
+        }
+        if (!node.isEndOfWord) {
+            node.isEndOfWord = true;
+            node.value = 0;
+            size++;
+        }
+        return node;
+    }
+
+    /**
+     * @return true if the key was found and removed
+     */
+    private boolean removeHelper(Node node, String key, int index) {
+        if (index == key.length()) {
+            if (!node.isEndOfWord) return false;
+            node.isEndOfWord = false;
+            node.value = 0;
+            return true;
+        }
+
+        char character = key.charAt(index);
+        Node child = node.getChild(character);
+        if (child == null || !removeHelper(child, key, index + 1)) return false;
+
+        if (!child.isEndOfWord && child.childCount == 0) {
+            node.removeChild(character);
+        }
+        return true;
+    }
+
+    private void listKeysHelper(Node node, StringBuilder stringAssembler, List<String> list, int maxMatches) {
+        if (node.isEndOfWord) list.add(stringAssembler.toString());
+
+        for (int i = 0; i < node.childCount; i++) {
+            if (maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            stringAssembler.append(node.keys[i]);
+            listKeysHelper(node.children[i], stringAssembler, list, maxMatches);
+            stringAssembler.setLength(stringAssembler.length() - 1);
+        }
+    }
+
+    private void forEachHelper(Node node, StringBuilder stringAssembler, ObjIntConsumer<String> action) {
+        if (node.isEndOfWord) action.accept(stringAssembler.toString(), node.value);
+
+        for (int i = 0; i < node.childCount; i++) {
+            stringAssembler.append(node.keys[i]);
+            forEachHelper(node.children[i], stringAssembler, action);
+            stringAssembler.setLength(stringAssembler.length() - 1);
+        }
+    }
+    // ---
+
+}
@@ -0,0 +1,358 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+/**
+ * A read-only Trie that answers lookups straight from a memory-mapped file.
+ * <p>The file is written by {@link Trie#writeTo(Path, TrieValueCodec)} and opened with
+ * {@link #open(Path, TrieValueCodec)}, which maps it through {@link FileChannel#map}.
+ * No heap nodes are built: every lookup follows byte offsets inside the mapped buffer,
+ * so opening even a very large file is nearly instant and the OS pages data in on demand.</p>
+ * <p>Values are only decoded, through the {@link TrieValueCodec}, when {@link #get(String)}
+ * or {@link #getTrieAsMap()} asks for them. A file written by a case-insensitive Trie is
+ * marked as such, and lookups fold the characters of the query the same way the Trie does.</p>
+ * <p>Instances are immutable and may be shared between threads.</p>
+ *
+ * <h2>File format</h2>
+ * All numbers are big-endian. Nodes are written children first, so each parent can point
+ * at its children by absolute offset.
+ * <pre>
+ * header:  int magic, int version, int flags (1 = ignore case)
+ * node:    byte flags (1 = end of key, 2 = null value)
+ *          [int valueLength, byte[valueLength] value]   only for keys with a non-null value
+ *          int childCount
+ *          childCount x (char character, int childOffset) sorted by character
+ * trailer: int keyCount, int rootOffset, int magic
+ * </pre>
+ * Version 1 files have no flags field and are read as case-sensitive.
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * trie.writeTo(path, TrieValueCodec.strings());
+ * MappedTrie&lt;String&gt; mapped = MappedTrie.open(path, TrieValueCodec.strings());
+ * mapped.get("apple");
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored in the MappedTrie
+ * @see Trie#writeTo(Path, TrieValueCodec)
+ */
+public final class MappedTrie<T> {
+    private static final int MAGIC = 0x44545249; // "DTRI"
+    private static final int VERSION = 2;
+    private static final int HEADER_BYTES = 12;
+    private static final int VERSION_1_HEADER_BYTES = 8;
+    private static final int TRAILER_BYTES = 12;
+    private static final int CHILD_ENTRY_BYTES = 6;
+
+    private static final byte END_OF_WORD = 1;
+    private static final byte NULL_VALUE = 2;
+
+    private static final int IGNORE_CASE = 1;
+
+    private static final int NOT_FOUND = -1;
+
+    private final ByteBuffer buffer;
+    private final TrieValueCodec<T> codec;
+    private final int keyCount;
+    private final int rootOffset;
+    private final boolean ignoreCase;
+
+    private MappedTrie(ByteBuffer buffer, TrieValueCodec<T> codec, int keyCount, int rootOffset, boolean ignoreCase) {
+        this.buffer = buffer;
+        this.codec = codec;
+        this.keyCount = keyCount;
+        this.rootOffset = rootOffset;
+        this.ignoreCase = ignoreCase;
+    }
+
+    /**
+     * Maps a Trie file into memory.
+     * @param file file written by {@link Trie#writeTo(Path, TrieValueCodec)}
+     * @param codec codec the file was written with
+     * @return the mapped Trie
+     * @param <T> the type of value stored in the file
+     * @throws IOException if the file cannot be read or is not a Trie file
+     */
+    public static <T> MappedTrie<T> open(Path file, TrieValueCodec<T> codec) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        int size = buffer.capacity();
+        if (size < VERSION_1_HEADER_BYTES + TRAILER_BYTES
+                || buffer.getInt(0) != MAGIC
+                || buffer.getInt(size - 4) != MAGIC) {
+            throw new IOException("Not a Trie file: " + file);
+        }
+        int version = buffer.getInt(4);
+        if (version != 1 && version != VERSION) {
+            throw new IOException("Unsupported Trie file version " + version + ": " + file);
+        }
+        if (version == VERSION && size < HEADER_BYTES + TRAILER_BYTES) {
+            throw new IOException("Truncated Trie file: " + file);
+        }
+
+        boolean ignoreCase = version == VERSION && (buffer.getInt(8) & IGNORE_CASE) != 0;
+        int keyCount = buffer.getInt(size - TRAILER_BYTES);
+        int rootOffset = buffer.getInt(size - TRAILER_BYTES + 4);
+        return new MappedTrie<>(buffer, codec, keyCount, rootOffset, ignoreCase);
+    }
+
+    /**
+     * Writes the nodes below the given root in the MappedTrie file format.
+     * @see Trie#writeTo(Path, TrieValueCodec)
+     */
+    static <T> void write(
+            Trie.TrieNode<T> root, boolean ignoreCase, Path file, TrieValueCodec<T> codec
+    ) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                java.nio.file.Files.newOutputStream(file)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(ignoreCase ? IGNORE_CASE : 0);
+
+            int[] keyCount = new int[1];
+            int rootOffset = writeNode(root, out, codec, keyCount);
+
+            out.writeInt(keyCount[0]);
+            out.writeInt(rootOffset);
+            out.writeInt(MAGIC);
+            if (out.size() == Integer.MAX_VALUE) { // DataOutputStream caps its counter here
+                throw new IOException("Trie file exceeds the 2 GB limit of a single mapping: " + file);
+            }
+        }
+    }
+
+    // ---
+    private static <T> int writeNode(
+            Trie.TrieNode<T> node, DataOutputStream out,
+            TrieValueCodec<T> codec, int[] keyCount
+    ) throws IOException {
+        List<Trie.TrieNode<T>> children = node.getChildren();
+        int[] childOffsets = new int[children.size()];
+        for (int i = 0; i < childOffsets.length; i++) {
+            childOffsets[i] = writeNode(children.get(i), out, codec, keyCount);
+        }
+
+        int offset = out.size();
+        if (offset == Integer.MAX_VALUE) {
+            throw new IOException("Trie file exceeds the 2 GB limit of a single mapping");
+        }
+
+        if (!node.isEndOfWord) {
+            out.writeByte(0);
+        } else if (node.value == null) {
+            out.writeByte(END_OF_WORD | NULL_VALUE);
+            keyCount[0]++;
+        } else {
+            byte[] value = codec.encode(node.value);
+            out.writeByte(END_OF_WORD);
+            out.writeInt(value.length);
+            out.write(value);
+            keyCount[0]++;
+        }
+
+        out.writeInt(childOffsets.length);
+        for (int i = 0; i < childOffsets.length; i++) {
+            out.writeChar(children.get(i).character);
+            out.writeInt(childOffsets[i]);
+        }
+        return offset;
+    }
+    // ---
+
+    /**
+     * Get the number of keys in the MappedTrie.
+     * @return number of keys
+     */
+    public int size() {
+        return keyCount;
+    }
+
+    /**
+     * Checks if the MappedTrie is empty.
+     * @return true if it contains no keys, else false.
+     */
+    public boolean isEmpty() {
+        return keyCount == 0;
+    }
+
+    /**
+     * Check whether keys are matched regardless of case.
+     * @return true if the file was written by a case-insensitive Trie
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Checks if the given key exists in the tree.
+     * @param key key to check for
+     * @return true if the key was written to the file
+     */
+    public boolean contains(String key) {
+        int node = find(key);
+        return node != NOT_FOUND && (buffer.get(node) & END_OF_WORD) != 0;
+    }
+
+    /**
+     * Checks if any keys in the tree start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        return find(prefix) != NOT_FOUND;
+    }
+
+    /**
+     * Get the value of a key in the MappedTrie, decoded with the codec.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    public T get(String key) {
+        int node = find(key);
+        return node != NOT_FOUND ? readValue(node) : null;
+    }
+
+    /**
+     * List the keys in a MappedTrie.
+     * @return A list of all the keys in the MappedTrie
+     */
+    public List<String> listKeys() {
+        return listKeysMatching("");
+    }
+
+    /**
+     * List the keys in a MappedTrie that match the prefix.
+     *
+     * @param prefix prefix to match
+     * @return List of all matching keys in the MappedTrie
+     *
+     * @see #listKeysMatching(String, int)
+     */
+    public List<String> listKeysMatching(String prefix) {
+        return listKeysMatching(prefix, -1);
+    }
+
+    /**
+     * List the keys in a MappedTrie that match the prefix with a limit on the number of matches.
+     * Keys are visited in lexicographic order of their characters.
+     *
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys in the MappedTrie
+     *
+     * @see #listKeysMatching(String)
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        int node = find(prefix);
+        if (node != NOT_FOUND) {
+            String keyPrefix = ignoreCase ? Trie.foldCase(prefix) : prefix;
+            collect(node, new StringBuilder(keyPrefix), list, null, maxMatches);
+        }
+        return list;
+    }
+
+    /**
+     * Flatten the MappedTrie to a map, decoding every value.
+     * @return map key, value
+     */
+    public Map<String,T> getTrieAsMap() {
+        Map<String,T> map = new HashMap<>();
+        collect(rootOffset, new StringBuilder(), null, map, -1);
+        return map;
+    }
+
+    // ---
+    private void collect(
+            int node, StringBuilder stringAssembler,
+            List<String> list, Map<String,T> map, int maxMatches
+    ) {
+        if ((buffer.get(node) & END_OF_WORD) != 0) {
+            if (list != null) list.add(stringAssembler.toString());
+            if (map != null) map.put(stringAssembler.toString(), readValue(node));
+        }
+
+        int table = childTable(node);
+        int childCount = buffer.getInt(table);
+        for (int i = 0; i < childCount; i++) {
+            if (list != null && maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            int entry = table + 4 + i * CHILD_ENTRY_BYTES;
+            stringAssembler.append(buffer.getChar(entry));
+            collect(buffer.getInt(entry + 2), stringAssembler, list, map, maxMatches);
+            stringAssembler.setLength(stringAssembler.length() - 1);
+        }
+    }
+
+    /**
+     * Follows the key from the root.
+     * @return offset of the node for the key, or NOT_FOUND
+     */
+    private int find(String key) {
+        int node = rootOffset;
+        for (int i = 0; i < key.length() && node != NOT_FOUND; i++) {
+            char character = key.charAt(i);
+            node = child(node, ignoreCase ? Trie.foldCase(character) : character);
+        }
+        return node;
+    }
+
+    /**
+     * Binary searches the child table of a node.
+     * @return offset of the child node, or NOT_FOUND
+     */
+    private int child(int node, char character) {
+        int table = childTable(node);
+        int low = 0;
+        int high = buffer.getInt(table) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int entry = table + 4 + mid * CHILD_ENTRY_BYTES;
+            char midKey = buffer.getChar(entry);
+            if (midKey < character) {
+                low = mid + 1;
+            } else if (midKey > character) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(entry + 2);
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * @return offset of the childCount field of a node, skipping its inline value
+     */
+    private int childTable(int node) {
+        byte flags = buffer.get(node);
+        if ((flags & END_OF_WORD) != 0 && (flags & NULL_VALUE) == 0) {
+            return node + 1 + 4 + buffer.getInt(node + 1);
+        }
+        return node + 1;
+    }
+
+    private T readValue(int node) {
+        byte flags = buffer.get(node);
+        if ((flags & END_OF_WORD) == 0 || (flags & NULL_VALUE) != 0) return null;
+
+        int length = buffer.getInt(node + 1);
+        return codec.decode(buffer.slice(node + 5, length));
+    }
+    // ---
+
+}
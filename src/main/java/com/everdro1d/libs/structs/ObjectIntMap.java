@@ -0,0 +1,293 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Linear_probing
+ * https://en.wikipedia.org/wiki/Open_addressing
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * A hash map from objects to {@code int} values, with open addressing and linear probing.
+ * <p>A {@code HashMap<K, Integer>} boxes every value, and every update of a counter
+ * allocates a new {@link Integer}. ObjectIntMap keeps the values in an {@code int[]}
+ * parallel to the key array, with no entry objects, so {@link #addTo(Object, int)} on an
+ * existing key allocates nothing. Removal shifts the following entries of the probe chain
+ * back instead of leaving tombstones.</p>
+ * <p>Missing keys read as {@code 0}, like an absent counter. Keys must not be null: an
+ * empty key slot marks an empty table slot. The table is kept at most half full and
+ * doubles when it fills up, up to 2<sup>30</sup> slots. Past that it fills further, and
+ * adding a key throws {@link IllegalStateException} once a single slot is left. The map
+ * is not thread-safe.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * ObjectIntMap&lt;String&gt; wordCounts = new ObjectIntMap&lt;&gt;();
+ * for (String word : words) {
+ *     wordCounts.increment(word);
+ * }
+ * wordCounts.getInt("apple");
+ * </pre></blockquote>
+ *
+ * @param <K> the type of keys
+ * @see IntTrie
+ * @see IntObjectMap
+ */
+public final class ObjectIntMap<K> {
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final int MAXIMUM_CAPACITY = 1 << 30;
+
+    private Object[] keys;
+    private int[] values;
+    private int size;
+
+    /**
+     * Creates an empty map.
+     */
+    public ObjectIntMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map that holds the expected number of entries without resizing.
+     * @param expectedSize number of entries expected
+     * @throws IllegalArgumentException if the expected size is negative
+     */
+    public ObjectIntMap(int expectedSize) {
+        if (expectedSize < 0) throw new IllegalArgumentException("Expected size is negative: " + expectedSize);
+        int capacity = capacityFor(expectedSize);
+        keys = new Object[capacity];
+        values = new int[capacity];
+    }
+
+    /**
+     * Get the number of entries.
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map has no entries.
+     * @return true if the map is empty
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes every entry, keeping the table capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, null);
+        size = 0;
+    }
+
+    /**
+     * Get the value of a key.
+     * @param key key to look up
+     * @return the value, or 0 if the key is not mapped
+     */
+    public int getInt(K key) {
+        return getOrDefault(key, 0);
+    }
+
+    /**
+     * Get the value of a key, or a default if it is not mapped.
+     * @param key key to look up
+     * @param defaultValue value to return if the key is not mapped
+     * @return the value, or the default
+     */
+    public int getOrDefault(K key, int defaultValue) {
+        int i = indexOf(key);
+        return i >= 0 ? values[i] : defaultValue;
+    }
+
+    /**
+     * Checks if a key is mapped.
+     * @param key key to check for
+     * @return true if the key is mapped
+     */
+    public boolean containsKey(K key) {
+        return indexOf(key) >= 0;
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     * @param key key to map
+     * @param value value to map the key to
+     * @return the previous value, or 0 if the key was not mapped
+     * @throws NullPointerException if the key is null
+     * @throws IllegalStateException if the key is new and the map is full
+     */
+    public int putInt(K key, int value) {
+        int i = findSlot(key);
+        int previous = values[i];
+        values[i] = value;
+        if (keys[i] == null) {
+            insertAt(i, key);
+            return 0;
+        }
+        return previous;
+    }
+
+    /**
+     * Adds to the value of a key, mapping it to the delta if it is not mapped yet.
+     * @param key key to update
+     * @param delta amount to add
+     * @return the new value
+     * @throws NullPointerException if the key is null
+     * @throws IllegalStateException if the key is new and the map is full
+     */
+    public int addTo(K key, int delta) {
+        int i = findSlot(key);
+        if (keys[i] == null) {
+            values[i] = delta;
+            insertAt(i, key);
+            return delta;
+        }
+        return values[i] += delta;
+    }
+
+    /**
+     * Adds one to the value of a key.
+     * @param key key to update
+     * @return the new value
+     * @throws NullPointerException if the key is null
+     * @throws IllegalStateException if the key is new and the map is full
+     */
+    public int increment(K key) {
+        return addTo(key, 1);
+    }
+
+    /**
+     * Removes the mapping of a key.
+     * @param key key to remove
+     * @return true if the key was mapped, false otherwise
+     */
+    public boolean remove(K key) {
+        int i = indexOf(key);
+        if (i < 0) return false;
+
+        int mask = keys.length - 1;
+        // backward-shift deletion keeps probe chains intact without tombstones
+        int gap = i;
+        for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j], mask);
+            if (((j - home) & mask) >= ((j - gap) & mask)) {
+                keys[gap] = keys[j];
+                values[gap] = values[j];
+                gap = j;
+            }
+        }
+        keys[gap] = null;
+        size--;
+        return true;
+    }
+
+    /**
+     * Passes every entry to the action, in table order.
+     * @param action receives each key and value
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super K> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != null) action.accept((K) keys[i], values[i]);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        forEach((key, value) -> {
+            if (builder.length() > 1) builder.append(", ");
+            builder.append(key).append('=').append(value);
+        });
+        return builder.append('}').toString();
+    }
+
+    // ---
+    private int indexOf(Object key) {
+        if (key == null) return -1;
+        int mask = keys.length - 1;
+        for (int i = slot(key, mask); keys[i] != null; i = (i + 1) & mask) {
+            if (keys[i].equals(key)) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * @return the slot of the key, or the empty slot where it belongs
+     */
+    private int findSlot(Object key) {
+        Objects.requireNonNull(key);
+        int mask = keys.length - 1;
+        int i = slot(key, mask);
+        while (keys[i] != null && !keys[i].equals(key)) {
+            i = (i + 1) & mask;
+        }
+        return i;
+    }
+
+    private void insertAt(int i, Object key) {
+        checkNotFull();
+        keys[i] = key;
+        if (++size > keys.length >> 1) grow();
+    }
+
+    /**
+     * Doubles the table unless it has reached the maximum capacity.
+     */
+    private void grow() {
+        if (keys.length < MAXIMUM_CAPACITY) resize(keys.length << 1);
+    }
+
+    /**
+     * At the maximum capacity the table fills past half, but one slot must stay empty
+     * to end every probe.
+     */
+    private void checkNotFull() {
+        if (size == MAXIMUM_CAPACITY - 1) {
+            throw new IllegalStateException("Map is full: " + size + " entries");
+        }
+    }
+
+    private void resize(int capacity) {
+        Object[] oldKeys = keys;
+        int[] oldValues = values;
+        keys = new Object[capacity];
+        values = new int[capacity];
+
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] == null) continue;
+            int i = slot(oldKeys[j], mask);
+            while (keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+            keys[i] = oldKeys[j];
+            values[i] = oldValues[j];
+        }
+    }
+
+    private static int slot(Object key, int mask) {
+        int h = key.hashCode() * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * @return a power of two table size that holds the expected entries without
+     * resizing, clamped to the minimum and maximum capacity
+     */
+    static int capacityFor(int expectedSize) {
+        int clamped = Math.max(1, Math.min(expectedSize, MAXIMUM_CAPACITY >> 2));
+        return Math.max(MINIMUM_CAPACITY, Integer.highestOneBit(clamped) << 2);
+    }
+    // ---
+
+}
@@ -0,0 +1,476 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Persistent_data_structure#Path_copying
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A Trie whose versions are immutable and share structure, for readers that need a
+ * consistent view while another thread applies updates.
+ * <p>Nodes are never modified. An insert or remove copies only the nodes on the path of
+ * the key and reuses every other node of the previous version, so the memory cost of an
+ * update is proportional to the key length. {@link #snapshot()} captures the current
+ * version in O(1), without locks or copies, and that {@link Snapshot} never changes
+ * afterwards.</p>
+ * <p>A PersistentTrie itself is a mutable handle on the latest version, so that it can
+ * stand in for a {@link Trie}: its {@code insert} and {@code remove} keep the Trie
+ * signatures and move the handle to the new version. The versions themselves are
+ * {@link Snapshot}s, whose {@link Snapshot#insert(String, Object)} and
+ * {@link Snapshot#remove(String)} return the new version and leave the old one as is.</p>
+ * <p>Updates swap the root with compare-and-set and retry on contention, so a
+ * PersistentTrie may be updated and read from any number of threads.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * PersistentTrie&lt;String&gt; dictionary = new PersistentTrie&lt;&gt;();
+ * dictionary.insert("apple", "fruit");
+ *
+ * PersistentTrie.Snapshot&lt;String&gt; view = dictionary.snapshot();
+ * dictionary.remove("apple");
+ * view.contains("apple"); // still true
+ *
+ * PersistentTrie.Snapshot&lt;String&gt; next = view.insert("banana", "fruit");
+ * view.contains("banana"); // false, next holds both keys
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored in the PersistentTrie
+ * @see Trie
+ */
+public class PersistentTrie<T> {
+
+    private static final class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_NODES = new Node[0];
+        private static final Node EMPTY = new Node(false, null, NO_KEYS, NO_NODES, 0);
+
+        final boolean isEndOfWord;
+        final Object value;
+
+        /**
+         * Child characters in increasing order, parallel to {@link #children}.
+         */
+        final char[] keys;
+        final Node[] children;
+
+        /**
+         * Number of keys ending at or below this node.
+         */
+        final int size;
+
+        Node(boolean isEndOfWord, Object value, char[] keys, Node[] children, int size) {
+            this.isEndOfWord = isEndOfWord;
+            this.value = value;
+            this.keys = keys;
+            this.children = children;
+            this.size = size;
+        }
+
+        private Node child(char c) {
+            int i = Arrays.binarySearch(keys, c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private Node withEnd(boolean end, Object newValue) {
+            int newSize = size + (end ? 1 : 0) - (isEndOfWord ? 1 : 0);
+            if (newSize == 0) return EMPTY;
+            return new Node(end, end ? newValue : null, keys, children, newSize);
+        }
+
+        /**
+         * Copies this node with the child for the given character replaced, added,
+         * or dropped when the new child holds no keys.
+         */
+        private Node withChild(char c, Node oldChild, Node newChild) {
+            int newSize = size - (oldChild == null ? 0 : oldChild.size) + newChild.size;
+            if (newSize == 0) return EMPTY;
+
+            int i = Arrays.binarySearch(keys, c);
+            char[] newKeys;
+            Node[] newChildren;
+            if (i >= 0 && newChild.size > 0) {
+                newKeys = keys;
+                newChildren = children.clone();
+                newChildren[i] = newChild;
+            } else if (i >= 0) {
+                newKeys = new char[keys.length - 1];
+                newChildren = new Node[children.length - 1];
+                System.arraycopy(keys, 0, newKeys, 0, i);
+                System.arraycopy(children, 0, newChildren, 0, i);
+                System.arraycopy(keys, i + 1, newKeys, i, newKeys.length - i);
+                System.arraycopy(children, i + 1, newChildren, i, newChildren.length - i);
+            } else {
+                int index = -(i + 1);
+                newKeys = new char[keys.length + 1];
+                newChildren = new Node[children.length + 1];
+                System.arraycopy(keys, 0, newKeys, 0, index);
+                System.arraycopy(children, 0, newChildren, 0, index);
+                newKeys[index] = c;
+                newChildren[index] = newChild;
+                System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+                System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            }
+            return new Node(isEndOfWord, value, newKeys, newChildren, newSize);
+        }
+    }
+
+    /**
+     * An immutable version of a {@link PersistentTrie}, obtained with {@link #snapshot()}.
+     * Safe to share between threads.
+     *
+     * @param <T> the type of value stored in the PersistentTrie
+     */
+    public static final class Snapshot<T> {
+        private final Node root;
+
+        private Snapshot(Node root) {
+            this.root = root;
+        }
+
+        /**
+         * Creates the version with the given key added, sharing every node off the key's
+         * path with this one.
+         * @param key key to insert
+         * @return the new version
+         */
+        public Snapshot<T> insert(String key) {
+            return insert(key, null);
+        }
+
+        /**
+         * Creates the version with the given key-value pair added, sharing every node off
+         * the key's path with this one.
+         * @param key key to insert
+         * @param value value to associate with the key
+         * @return the new version
+         */
+        public Snapshot<T> insert(String key, T value) {
+            return new Snapshot<>(PersistentTrie.insert(root, key, 0, value));
+        }
+
+        /**
+         * Creates the version with the given key removed.
+         * @param key key to remove
+         * @return the new version, or this one if the key does not exist
+         */
+        public Snapshot<T> remove(String key) {
+            Node updated = PersistentTrie.remove(root, key, 0);
+            return updated == root ? this : new Snapshot<>(updated);
+        }
+
+        /**
+         * Get the number of keys in this version.
+         * @return number of keys
+         */
+        public int size() {
+            return root.size;
+        }
+
+        /**
+         * Checks if this version is empty.
+         * @return true if it contains no keys, else false.
+         */
+        public boolean isEmpty() {
+            return root.size == 0;
+        }
+
+        /**
+         * Checks if the given key exists in this version.
+         * @param key key to check for
+         * @return true if the key exists
+         */
+        public boolean contains(String key) {
+            return PersistentTrie.contains(root, key);
+        }
+
+        /**
+         * Checks if any keys in this version start with the given prefix.
+         * @param prefix prefix to check for
+         * @return true if any key starts with or matches the prefix, or the prefix is empty
+         */
+        public boolean startsWith(String prefix) {
+            return PersistentTrie.startsWith(root, prefix);
+        }
+
+        /**
+         * Get the value of a key in this version.
+         * @param key the key to search for
+         * @return the value associated with the key
+         */
+        public T get(String key) {
+            return PersistentTrie.get(root, key);
+        }
+
+        /**
+         * List the keys in this version that match the prefix with a limit on the number
+         * of matches, in lexicographic order.
+         * @param prefix prefix to match
+         * @param maxMatches maximum number of matches to return, -1 for no limit
+         * @return List of all matching keys
+         */
+        public List<String> listKeysMatching(String prefix, int maxMatches) {
+            return PersistentTrie.listKeysMatching(root, prefix, maxMatches);
+        }
+
+        /**
+         * Flatten this version to a map.
+         * @return map key, value
+         */
+        public Map<String,T> getTrieAsMap() {
+            return PersistentTrie.getTrieAsMap(root);
+        }
+    }
+
+    /**
+     * Root of the current version.
+     */
+    private final AtomicReference<Node> root = new AtomicReference<>(Node.EMPTY);
+
+    /**
+     * Creates a new PersistentTrie without any values.
+     */
+    public PersistentTrie() {
+    }
+
+    /**
+     * Creates a new PersistentTrie containing the key-value pairs given in the map.
+     * @param map map of key-value pairs the tree should be init with
+     */
+    public PersistentTrie(Map<String, T> map) {
+        for (Map.Entry<String, T> entry : map.entrySet()) {
+            insert(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Captures the current version in O(1). Later updates do not affect the snapshot.
+     * @return immutable view of the current version
+     */
+    public Snapshot<T> snapshot() {
+        return new Snapshot<>(root.get());
+    }
+
+    /**
+     * Inserts the given key into the PersistentTrie.
+     * @param key key to insert
+     */
+    public void insert(String key) {
+        insert(key, null);
+    }
+
+    /**
+     * Inserts the given key-value pair, creating a new version that shares every node
+     * off the key's path with the previous one.
+     * @param key key to insert
+     * @param value value to associate with the key
+     */
+    public void insert(String key, T value) {
+        while (true) {
+            Node current = root.get();
+            Node updated = insert(current, key, 0, value);
+            if (root.compareAndSet(current, updated)) return;
+        }
+    }
+
+    /**
+     * Removes the given key, creating a new version unless the key does not exist.
+     * @param key key to remove
+     * @return true if the key was removed, false otherwise (including key does not exist)
+     */
+    public boolean remove(String key) {
+        while (true) {
+            Node current = root.get();
+            Node updated = remove(current, key, 0);
+            if (updated == current) return false; // key does not exist
+            if (root.compareAndSet(current, updated)) return true;
+        }
+    }
+
+    /**
+     * Set the value for an existing key, creating a new version.
+     * @param key key to search for
+     * @param value value to set as
+     * @return true if value was set, false otherwise (including value does not exist)
+     */
+    public boolean set(String key, T value) {
+        while (true) {
+            Node current = root.get();
+            if (!contains(current, key)) return false;
+            if (root.compareAndSet(current, insert(current, key, 0, value))) return true;
+        }
+    }
+
+    /**
+     * Removes every key, creating an empty version.
+     */
+    public void clear() {
+        root.set(Node.EMPTY);
+    }
+
+    /**
+     * Get the number of keys in the current version.
+     * @return number of keys
+     */
+    public int size() {
+        return root.get().size;
+    }
+
+    /**
+     * Checks if the current version is empty.
+     * @return true if it contains no keys, else false.
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Checks if the given key exists in the current version.
+     * @param key key to check for
+     * @return true if the key exists
+     */
+    public boolean contains(String key) {
+        return contains(root.get(), key);
+    }
+
+    /**
+     * Checks if any keys in the current version start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        return startsWith(root.get(), prefix);
+    }
+
+    /**
+     * Get the value of a key in the current version.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    public T get(String key) {
+        return get(root.get(), key);
+    }
+
+    /**
+     * List the keys in the current version that match the prefix.
+     * @param prefix prefix to match
+     * @return List of all matching keys
+     * @see #listKeysMatching(String, int)
+     */
+    public List<String> listKeysMatching(String prefix) {
+        return listKeysMatching(prefix, -1);
+    }
+
+    /**
+     * List the keys in the current version that match the prefix with a limit on the
+     * number of matches, in lexicographic order.
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        return listKeysMatching(root.get(), prefix, maxMatches);
+    }
+
+    /**
+     * Flatten the current version to a map.
+     * @return map key, value
+     */
+    public Map<String,T> getTrieAsMap() {
+        return getTrieAsMap(root.get());
+    }
+
+    // ---
+    private static Node insert(Node node, String key, int index, Object value) {
+        if (index == key.length()) {
+            return node.withEnd(true, value);
+        }
+
+        char character = key.charAt(index);
+        Node oldChild = node.child(character);
+        Node newChild = insert(oldChild == null ? Node.EMPTY : oldChild, key, index + 1, value);
+        return node.withChild(character, oldChild, newChild);
+    }
+
+    /**
+     * @return the new node, or the same node if the key does not exist below it
+     */
+    private static Node remove(Node node, String key, int index) {
+        if (index == key.length()) {
+            return node.isEndOfWord ? node.withEnd(false, null) : node;
+        }
+
+        char character = key.charAt(index);
+        Node oldChild = node.child(character);
+        if (oldChild == null) return node;
+
+        Node newChild = remove(oldChild, key, index + 1);
+        if (newChild == oldChild) return node;
+        return node.withChild(character, oldChild, newChild);
+    }
+
+    private static Node find(Node root, String key) {
+        Node node = root;
+        for (int i = 0; i < key.length() && node != null; i++) {
+            node = node.child(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static boolean contains(Node root, String key) {
+        Node node = find(root, key);
+        return node != null && node.isEndOfWord;
+    }
+
+    private static boolean startsWith(Node root, String prefix) {
+        Node node = find(root, prefix);
+        return node != null && (node == root || node.size > 0);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T get(Node root, String key) {
+        Node node = find(root, key);
+        return node != null && node.isEndOfWord ? (T) node.value : null;
+    }
+
+    private static List<String> listKeysMatching(Node root, String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        Node node = find(root, prefix);
+        if (node != null) {
+            collect(node, new StringBuilder(prefix), list, null, maxMatches);
+        }
+        return list;
+    }
+
+    private static <T> Map<String,T> getTrieAsMap(Node root) {
+        Map<String,T> map = new HashMap<>();
+        collect(root, new StringBuilder(), null, map, -1);
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void collect(
+            Node node, StringBuilder stringAssembler,
+            List<String> list, Map<String,T> map, int maxMatches
+    ) {
+        if (node.isEndOfWord) {
+            if (list != null) list.add(stringAssembler.toString());
+            if (map != null) map.put(stringAssembler.toString(), (T) node.value);
+        }
+
+        for (int i = 0; i < node.keys.length; i++) {
+            if (list != null && maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            stringAssembler.append(node.keys[i]);
+            collect(node.children[i], stringAssembler, list, map, maxMatches);
+            stringAssembler.setLength(stringAssembler.length() - 1);
+        }
+    }
+    // ---
+
+}
@@ -0,0 +1,521 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Radix_tree
+ * https://www.geeksforgeeks.org/compressed-tries/
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.*;
+
+/**
+ * A compressed (radix / Patricia) variant of {@link Trie}.
+ * <p>Where {@link Trie} creates one node per character, a RadixTrie collapses every
+ * chain of single-child nodes into one node whose edge is labeled with the whole
+ * substring. Keys with long unique suffixes, such as file paths or locale keys,
+ * therefore need far fewer nodes and pointer hops per lookup.</p>
+ * <p>Offers the same operations as {@link Trie}.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * RadixTrie&lt;String&gt; trie = new RadixTrie&lt;&gt;();
+ * trie.insert("/usr/local/bin", "binaries");
+ * trie.insert("/usr/local/lib", "libraries");
+ * trie.get("/usr/local/lib"); // "libraries"
+ * trie.listKeysMatching("/usr/"); // [/usr/local/bin, /usr/local/lib]
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored in the RadixTrie
+ * @see Trie
+ */
+public class RadixTrie<T> {
+
+    private static final class RadixNode<T> {
+        @SuppressWarnings("rawtypes")
+        private static final RadixNode[] NO_NODES = new RadixNode[0];
+
+        /**
+         * Substring on the edge leading into this node. Empty for the root.
+         */
+        String label;
+
+        /**
+         * Denotes whether this node is the end of a key in the RadixTrie.
+         */
+        boolean isEndOfWord;
+
+        T value;
+
+        /**
+         * Child nodes sorted by the first character of their label.
+         * Labels of siblings never share a first character.
+         */
+        RadixNode<T>[] children;
+
+        int childCount;
+
+        @SuppressWarnings("unchecked")
+        RadixNode(String label) {
+            this.label = label;
+            this.children = (RadixNode<T>[]) NO_NODES;
+        }
+
+        private boolean isEmpty() {
+            return childCount == 0;
+        }
+
+        private RadixNode<T> getChild(char c) {
+            int i = indexOf(c);
+            return i >= 0 ? children[i] : null;
+        }
+
+        private void addChild(RadixNode<T> node) {
+            int index = -(indexOf(node.label.charAt(0)) + 1);
+            if (childCount == children.length) {
+                children = Arrays.copyOf(children, Math.max(2, childCount << 1));
+            }
+            System.arraycopy(children, index, children, index + 1, childCount - index);
+            children[index] = node;
+            childCount++;
+        }
+
+        /**
+         * Replaces the child sharing the first label character with the given node.
+         */
+        private void replaceChild(RadixNode<T> node) {
+            children[indexOf(node.label.charAt(0))] = node;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void removeChild(char c) {
+            int i = indexOf(c);
+            System.arraycopy(children, i + 1, children, i, childCount - i - 1);
+            children[--childCount] = null;
+            if (childCount == 0) children = (RadixNode<T>[]) NO_NODES;
+        }
+
+        /**
+         * Merges this node with its only child, used when this node no longer ends a key.
+         */
+        private void mergeWithOnlyChild() {
+            RadixNode<T> child = children[0];
+            label = label + child.label;
+            isEndOfWord = child.isEndOfWord;
+            value = child.value;
+            children = child.children;
+            childCount = child.childCount;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void clearChildren() {
+            children = (RadixNode<T>[]) NO_NODES;
+            childCount = 0;
+        }
+
+        private int indexOf(char c) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midKey = children[mid].label.charAt(0);
+                if (midKey < c) {
+                    low = mid + 1;
+                } else if (midKey > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    /**
+     * Root node of the RadixTrie.
+     */
+    RadixNode<T> root;
+
+    /**
+     * Creates a new RadixTrie without any values.
+     */
+    public RadixTrie() {
+        root = new RadixNode<>("");
+    }
+
+    /**
+     * Creates a new RadixTrie containing the keys given in the list.
+     * @param list list of key the tree should be init with
+     */
+    public RadixTrie(List<String> list) {
+        this();
+        insert(list);
+    }
+
+    /**
+     * Creates a new RadixTrie containing the key-value pairs given in the map.
+     * @param map map of key-value pairs the tree should be init with
+     */
+    public RadixTrie(Map<String, T> map) {
+        this();
+        insert(map);
+    }
+
+    /**
+     * Inserts the given key into the RadixTrie, splitting edges where necessary.
+     * @param key key to insert
+     */
+    public void insert(String key) {
+        insert(key, null);
+    }
+
+    /**
+     * Inserts the given key-value pair into the RadixTrie, splitting edges where necessary.
+     * @param key key to insert
+     * @param value value to associate with the key
+     */
+    public void insert(String key, T value) {
+        RadixNode<T> currentNode = root;
+        int index = 0;
+
+        while (index < key.length()) {
+            RadixNode<T> childNode = currentNode.getChild(key.charAt(index));
+            if (childNode == null) {
+                // no edge shares the next char, hang the whole remainder off one node
+                RadixNode<T> leaf = new RadixNode<>(key.substring(index));
+                leaf.isEndOfWord = true;
+                leaf.value = value;
+                currentNode.addChild(leaf);
+                return;
+            }
+
+            String label = childNode.label;
+            int common = commonPrefixLength(label, key, index);
+            if (common < label.length()) {
+                // key diverges (or ends) inside the edge, split it at the divergence
+                RadixNode<T> splitNode = new RadixNode<>(label.substring(0, common));
+                currentNode.replaceChild(splitNode);
+                childNode.label = label.substring(common);
+                splitNode.addChild(childNode);
+                childNode = splitNode;
+            }
+
+            currentNode = childNode;
+            index += common;
+        }
+
+        currentNode.isEndOfWord = true;
+        currentNode.value = value;
+    }
+
+    /**
+     * Inserts the list of keys into the RadixTrie.
+     * @param list the list of keys to insert
+     */
+    public void insert(List<String> list) {
+        for (String key : list) {
+            insert(key);
+        }
+    }
+
+    /**
+     * Inserts a map of key-value pairs into the RadixTrie.
+     * @param map the map of key-value pairs to insert
+     */
+    public void insert(Map<String, T> map) {
+        for (Map.Entry<String, T> entry : map.entrySet()) {
+            insert(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * Checks if the given key exists in the tree.
+     * @param key key to check for
+     * @return true if the key was inserted into the RadixTrie
+     */
+    public boolean contains(String key) {
+        RadixNode<T> node = findNode(key);
+        return node != null && node.isEndOfWord;
+    }
+
+    /**
+     * Checks if any of the given keys exist in the tree.
+     * @param list the list of keys to check for
+     * @return true if any key in the list exists in the RadixTrie
+     */
+    public boolean containsAny(List<String> list) {
+        for (String key : list) {
+            if (contains(key)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if all the given keys exist in the tree.
+     * @param list the list of keys to check for
+     * @return true if all keys in the list exist in the RadixTrie
+     */
+    public boolean containsAll(List<String> list) {
+        for (String key : list) {
+            if (!contains(key)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Checks if any keys in the tree start with the given prefix.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix, or the prefix is empty
+     */
+    public boolean startsWith(String prefix) {
+        return findPrefixNode(prefix, null) != null;
+    }
+
+    /**
+     * Checks if the RadixTrie is empty.
+     * @return true if the root node has no children and is not a key, else false.
+     */
+    public boolean isEmpty() {
+        return root.isEmpty() && !root.isEndOfWord;
+    }
+
+    /**
+     * Removes every key from the RadixTrie.
+     */
+    public void clear() {
+        root.clearChildren();
+        root.isEndOfWord = false;
+        root.value = null;
+    }
+
+    /**
+     * Removes the given key from the RadixTrie, merging edges that become single-child chains.
+     * @param key key to remove
+     * @return true if the key was removed, false otherwise (including key does not exist)
+     */
+    public boolean remove(String key) {
+        RadixNode<T> parentNode = null;
+        RadixNode<T> currentNode = root;
+        int index = 0;
+
+        while (index < key.length()) {
+            RadixNode<T> childNode = currentNode.getChild(key.charAt(index));
+            if (childNode == null || !key.startsWith(childNode.label, index)) {
+                return false; // key does not exist
+            }
+            parentNode = currentNode;
+            currentNode = childNode;
+            index += childNode.label.length();
+        }
+
+        if (!currentNode.isEndOfWord) {
+            return false; // key does not exist
+        }
+        currentNode.isEndOfWord = false;
+        currentNode.value = null;
+
+        if (parentNode == null) {
+            return true; // empty key lives on the root, which is never merged
+        }
+
+        if (currentNode.isEmpty()) {
+            parentNode.removeChild(currentNode.label.charAt(0));
+            if (parentNode != root && !parentNode.isEndOfWord && parentNode.childCount == 1) {
+                parentNode.mergeWithOnlyChild();
+            }
+        } else if (currentNode.childCount == 1) {
+            currentNode.mergeWithOnlyChild();
+        }
+
+        return true;
+    }
+
+    /**
+     * Removes all keys in a given list from the RadixTrie
+     * @param list list of keys to remove
+     * @return true if none of the given keys exist in the RadixTrie, false otherwise
+     */
+    public boolean removeAll(List<String> list) {
+        for (String key : list) {
+            remove(key);
+        }
+
+        return !containsAny(list);
+    }
+
+    /**
+     * List the keys in a RadixTrie.
+     * @return A list of all the keys in the RadixTrie
+     */
+    public List<String> listKeys() {
+        return listKeysMatching("");
+    }
+
+    /**
+     * List the keys in a RadixTrie that match the prefix.
+     *
+     * @param prefix prefix to match
+     * @return List of all matching keys in the RadixTrie
+     *
+     * @see #listKeysMatching(String, int)
+     */
+    public List<String> listKeysMatching(String prefix) {
+        return listKeysMatching(prefix, -1);
+    }
+
+    /**
+     * List the keys in a RadixTrie that match the prefix with a limit on the number of matches.
+     * Keys are visited in lexicographic order of their characters.
+     *
+     * @param prefix prefix to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys in the RadixTrie
+     *
+     * @see #listKeysMatching(String)
+     */
+    public List<String> listKeysMatching(String prefix, int maxMatches) {
+        List<String> list = new ArrayList<>();
+        StringBuilder stringAssembler = new StringBuilder();
+
+        RadixNode<T> node = findPrefixNode(prefix, stringAssembler);
+        if (node != null) {
+            listKeysHelper(node, list, stringAssembler, maxMatches);
+        }
+        return list;
+    }
+
+    // ---
+    private void listKeysHelper(
+            RadixNode<T> currentNode, List<String> list,
+            StringBuilder stringAssembler, int maxMatches
+    ) {
+        if (currentNode.isEndOfWord) list.add(stringAssembler.toString());
+
+        for (int i = 0; i < currentNode.childCount; i++) {
+            if (maxMatches != -1 && list.size() >= maxMatches) {
+                return;
+            }
+
+            RadixNode<T> childNode = currentNode.children[i];
+            int length = stringAssembler.length();
+            listKeysHelper(childNode, list, stringAssembler.append(childNode.label), maxMatches);
+            stringAssembler.setLength(length);
+        }
+    }
+    // ---
+
+    /**
+     * Get the value of a key in the RadixTrie.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    public T get(String key) {
+        RadixNode<T> node = findNode(key);
+        return node != null && node.isEndOfWord ? node.value : null;
+    }
+
+    /**
+     * Set the value for an existing key in the RadixTrie.
+     * @param key key to search for
+     * @param value value to set as
+     * @return true if value was set, false otherwise (including value does not exist)
+     */
+    public boolean set(String key, T value) {
+        RadixNode<T> node = findNode(key);
+        if (node == null || !node.isEndOfWord) {
+            return false;
+        }
+
+        node.value = value;
+        return true;
+    }
+
+    /**
+     * Flatten the RadixTrie to a map.
+     * @return map key, value
+     */
+    public Map<String,T> getTrieAsMap() {
+        Map<String,T> map = new HashMap<>();
+        collectEntries(root, new StringBuilder(), map);
+        return map;
+    }
+
+    // ---
+    private void collectEntries(RadixNode<T> currentNode, StringBuilder stringAssembler, Map<String,T> map) {
+        if (currentNode.isEndOfWord) map.put(stringAssembler.toString(), currentNode.value);
+
+        for (int i = 0; i < currentNode.childCount; i++) {
+            RadixNode<T> childNode = currentNode.children[i];
+            int length = stringAssembler.length();
+            collectEntries(childNode, stringAssembler.append(childNode.label), map);
+            stringAssembler.setLength(length);
+        }
+    }
+
+    /**
+     * Finds the node whose path spells exactly the given key.
+     * @return the node, or null if the key ends inside an edge or diverges
+     */
+    private RadixNode<T> findNode(String key) {
+        RadixNode<T> currentNode = root;
+        int index = 0;
+
+        while (index < key.length()) {
+            currentNode = currentNode.getChild(key.charAt(index));
+            if (currentNode == null || !key.startsWith(currentNode.label, index)) {
+                return null;
+            }
+            index += currentNode.label.length();
+        }
+
+        return currentNode;
+    }
+
+    /**
+     * Finds the topmost node whose path starts with the given prefix. The prefix may end
+     * inside that node's edge label.
+     * @param stringAssembler if non-null, receives the full path of the returned node
+     * @return the node, or null if no key starts with the prefix
+     */
+    private RadixNode<T> findPrefixNode(String prefix, StringBuilder stringAssembler) {
+        RadixNode<T> currentNode = root;
+        int index = 0;
+
+        while (index < prefix.length()) {
+            currentNode = currentNode.getChild(prefix.charAt(index));
+            if (currentNode == null) {
+                return null;
+            }
+
+            String label = currentNode.label;
+            int remaining = prefix.length() - index;
+            if (remaining < label.length()) {
+                if (!label.regionMatches(0, prefix, index, remaining)) return null;
+            } else if (!prefix.startsWith(label, index)) {
+                return null;
+            }
+
+            if (stringAssembler != null) stringAssembler.append(label);
+            index += label.length();
+        }
+
+        return currentNode;
+    }
+
+    private static int commonPrefixLength(String label, String key, int offset) {
+        int max = Math.min(label.length(), key.length() - offset);
+        int i = 0;
+        while (i < max && label.charAt(i) == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+    // ---
+
+}
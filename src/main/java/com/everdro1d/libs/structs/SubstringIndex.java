@@ -0,0 +1,469 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Suffix_array
+ * https://web.stanford.edu/class/cs97si/suffix-array.pdf (prefix doubling)
+ * https://doi.org/10.1007/3-540-48194-X_17 (Kasai et al., Linear-Time Longest-Common-Prefix Computation)
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.util.*;
+
+/**
+ * An index over a list of strings that finds every entry containing a given substring,
+ * without scanning the entries.
+ * <p>The entries are joined into one text, with a separator after each, and all suffixes
+ * of that text are sorted into a suffix array. Every occurrence of a substring is the
+ * start of a suffix, and the suffixes that start with it are adjacent in the array, so
+ * one binary search over the array finds them all in O(|substring| log n). The
+ * longest-common-prefix (LCP) array then gives the end of that run without comparing
+ * any more characters. The separator never occurs in a query, so no match crosses from
+ * one entry into the next.</p>
+ * <p>The suffix array is built by prefix doubling with radix sorts in O(n log n), and the
+ * LCP array with Kasai's algorithm in O(n), where n is the total length of the entries.
+ * Entries can be added at any time. Queries scan recent entries directly until they
+ * reach a few thousand characters, then index them as a new segment. A new segment
+ * absorbs the older segments that are at most twice its length, so segment lengths
+ * shrink geometrically from oldest to newest: a query searches O(log n) segments, and a
+ * character is only re-indexed when its segment grows by half, O(log n) times in all.</p>
+ * <p>Entries are numbered by insertion order, starting at 0. Each indexed character costs
+ * about 12 bytes. The index is not thread-safe: queries may rebuild it.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * SubstringIndex names = new SubstringIndex(fileNames);
+ * names.add("report-2026.pdf");
+ *
+ * names.findEntries("2026");
+ * </pre></blockquote>
+ */
+public final class SubstringIndex {
+
+    /**
+     * Value of the separator in the text. Characters are stored as their value plus one.
+     */
+    private static final int SEPARATOR = 0;
+
+    /**
+     * Total length of unindexed entries that queries scan directly before indexing them.
+     */
+    private static final int PENDING_LIMIT = 4096;
+
+    /**
+     * An older segment is merged into a new one if it is at most this many times longer.
+     */
+    private static final int MERGE_RATIO = 2;
+
+    /**
+     * Suffix and LCP arrays over a contiguous range of entries.
+     */
+    private static final class Segment {
+        final int firstEntry;
+
+        /**
+         * Text position of the first character of each entry, relative to firstEntry.
+         */
+        final int[] starts;
+        final int[] text;
+
+        /**
+         * Text positions of the suffixes in sorted order.
+         */
+        final int[] suffixes;
+
+        /**
+         * lcp[i] is the length of the common prefix of suffixes[i - 1] and suffixes[i],
+         * stopping at separators. lcp[0] is 0.
+         */
+        final int[] lcp;
+
+        Segment(List<String> entries, int firstEntry, int endEntry) {
+            this.firstEntry = firstEntry;
+            starts = new int[endEntry - firstEntry];
+            int length = 0;
+            for (int i = firstEntry; i < endEntry; i++) {
+                starts[i - firstEntry] = length;
+                length += entries.get(i).length() + 1;
+            }
+
+            text = new int[length];
+            for (int i = firstEntry, position = 0; i < endEntry; i++) {
+                String entry = entries.get(i);
+                for (int j = 0; j < entry.length(); j++) {
+                    text[position++] = entry.charAt(j) + 1;
+                }
+                text[position++] = SEPARATOR;
+            }
+
+            suffixes = sortSuffixes(text);
+            lcp = longestCommonPrefixes(text, suffixes);
+        }
+
+        int length() {
+            return text.length;
+        }
+
+        /**
+         * Marks the entries containing the pattern.
+         * @return number of occurrences of the pattern
+         */
+        int find(String pattern, BitSet found) {
+            int first = lowerBound(pattern);
+            if (first == suffixes.length || !startsWith(suffixes[first], pattern)) return 0;
+
+            int end = first + 1;
+            while (end < suffixes.length && lcp[end] >= pattern.length()) {
+                end++;
+            }
+            for (int i = first; i < end; i++) {
+                found.set(firstEntry + entryAt(suffixes[i]));
+            }
+            return end - first;
+        }
+
+        // ---
+        /**
+         * @return index of the first suffix not less than the pattern
+         */
+        private int lowerBound(String pattern) {
+            int low = 0;
+            int high = suffixes.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(suffixes[mid], pattern) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Compares the suffix, cut to the length of the pattern, with the pattern.
+         */
+        private int compare(int suffix, String pattern) {
+            for (int i = 0; i < pattern.length(); i++) {
+                if (suffix + i == text.length) return -1;
+                int difference = text[suffix + i] - (pattern.charAt(i) + 1);
+                if (difference != 0) return difference;
+            }
+            return 0;
+        }
+
+        private boolean startsWith(int suffix, String pattern) {
+            return compare(suffix, pattern) == 0;
+        }
+
+        private int entryAt(int position) {
+            int i = Arrays.binarySearch(starts, position);
+            return i >= 0 ? i : -i - 2;
+        }
+        // ---
+    }
+
+    private final List<String> entries = new ArrayList<>();
+
+    /**
+     * Indexes of consecutive ranges of entries, oldest first. Each is more than
+     * MERGE_RATIO times longer than the next.
+     */
+    private final List<Segment> segments = new ArrayList<>();
+
+    /**
+     * Number of entries in the segments. Later entries are scanned by queries.
+     */
+    private int indexedEntries;
+    private int indexedLength;
+
+    private int totalLength;
+
+    /**
+     * Total length of all segments built so far, a measure of the indexing work done.
+     */
+    long indexedCharacters;
+
+    /**
+     * Creates an empty index.
+     */
+    public SubstringIndex() {
+    }
+
+    /**
+     * Creates an index of the given entries, in iteration order.
+     * @param entries entries to index
+     */
+    public SubstringIndex(Collection<String> entries) {
+        addAll(entries);
+    }
+
+    /**
+     * Adds an entry. It is indexed once enough entries have been added after it.
+     * @param entry entry to add
+     * @return the number of the entry
+     */
+    public int add(String entry) {
+        entries.add(Objects.requireNonNull(entry));
+        totalLength += entry.length() + 1;
+        return entries.size() - 1;
+    }
+
+    /**
+     * Adds every entry of a collection, in iteration order.
+     * @param entries entries to add
+     */
+    public void addAll(Collection<String> entries) {
+        for (String entry : entries) {
+            add(entry);
+        }
+    }
+
+    /**
+     * Get an entry by its number.
+     * @param id number of the entry, as returned by {@link #add(String)}
+     * @return the entry
+     * @throws IndexOutOfBoundsException if there is no such entry
+     */
+    public String get(int id) {
+        return entries.get(id);
+    }
+
+    /**
+     * Get the number of entries.
+     * @return number of entries
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Find the entries that contain the substring.
+     * @param substring text to look for
+     * @return the matching entries, in the order they were added, each once
+     */
+    public List<String> findEntries(String substring) {
+        BitSet found = search(substring);
+        List<String> list = new ArrayList<>(found.cardinality());
+        for (int id = found.nextSetBit(0); id >= 0; id = found.nextSetBit(id + 1)) {
+            list.add(entries.get(id));
+        }
+        return list;
+    }
+
+    /**
+     * Find the numbers of the entries that contain the substring.
+     * @param substring text to look for
+     * @return the matching entry numbers in increasing order
+     */
+    public int[] findIds(String substring) {
+        return search(substring).stream().toArray();
+    }
+
+    /**
+     * Count the occurrences of the substring over all entries, including overlapping
+     * occurrences and several occurrences in the same entry.
+     * @param substring text to look for
+     * @return number of occurrences
+     */
+    public int countOccurrences(String substring) {
+        if (substring.isEmpty()) return totalLength;
+
+        indexPending(false);
+        BitSet ignored = new BitSet();
+        int count = 0;
+        for (Segment segment : segments) {
+            count += segment.find(substring, ignored);
+        }
+        for (int id = indexedEntries; id < entries.size(); id++) {
+            String entry = entries.get(id);
+            for (int i = entry.indexOf(substring); i >= 0; i = entry.indexOf(substring, i + 1)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Index the entries that queries still scan now, instead of once enough entries
+     * have been added.
+     */
+    public void rebuild() {
+        indexPending(true);
+    }
+
+    // ---
+    private BitSet search(String substring) {
+        BitSet found = new BitSet(entries.size());
+        if (substring.isEmpty()) {
+            found.set(0, entries.size());
+            return found;
+        }
+
+        indexPending(false);
+        for (Segment segment : segments) {
+            segment.find(substring, found);
+        }
+        for (int id = indexedEntries; id < entries.size(); id++) {
+            if (entries.get(id).contains(substring)) found.set(id);
+        }
+        return found;
+    }
+
+    /**
+     * Indexes the entries not in a segment yet, together with the newest segments that
+     * are at most MERGE_RATIO times longer than everything newer than them.
+     * @param force whether to index them even if they are short enough to scan
+     */
+    private void indexPending(boolean force) {
+        int length = totalLength - indexedLength;
+        if (length == 0 || (!force && length < PENDING_LIMIT)) return;
+
+        int first = indexedEntries;
+        while (!segments.isEmpty() && segments.get(segments.size() - 1).length() <= (long) length * MERGE_RATIO) {
+            Segment merged = segments.remove(segments.size() - 1);
+            first = merged.firstEntry;
+            length += merged.length();
+        }
+        segments.add(new Segment(entries, first, entries.size()));
+        indexedEntries = entries.size();
+        indexedLength = totalLength;
+        indexedCharacters += length;
+    }
+
+    /**
+     * Sorts the suffixes of the text by prefix doubling: after each round the suffixes
+     * are sorted by their first 2k values, using the ranks by the first k values of the
+     * suffix and of the suffix k positions later as a pair of radix sort keys.
+     */
+    private static int[] sortSuffixes(int[] text) {
+        int n = text.length;
+        int[] suffixes = new int[n];
+        int[] rank = denseRanks(text);
+        int[] next = new int[n];
+        // dense ranks and later class numbers are all below n
+        int[] counts = new int[n + 1];
+
+        for (int i = 0; i < n; i++) {
+            suffixes[i] = i;
+        }
+        countingSort(suffixes, next, rank, counts, n);
+        int[] sorted = next;
+        next = suffixes;
+        suffixes = sorted;
+        int classes = rerank(suffixes, rank, next, 0);
+
+        int[] byPair = new int[n];
+        for (int k = 1; classes < n; k <<= 1) {
+            // order by the second key: suffixes without a second half first, then by rank
+            int count = 0;
+            for (int i = n - k; i < n; i++) {
+                byPair[count++] = i;
+            }
+            for (int suffix : suffixes) {
+                if (suffix >= k) byPair[count++] = suffix - k;
+            }
+            // a stable sort by the first key completes the order by the pair
+            countingSort(byPair, suffixes, rank, counts, classes);
+            classes = rerank(suffixes, rank, next, k);
+        }
+        return suffixes;
+    }
+
+    /**
+     * Replaces each value by its rank among the distinct values of the text, so the
+     * first radix sort counts only the characters that occur instead of all of them.
+     */
+    private static int[] denseRanks(int[] text) {
+        int max = 0;
+        for (int value : text) {
+            max = Math.max(max, value);
+        }
+        if (max < text.length) return text.clone();
+
+        int[] values = text.clone();
+        Arrays.sort(values);
+        int distinct = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (i == 0 || values[i] != values[i - 1]) values[distinct++] = values[i];
+        }
+        int[] rank = new int[text.length];
+        for (int i = 0; i < text.length; i++) {
+            rank[i] = Arrays.binarySearch(values, 0, distinct, text[i]);
+        }
+        return rank;
+    }
+
+    /**
+     * Stable counting sort of the positions in {@code from} by their key, into {@code to}.
+     */
+    private static void countingSort(int[] from, int[] to, int[] keys, int[] counts, int keyCount) {
+        Arrays.fill(counts, 0, keyCount + 1, 0);
+        for (int position : from) {
+            counts[keys[position] + 1]++;
+        }
+        for (int i = 1; i <= keyCount; i++) {
+            counts[i] += counts[i - 1];
+        }
+        for (int position : from) {
+            to[counts[keys[position]]++] = position;
+        }
+    }
+
+    /**
+     * Gives each suffix the rank of its class of equal (rank, rank k later) pairs.
+     * @return number of classes
+     */
+    private static int rerank(int[] suffixes, int[] rank, int[] scratch, int k) {
+        int n = suffixes.length;
+        scratch[suffixes[0]] = 0;
+        int classes = 1;
+        for (int i = 1; i < n; i++) {
+            int current = suffixes[i];
+            int previous = suffixes[i - 1];
+            if (rank[current] != rank[previous] || secondRank(rank, current, k) != secondRank(rank, previous, k)) {
+                classes++;
+            }
+            scratch[current] = classes - 1;
+        }
+        System.arraycopy(scratch, 0, rank, 0, n);
+        return classes;
+    }
+
+    private static int secondRank(int[] rank, int suffix, int k) {
+        if (k == 0) return 0;
+        return suffix + k < rank.length ? rank[suffix + k] : -1;
+    }
+
+    /**
+     * Kasai's algorithm: walking the suffixes in text order, the common prefix with the
+     * previous suffix in sorted order shrinks by at most one per step. Prefixes stop at
+     * separators, so they never span two entries.
+     */
+    private static int[] longestCommonPrefixes(int[] text, int[] suffixes) {
+        int n = text.length;
+        int[] rank = new int[n];
+        for (int i = 0; i < n; i++) {
+            rank[suffixes[i]] = i;
+        }
+
+        int[] lcp = new int[n];
+        int common = 0;
+        for (int i = 0; i < n; i++) {
+            if (rank[i] == 0) {
+                common = 0;
+                continue;
+            }
+            int j = suffixes[rank[i] - 1];
+            while (i + common < n && j + common < n
+                    && text[i + common] == text[j + common] && text[i + common] != SEPARATOR) {
+                common++;
+            }
+            lcp[rank[i]] = common;
+            if (common > 0) common--;
+        }
+        return lcp;
+    }
+    // ---
+
+}
@@ -12,7 +12,15 @@
 
 package com.everdro1d.libs.structs;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.BinaryOperator;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * <h2>Definition</h2>
@@ -48,12 +56,35 @@ import java.util.*;
  *     <li>Tries may be slower than hash tables or binary search trees for exact match operations.</li>
  * </ul>
  * <a href="https://www.geeksforgeeks.org/trie-meaning-in-dsa/">Description source</a>
+ * <h2>Bulk loading</h2>
+ * {@link #insert(List)} and {@link #insert(Map)} load collections of at least
+ * {@link #getParallelThreshold()} keys (50,000 by default) in parallel. The work runs on
+ * the pool of the calling fork/join task, or else on the common pool, so large inserts
+ * use threads other than the caller's and share the pool with other parallel work. The
+ * call still returns only after every key is inserted. To keep all inserts on the
+ * calling thread, call {@link #setParallelThreshold(int)} with {@link Integer#MAX_VALUE}.
  *
  * @param <T> the type of value stored in the Trie
  */
 public class Trie<T> {
 
-    private static class TrieNode<T> {
+    static final class TrieNode<T> {
+        /**
+         * Shared child key array for nodes without children, so leaves don't allocate.
+         */
+        private static final char[] NO_KEYS = new char[0];
+
+        /**
+         * Shared child node array for nodes without children, so leaves don't allocate.
+         */
+        private static final TrieNode<?>[] NO_NODES = newNodeArray(0);
+
+        /**
+         * Maximum number of children kept in sorted arrays before switching to the
+         * open-addressed table. Binary search over a handful of chars beats hashing.
+         */
+        private static final int SORTED_LIMIT = 8;
+
         /**
          * Denotes whether this node is the end of a key in the Trie.
          */
@@ -65,21 +96,55 @@ public class Trie<T> {
         char character;
 
         /**
-         * char map of this node's child nodes.
+         * Characters of this node's child nodes. While {@link #hashed} is false these are
+         * kept sorted in the first {@link #childCount} slots, otherwise this is the key
+         * table of an open-addressed (linear probing) hash table.
+         */
+        char[] childKeys;
+
+        /**
+         * This node's child nodes, parallel to {@link #childKeys}. Empty slots are null.
+         */
+        TrieNode<T>[] childNodes;
+
+        /**
+         * Number of child nodes.
+         */
+        int childCount;
+
+        /**
+         * Whether the children are stored in the open-addressed table (wide fan-out).
          */
-        HashMap<Character, TrieNode<T>> child;
+        boolean hashed;
 
         T value;
 
+        /**
+         * Score of the key ending at this node, used to rank completions.
+         */
+        double score;
+
+        /**
+         * Highest score of any key ending at or below this node, so that the best
+         * completions can be found without walking the whole subtree.
+         */
+        double bestScore = Double.NEGATIVE_INFINITY;
+
+        /**
+         * Number of keys ending at or below this node, for counting and ranking keys
+         * without walking the subtree.
+         */
+        int keyCount;
+
         TrieNode(char character) {
-            isEndOfWord = false;
-            child = new HashMap<>();
+            this();
             this.character = character;
-            this.value = null;
         }
 
+        @SuppressWarnings("unchecked")
         TrieNode() {
-            child = new HashMap<>();
+            childKeys = NO_KEYS;
+            childNodes = (TrieNode<T>[]) NO_NODES;
         }
 
         /**
@@ -87,23 +152,320 @@ public class Trie<T> {
          * @return false if node has any children, true otherwise
          */
         private boolean isEmpty() {
-            return child.isEmpty();
+            return childCount == 0;
+        }
+
+        /**
+         * Get the child node for the given character.
+         * @param c character of the child
+         * @return the child node, or null if it does not exist
+         */
+        private TrieNode<T> getChild(char c) {
+            if (hashed) {
+                int mask = childKeys.length - 1;
+                for (int i = hashSlot(c, mask); ; i = (i + 1) & mask) {
+                    TrieNode<T> node = childNodes[i];
+                    if (node == null) return null;
+                    if (childKeys[i] == c) return node;
+                }
+            }
+
+            int i = sortedIndexOf(c);
+            return i >= 0 ? childNodes[i] : null;
+        }
+
+        /**
+         * Get the child node for the given character, creating it if it does not exist.
+         * @param c character of the child
+         * @return the existing or newly created child node
+         */
+        private TrieNode<T> getOrAddChild(char c) {
+            TrieNode<T> node = getChild(c);
+            if (node != null) return node;
+
+            node = new TrieNode<>(c);
+            addChild(node);
+            return node;
+        }
+
+        /**
+         * Attaches a node as a new child. No child for its character may exist yet.
+         * @param node the child node, with its character set
+         */
+        private void addChild(TrieNode<T> node) {
+            char c = node.character;
+            if (!hashed && childCount == SORTED_LIMIT) {
+                rehash(tableCapacityFor(childCount + 1));
+            }
+
+            if (hashed) {
+                if ((childCount + 1) > (childKeys.length >> 1)) {
+                    rehash(childKeys.length << 1);
+                }
+                hashPut(node);
+            } else {
+                sortedInsert(-(sortedIndexOf(c) + 1), node);
+            }
+            childCount++;
+        }
+
+        /**
+         * Copies this node and everything below it.
+         * @return the copy, sharing no nodes with this one
+         */
+        private TrieNode<T> deepCopy() {
+            TrieNode<T> copy = new TrieNode<>(character);
+            copy.isEndOfWord = isEndOfWord;
+            copy.value = value;
+            copy.score = score;
+            copy.bestScore = bestScore;
+            copy.keyCount = keyCount;
+            copy.hashed = hashed;
+            copy.childCount = childCount;
+            if (childCount > 0) {
+                // same slots, so the sorted or hashed layout carries over as is
+                copy.childKeys = childKeys.clone();
+                copy.childNodes = childNodes.clone();
+                for (int i = 0; i < copy.childNodes.length; i++) {
+                    if (copy.childNodes[i] != null) copy.childNodes[i] = copy.childNodes[i].deepCopy();
+                }
+            }
+            return copy;
+        }
+
+        /**
+         * Removes the child node for the given character.
+         * @param c character of the child
+         * @return true if a child was removed, false otherwise
+         */
+        private boolean removeChild(char c) {
+            if (!hashed) {
+                int i = sortedIndexOf(c);
+                if (i < 0) return false;
+
+                int moved = childCount - i - 1;
+                System.arraycopy(childKeys, i + 1, childKeys, i, moved);
+                System.arraycopy(childNodes, i + 1, childNodes, i, moved);
+                childNodes[--childCount] = null;
+                if (childCount == 0) clearChildren();
+                return true;
+            }
+
+            int mask = childKeys.length - 1;
+            int i = hashSlot(c, mask);
+            while (childNodes[i] != null && childKeys[i] != c) {
+                i = (i + 1) & mask;
+            }
+            if (childNodes[i] == null) return false;
+
+            // backward-shift deletion keeps probe chains intact without tombstones
+            int gap = i;
+            for (int j = (i + 1) & mask; childNodes[j] != null; j = (j + 1) & mask) {
+                int home = hashSlot(childKeys[j], mask);
+                if (((j - home) & mask) >= ((j - gap) & mask)) {
+                    childKeys[gap] = childKeys[j];
+                    childNodes[gap] = childNodes[j];
+                    gap = j;
+                }
+            }
+            childNodes[gap] = null;
+            childCount--;
+
+            if (childCount <= SORTED_LIMIT / 2) unhash();
+            return true;
+        }
+
+        /**
+         * Recomputes {@link #bestScore} from this node's own score and its children.
+         * @return true if the best score changed
+         */
+        private boolean refreshBestScore() {
+            double best = isEndOfWord ? score : Double.NEGATIVE_INFINITY;
+            for (TrieNode<T> node : childNodes) {
+                if (node != null && node.bestScore > best) best = node.bestScore;
+            }
+
+            boolean changed = best != bestScore;
+            bestScore = best;
+            return changed;
+        }
+
+        /**
+         * Recomputes the key count from this node and its children.
+         */
+        private void refreshKeyCount() {
+            int count = isEndOfWord ? 1 : 0;
+            for (TrieNode<T> node : childNodes) {
+                if (node != null) count += node.keyCount;
+            }
+            keyCount = count;
+        }
+
+        /**
+         * Removes all child nodes and releases the child arrays.
+         */
+        @SuppressWarnings("unchecked")
+        private void clearChildren() {
+            childKeys = NO_KEYS;
+            childNodes = (TrieNode<T>[]) NO_NODES;
+            childCount = 0;
+            hashed = false;
+        }
+
+        /**
+         * Get the children of this node in character order.
+         * @return the child nodes
+         */
+        List<TrieNode<T>> getChildren() {
+            List<TrieNode<T>> children = new ArrayList<>(childCount);
+            for (TrieNode<T> node : childNodes) {
+                if (node != null) children.add(node);
+            }
+            if (hashed) children.sort(Comparator.comparingInt(node -> node.character));
+            return children;
+        }
+
+        /**
+         * Get the children of this node in character order without copying them when
+         * possible. Only the first {@link #childCount} entries of the array are children.
+         * @return the child nodes
+         */
+        TrieNode<T>[] orderedChildren() {
+            if (!hashed) return childNodes;
+            return getChildren().toArray(newNodeArray(childCount));
+        }
+
+        /**
+         * Creates an array of nodes. Generic arrays can't be created directly.
+         * @param length length of the array
+         * @return a new array of nulls
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static <T> TrieNode<T>[] newNodeArray(int length) {
+            return (TrieNode<T>[]) new TrieNode[length];
+        }
+
+        // ---
+        private int sortedIndexOf(char c) {
+            int low = 0;
+            int high = childCount - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                char midKey = childKeys[mid];
+                if (midKey < c) {
+                    low = mid + 1;
+                } else if (midKey > c) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void sortedInsert(int index, TrieNode<T> node) {
+            if (childCount == childKeys.length) {
+                int capacity = Math.max(2, childCount << 1);
+                childKeys = Arrays.copyOf(childKeys, capacity);
+                childNodes = Arrays.copyOf(childNodes, capacity);
+            }
+
+            int moved = childCount - index;
+            System.arraycopy(childKeys, index, childKeys, index + 1, moved);
+            System.arraycopy(childNodes, index, childNodes, index + 1, moved);
+            childKeys[index] = node.character;
+            childNodes[index] = node;
+        }
+
+        private void hashPut(TrieNode<T> node) {
+            int mask = childKeys.length - 1;
+            int i = hashSlot(node.character, mask);
+            while (childNodes[i] != null) {
+                i = (i + 1) & mask;
+            }
+            childKeys[i] = node.character;
+            childNodes[i] = node;
+        }
+
+        private void rehash(int capacity) {
+            TrieNode<T>[] oldNodes = childNodes;
+            childKeys = new char[capacity];
+            childNodes = newNodeArray(capacity);
+            hashed = true;
+
+            for (TrieNode<T> node : oldNodes) {
+                if (node != null) hashPut(node);
+            }
         }
 
-        private Collection<TrieNode<T>> getChildren() {
-            return child.values();
+        private void unhash() {
+            List<TrieNode<T>> children = getChildren();
+
+            childKeys = new char[SORTED_LIMIT];
+            childNodes = newNodeArray(SORTED_LIMIT);
+            hashed = false;
+            for (int i = 0; i < children.size(); i++) {
+                childKeys[i] = children.get(i).character;
+                childNodes[i] = children.get(i);
+            }
+        }
+
+        private static int tableCapacityFor(int count) {
+            return Integer.highestOneBit(count) << 2;
         }
+
+        private static int hashSlot(char c, int mask) {
+            int h = c * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+        // ---
     }
 
+    /**
+     * Default minimum number of keys for {@link #insert(List)} and {@link #insert(Map)}
+     * to load in parallel.
+     */
+    public static final int DEFAULT_PARALLEL_THRESHOLD = 50_000;
+
     /**
      * Root node of the Trie.
      */
     TrieNode<T> root;
 
+    /**
+     * Minimum number of keys for bulk inserts to load in parallel.
+     */
+    private int parallelThreshold = DEFAULT_PARALLEL_THRESHOLD;
+
+    /**
+     * Whether characters are case folded when keys are inserted and looked up.
+     */
+    private final boolean ignoreCase;
+
+    /**
+     * Filter of the inserted keys that rejects definite misses before the node walk,
+     * null if none is attached.
+     */
+    private BloomFilter bloomFilter;
+
     /**
      * Creates a new Trie without any values.
      */
     public Trie() {
+        this(false);
+    }
+
+    /**
+     * Creates a new Trie without any values, optionally ignoring case.
+     * <p>When ignoring case, every character of a key is folded as it is read, the way
+     * {@link String#equalsIgnoreCase(String)} compares characters, both on insert and on
+     * lookup. No folded copy of the key is made. Keys are stored and listed in their
+     * folded (lower case) form.</p>
+     * @param ignoreCase true to match keys regardless of case
+     */
+    public Trie(boolean ignoreCase) {
+        this.ignoreCase = ignoreCase;
         root = new TrieNode<>();
     }
 
@@ -112,7 +474,7 @@ public class Trie<T> {
      * @param list list of key the tree should be init with
      */
     public Trie(List<String> list) {
-        root = new TrieNode<>();
+        this(false);
         insert(list);
     }
 
@@ -121,7 +483,7 @@ public class Trie<T> {
      * @param map map of key-value pairs the tree should be init with
      */
     public Trie(Map<String, T> map) {
-        root = new TrieNode<>();
+        this(false);
         insert(map);
     }
 
@@ -139,22 +501,132 @@ public class Trie<T> {
      * @param value value to associate with the key
      */
     public void insert(String key, T value) {
-        TrieNode<T> currentNode = root;
+        insertBelow(root, key, 0, key.length(), value);
+        if (bloomFilter != null) putInBloomFilter(key, 0, key.length());
+    }
+
+    /**
+     * Inserts the given key-value pair into the Trie, reading the key in place.
+     * @param key key to insert
+     * @param value value to associate with the key
+     */
+    public void insert(CharSequence key, T value) {
+        insertBelow(root, key, 0, key.length(), value);
+        if (bloomFilter != null) putInBloomFilter(key, 0, key.length());
+    }
+
+    /**
+     * Inserts the characters from start (inclusive) to end (exclusive) of the sequence as
+     * a key, reading them in place.
+     * @param key sequence holding the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @param value value to associate with the key
+     */
+    public void insert(CharSequence key, int start, int end, T value) {
+        Objects.checkFromToIndex(start, end, key.length());
+        insertBelow(root, key, start, end, value);
+        if (bloomFilter != null) putInBloomFilter(key, start, end);
+    }
+
+    /**
+     * Inserts the given key-value pair into the Trie with a score used to rank completions.
+     * Keys inserted without a score have a score of 0, re-inserting a key replaces its score.
+     * @param key key to insert
+     * @param value value to associate with the key
+     * @param score score of the key, higher scores rank first
+     * @see #topKMatching(String, int)
+     */
+    public void insert(String key, T value, double score) {
+        TrieNode<T> currentNode = descendRaisingScores(root, key, 0, key.length(), score);
+        boolean added = !currentNode.isEndOfWord;
+        boolean lowered = currentNode.isEndOfWord && currentNode.score > score;
 
-        for (char character : key.toCharArray()) {
-            currentNode = currentNode.child.computeIfAbsent(
-                    character, k -> new TrieNode<>(character)
-            );
-        }
         currentNode.isEndOfWord = true;
         currentNode.value = value;
+        currentNode.score = score;
+        if (added) adjustKeyCounts(root, key, 0, key.length(), 1);
+        if (lowered) refreshBestScores(root, key, 0, key.length());
+        if (bloomFilter != null) putInBloomFilter(key, 0, key.length());
+    }
+
+    // ---
+    /**
+     * Inserts the part of the key from the given index on below the given node.
+     * Only the nodes below {@code start} are touched.
+     */
+    private void insertBelow(TrieNode<T> start, CharSequence key, int from, int to, T value) {
+        TrieNode<T> currentNode = descendRaisingScores(start, key, from, to, 0.0);
+
+        if (!currentNode.isEndOfWord) {
+            currentNode.isEndOfWord = true;
+            currentNode.score = 0.0;
+            adjustKeyCounts(start, key, from, to, 1);
+        } else if (currentNode.score < 0.0) {
+            // existing key keeps its score, undo the raise to 0 along the path
+            refreshBestScores(start, key, from, to);
+        }
+        currentNode.value = value;
+    }
+
+    /**
+     * Walks the key from the given node and index, creating nodes where necessary, and
+     * raises the best score of every node on the path to at least the given score.
+     * @return the node of the last character of the key
+     */
+    private TrieNode<T> descendRaisingScores(TrieNode<T> start, CharSequence key, int from, int to, double score) {
+        TrieNode<T> currentNode = start;
+        if (currentNode.bestScore < score) currentNode.bestScore = score;
+
+        for (int i = from; i < to; i++) {
+            currentNode = currentNode.getOrAddChild(fold(key.charAt(i)));
+            if (currentNode.bestScore < score) currentNode.bestScore = score;
+        }
+        return currentNode;
+    }
+
+    /**
+     * Recomputes best scores bottom-up along an existing key after a score was lowered,
+     * up to the given start node.
+     */
+    private void refreshBestScores(TrieNode<T> start, CharSequence key, int from, int to) {
+        TrieNode<T>[] path = TrieNode.newNodeArray(to - from + 1);
+        path[0] = start;
+        for (int i = 1; i < path.length; i++) {
+            path[i] = path[i - 1].getChild(fold(key.charAt(from + i - 1)));
+        }
+
+        for (int i = path.length - 1; i >= 0; i--) {
+            if (!path[i].refreshBestScore()) return; // ancestors are unaffected
+        }
     }
 
+    /**
+     * Adds delta to the key count of every node along an existing key, from the given
+     * start node to the node of the key's last character.
+     */
+    private void adjustKeyCounts(TrieNode<T> start, CharSequence key, int from, int to, int delta) {
+        TrieNode<T> currentNode = start;
+        currentNode.keyCount += delta;
+        for (int i = from; i < to; i++) {
+            currentNode = currentNode.getChild(fold(key.charAt(i)));
+            currentNode.keyCount += delta;
+        }
+    }
+    // ---
+
     /**
      * Inserts the list of keys into the Trie, creating nodes where necessary.
+     * <p>Lists of at least {@link #getParallelThreshold()} keys are loaded in parallel.</p>
      * @param list the list of keys to insert
+     * @see #setParallelThreshold(int)
      */
     public void insert(List<String> list) {
+        if (list.size() >= parallelThreshold) {
+            bulkInsert(list.toArray(new String[0]), null);
+            return;
+        }
+
         for (String key : list) {
             insert(key);
         }
@@ -162,21 +634,228 @@ public class Trie<T> {
 
     /**
      * Inserts a map of key-value pairs into the Trie, creating nodes where necessary.
+     * <p>Maps of at least {@link #getParallelThreshold()} entries are loaded in parallel.</p>
      * @param map the map of key-value pairs to insert
+     * @see #setParallelThreshold(int)
      */
+    @SuppressWarnings("unchecked")
     public void insert(Map<String, T> map) {
+        if (map.size() >= parallelThreshold) {
+            String[] keys = new String[map.size()];
+            T[] values = (T[]) new Object[map.size()];
+            int i = 0;
+            for (Map.Entry<String, T> entry : map.entrySet()) {
+                keys[i] = entry.getKey();
+                values[i++] = entry.getValue();
+            }
+            bulkInsert(keys, values);
+            return;
+        }
+
         for (Map.Entry<String, T> entry : map.entrySet()) {
             insert(entry.getKey(), entry.getValue());
         }
     }
 
+    /**
+     * Get the minimum number of keys for {@link #insert(List)} and {@link #insert(Map)}
+     * to load in parallel.
+     * @return the parallel threshold
+     */
+    public int getParallelThreshold() {
+        return parallelThreshold;
+    }
+
+    /**
+     * Check whether keys are matched regardless of case.
+     * @return true if this Trie was created to ignore case
+     * @see #Trie(boolean)
+     */
+    public boolean isIgnoreCase() {
+        return ignoreCase;
+    }
+
+    /**
+     * Attach a {@link BloomFilter} that rejects definite misses of {@link #contains(String)}
+     * and {@link #get(String)} with a few hash probes, before walking any nodes.
+     * <p>The filter is filled with the current keys and every key inserted afterwards.
+     * Removing keys leaves their bits set, so lookups of removed keys fall through to the
+     * node walk, which still answers correctly. Attach a new filter to rebuild it when
+     * many keys were removed, or when far more keys than expected were inserted.
+     * Prefix queries do not use the filter.</p>
+     * @param expectedKeys number of keys the Trie is expected to hold
+     * @param falsePositiveRate share of misses allowed to pass the filter
+     * @return the attached filter
+     * @see #detachBloomFilter()
+     */
+    public BloomFilter attachBloomFilter(long expectedKeys, double falsePositiveRate) {
+        BloomFilter filter = BloomFilter.createBlocked(Math.max(Math.max(expectedKeys, size()), 1), falsePositiveRate);
+        for (String key : keys("")) {
+            filter.putHash(bloomHash(key, 0, key.length()));
+        }
+        bloomFilter = filter;
+        return filter;
+    }
+
+    /**
+     * Detach the Bloom filter, if any, so lookups walk the nodes directly again.
+     * @see #attachBloomFilter(long, double)
+     */
+    public void detachBloomFilter() {
+        bloomFilter = null;
+    }
+
+    /**
+     * Set the minimum number of keys for {@link #insert(List)} and {@link #insert(Map)}
+     * to load in parallel. Smaller inserts run on the calling thread.
+     * @param parallelThreshold minimum number of keys, {@link Integer#MAX_VALUE} to never load in parallel
+     * @see #DEFAULT_PARALLEL_THRESHOLD
+     */
+    public void setParallelThreshold(int parallelThreshold) {
+        this.parallelThreshold = parallelThreshold;
+    }
+
+    // ---
+    /**
+     * Loads the keys with a {@link BulkLoadTask} on the pool of the calling
+     * {@link ForkJoinTask}, or the common pool.
+     * @param values values parallel to keys, or null to insert null values
+     */
+    private void bulkInsert(String[] keys, T[] values) {
+        if (bloomFilter != null) {
+            for (String key : keys) {
+                putInBloomFilter(key, 0, key.length());
+            }
+        }
+        int parallelism = ForkJoinTask.inForkJoinPool()
+                ? ForkJoinTask.getPool().getParallelism()
+                : ForkJoinPool.getCommonPoolParallelism();
+        if (parallelism <= 1) {
+            // grouping only pays off when there is more than one worker
+            for (int i = 0; i < keys.length; i++) {
+                insertBelow(root, keys[i], 0, keys[i].length(), values == null ? null : values[i]);
+            }
+            return;
+        }
+
+        int[] order = new int[keys.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int granularity = Math.max(1024, keys.length / (parallelism * 8));
+        new BulkLoadTask(root, 0, keys, values, order, 0, order.length, granularity).invoke();
+    }
+
+    /**
+     * Inserts a range of keys that all share the same prefix of length {@code depth}
+     * below the node of that prefix.
+     * <p>Large ranges are grouped by their next character. The task creates the child
+     * for every group and forks one subtask per child, so each task owns its node and
+     * nothing below it is touched by two threads. Grouping again at every depth keeps
+     * the load balanced even when most keys share their leading characters.</p>
+     */
+    private final class BulkLoadTask extends RecursiveAction {
+        // ForkJoinTask is Serializable, but tasks only live for the duration of one insert
+        private static final long serialVersionUID = 1L;
+
+        private final TrieNode<T> node;
+        private final int depth;
+        private final String[] keys;
+        private final T[] values;
+        private final int[] order;
+        private final int from;
+        private final int to;
+        private final int granularity;
+
+        BulkLoadTask(
+                TrieNode<T> node, int depth, String[] keys, T[] values,
+                int[] order, int from, int to, int granularity
+        ) {
+            this.node = node;
+            this.depth = depth;
+            this.keys = keys;
+            this.values = values;
+            this.order = order;
+            this.from = from;
+            this.to = to;
+            this.granularity = granularity;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= granularity) {
+                for (int i = from; i < to; i++) {
+                    insertBelow(node, keys[order[i]], depth, keys[order[i]].length(), values == null ? null : values[order[i]]);
+                }
+                return;
+            }
+
+            // sort the range by the character at depth, keys ending here sort first
+            long[] packed = new long[to - from];
+            for (int i = from; i < to; i++) {
+                String key = keys[order[i]];
+                long character = key.length() > depth ? fold(key.charAt(depth)) + 1 : 0;
+                packed[i - from] = (character << 32) | order[i];
+            }
+            Arrays.sort(packed);
+            for (int i = from; i < to; i++) {
+                order[i] = (int) packed[i - from];
+            }
+
+            List<BulkLoadTask> tasks = new ArrayList<>();
+            int start = from;
+            while (start < to) {
+                long group = packed[start - from] >>> 32;
+                int end = start + 1;
+                while (end < to && packed[end - from] >>> 32 == group) end++;
+
+                if (group == 0) {
+                    for (int i = start; i < end; i++) {
+                        insertBelow(node, keys[order[i]], depth, keys[order[i]].length(), values == null ? null : values[order[i]]);
+                    }
+                } else {
+                    TrieNode<T> child = node.getOrAddChild((char) (group - 1));
+                    tasks.add(new BulkLoadTask(child, depth + 1, keys, values, order, start, end, granularity));
+                }
+                start = end;
+            }
+
+            invokeAll(tasks);
+            node.refreshBestScore();
+            node.refreshKeyCount();
+        }
+    }
+    // ---
+
     /**
      * Checks if the given key exists in the tree.
      * @param key key to check for
      * @return true if all the nodes of the key exist in the Trie and the last node is EOW.
      */
     public boolean contains(String key) {
-        return search(key, true);
+        return search(key, 0, key.length(), true);
+    }
+
+    /**
+     * Checks if the given key exists in the tree, reading it in place.
+     * @param key key to check for
+     * @return true if all the nodes of the key exist in the Trie and the last node is EOW.
+     */
+    public boolean contains(CharSequence key) {
+        return search(key, 0, key.length(), true);
+    }
+
+    /**
+     * Checks if the characters from start (inclusive) to end (exclusive) of the sequence
+     * are a key in the tree, without copying them.
+     * @param key sequence holding the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @return true if all the nodes of the key exist in the Trie and the last node is EOW.
+     */
+    public boolean contains(CharSequence key, int start, int end) {
+        Objects.checkFromToIndex(start, end, key.length());
+        return search(key, start, end, true);
     }
 
     /**
@@ -218,27 +897,101 @@ public class Trie<T> {
      * @return true if any key starts with or matches the prefix
      */
     public boolean startsWith(String prefix) {
-        return search(prefix, false);
+        return search(prefix, 0, prefix.length(), false);
     }
 
-    // ---
-    private boolean search(String key, boolean exact) {
-        TrieNode<T> currentNode = root;
-
-        for (char character : key.toCharArray()) {
-            currentNode = currentNode.child.get(character);
-
-            if (currentNode == null) {
-                return false;
-            }
-        }
-
-        return !exact || currentNode.isEndOfWord;
+    /**
+     * Checks if any keys in the tree start with the given prefix, reading it in place.
+     * @param prefix prefix to check for
+     * @return true if any key starts with or matches the prefix
+     */
+    public boolean startsWith(CharSequence prefix) {
+        return search(prefix, 0, prefix.length(), false);
     }
-    // ---
 
     /**
-     * Checks if the Trie is empty.
+     * Checks if any keys in the tree start with the characters from start (inclusive)
+     * to end (exclusive) of the sequence, without copying them.
+     * @param prefix sequence holding the prefix
+     * @param start index of the first character of the prefix
+     * @param end index after the last character of the prefix
+     * @return true if any key starts with or matches the prefix
+     */
+    public boolean startsWith(CharSequence prefix, int start, int end) {
+        Objects.checkFromToIndex(start, end, prefix.length());
+        return search(prefix, start, end, false);
+    }
+
+    // ---
+    private boolean search(CharSequence key, int start, int end, boolean exact) {
+        if (exact && bloomFilter != null && !mightContain(key, start, end)) return false;
+        TrieNode<T> currentNode = findNode(key, start, end);
+        return currentNode != null && (!exact || currentNode.isEndOfWord);
+    }
+
+    /**
+     * Folds a character for case-insensitive tries.
+     */
+    private char fold(char c) {
+        return ignoreCase ? foldCase(c) : c;
+    }
+
+    /**
+     * Folds every character of a key for case-insensitive tries.
+     */
+    private String foldKey(String key) {
+        return ignoreCase ? foldCase(key) : key;
+    }
+
+    /**
+     * Folds a character the way {@link String#equalsIgnoreCase} compares characters.
+     * Structures compiled from a case-insensitive Trie fold their input with this too.
+     */
+    static char foldCase(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    /**
+     * Folds every character of a key with {@link #foldCase(char)}.
+     */
+    static String foldCase(String key) {
+        char[] folded = new char[key.length()];
+        for (int i = 0; i < folded.length; i++) {
+            folded[i] = foldCase(key.charAt(i));
+        }
+        return new String(folded);
+    }
+
+    private void putInBloomFilter(CharSequence key, int start, int end) {
+        bloomFilter.putHash(bloomHash(key, start, end));
+    }
+
+    private boolean mightContain(CharSequence key, int start, int end) {
+        return bloomFilter.mightContainHash(bloomHash(key, start, end));
+    }
+
+    /**
+     * Hashes a key for the attached filter, folding characters like the node walk does.
+     */
+    private long bloomHash(CharSequence key, int start, int end) {
+        long hash = BloomFilter.hashStart();
+        for (int i = start; i < end; i++) {
+            hash = BloomFilter.hashStep(hash, fold(key.charAt(i)));
+        }
+        return hash;
+    }
+    // ---
+
+    /**
+     * Get the number of keys in the Trie, in O(1).
+     * @return number of keys
+     */
+    public int size() {
+        return root.keyCount;
+    }
+
+    /**
+     * Checks if the Trie is empty.
      * @return true if the root node has no children, else false.
      */
     public boolean isEmpty() {
@@ -249,7 +1002,14 @@ public class Trie<T> {
      * Clears the children of the root node.
      */
     public void clear() {
-        root.child.clear();
+        if (bloomFilter != null) {
+            bloomFilter.clear();
+            // the root keeps the empty key, so the filter must keep passing it
+            if (root.isEndOfWord) putInBloomFilter("", 0, 0);
+        }
+        root.clearChildren();
+        root.refreshBestScore();
+        root.refreshKeyCount();
     }
 
     /**
@@ -258,9 +1018,190 @@ public class Trie<T> {
      * @return true if the key was removed, false otherwise (including key does not exist)
      */
     public boolean remove(String key) {
-        return removeHelper(root, key, 0);
+        return removeHelper(root, key, 0, key.length());
+    }
+
+    /**
+     * Removes the given key from the Trie, reading it in place.
+     * @param key key to remove
+     * @return true if the key was removed, false otherwise (including key does not exist)
+     */
+    public boolean remove(CharSequence key) {
+        return removeHelper(root, key, 0, key.length());
+    }
+
+    /**
+     * Removes the key held in the characters from start (inclusive) to end (exclusive)
+     * of the sequence, reading it in place.
+     * @param key sequence holding the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @return true if the key was removed, false otherwise (including key does not exist)
+     */
+    public boolean remove(CharSequence key, int start, int end) {
+        Objects.checkFromToIndex(start, end, key.length());
+        return removeHelper(root, key, start, end);
+    }
+
+    /**
+     * Removes every key that starts with the prefix, including the prefix itself, by
+     * detaching its subtree. Only the nodes along the prefix are visited, however many
+     * keys are removed.
+     * @param prefix prefix of the keys to remove
+     * @return number of keys removed
+     */
+    public int removePrefix(String prefix) {
+        TrieNode<T>[] path = TrieNode.newNodeArray(prefix.length() + 1);
+        path[0] = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            path[i + 1] = path[i].getChild(fold(prefix.charAt(i)));
+            if (path[i + 1] == null) return 0;
+        }
+
+        TrieNode<T> subtree = path[prefix.length()];
+        int removed = subtree.keyCount;
+        if (removed == 0) return 0;
+
+        if (subtree == root) {
+            root.isEndOfWord = false;
+            root.value = null;
+            root.score = 0.0;
+            root.clearChildren();
+        } else {
+            path[prefix.length() - 1].removeChild(subtree.character);
+        }
+
+        // prune the nodes left without keys, then fix up the counts of the rest
+        int depth = prefix.length() - 1;
+        while (depth > 0 && !path[depth].isEndOfWord && path[depth].isEmpty()) {
+            path[depth - 1].removeChild(path[depth].character);
+            depth--;
+        }
+        for (int i = Math.max(depth, 0); i >= 0; i--) {
+            path[i].keyCount -= removed;
+            path[i].refreshBestScore();
+        }
+        return removed;
+    }
+
+    /**
+     * Adds every key of another Trie to this one, walking both trees together.
+     * <p>Keys only in the other Trie are copied with their value and score. For keys in
+     * both, the values are combined with the remapping function, as in
+     * {@link Map#merge(Object, Object, java.util.function.BiFunction)}, and the higher
+     * score is kept. Subtrees missing from this Trie are copied whole, so the cost follows
+     * the size of the other Trie, not the number of keys times their length. The other
+     * Trie is not changed and shares no nodes with this one afterwards.</p>
+     * @param other Trie to merge into this one
+     * @param remapping combines this Trie's value with the other's for keys in both
+     * @throws IllegalArgumentException if only one of the Tries ignores case
+     */
+    public void merge(Trie<T> other, BinaryOperator<T> remapping) {
+        requireSameCase(other);
+        Objects.requireNonNull(remapping);
+        mergeHelper(root, other.root, remapping);
+        if (bloomFilter != null) {
+            for (String key : other.keys("")) {
+                putInBloomFilter(key, 0, key.length());
+            }
+        }
+    }
+
+    /**
+     * Creates a Trie holding the keys of both Tries. For keys in both, the value and
+     * score of this Trie are kept.
+     * @param other Trie to combine with this one
+     * @return a new Trie with the keys of both, sharing no nodes with either
+     * @throws IllegalArgumentException if only one of the Tries ignores case
+     * @see #merge(Trie, BinaryOperator)
+     */
+    public Trie<T> union(Trie<T> other) {
+        requireSameCase(other);
+        Trie<T> union = new Trie<>(ignoreCase);
+        union.root = root.deepCopy();
+        union.mergeHelper(union.root, other.root, (mine, theirs) -> mine);
+        return union;
+    }
+
+    /**
+     * Creates a Trie holding the keys that are in both Tries, with the values and scores
+     * of this Trie. Only the branches present in both trees are walked.
+     * @param other Trie to intersect with this one
+     * @return a new Trie with the common keys, sharing no nodes with either
+     * @throws IllegalArgumentException if only one of the Tries ignores case
+     */
+    public Trie<T> intersect(Trie<T> other) {
+        requireSameCase(other);
+        Trie<T> intersection = new Trie<>(ignoreCase);
+        TrieNode<T> common = intersectHelper(root, other.root);
+        if (common != null) intersection.root = common;
+        return intersection;
+    }
+
+    // ---
+    private void requireSameCase(Trie<T> other) {
+        if (other.ignoreCase != ignoreCase) {
+            throw new IllegalArgumentException("Cannot combine a case-sensitive Trie with one that ignores case");
+        }
     }
 
+    /**
+     * Merges the source subtree into the target subtree, then refreshes the target's
+     * key count and best score.
+     */
+    private void mergeHelper(TrieNode<T> target, TrieNode<T> source, BinaryOperator<T> remapping) {
+        if (source.isEndOfWord) {
+            if (target.isEndOfWord) {
+                target.value = remapping.apply(target.value, source.value);
+                target.score = Math.max(target.score, source.score);
+            } else {
+                target.isEndOfWord = true;
+                target.value = source.value;
+                target.score = source.score;
+            }
+        }
+
+        TrieNode<T>[] sourceChildren = source.orderedChildren();
+        for (int i = 0, count = source.childCount; i < count; i++) {
+            TrieNode<T> sourceChild = sourceChildren[i];
+            TrieNode<T> targetChild = target.getChild(sourceChild.character);
+            if (targetChild == null) {
+                target.addChild(sourceChild.deepCopy());
+            } else {
+                mergeHelper(targetChild, sourceChild, remapping);
+            }
+        }
+        target.refreshKeyCount();
+        target.refreshBestScore();
+    }
+
+    /**
+     * Builds the common part of two subtrees.
+     * @return a new node with the keys under both, or null if they have none in common
+     */
+    private TrieNode<T> intersectHelper(TrieNode<T> mine, TrieNode<T> theirs) {
+        TrieNode<T> common = new TrieNode<>(mine.character);
+        if (mine.isEndOfWord && theirs.isEndOfWord) {
+            common.isEndOfWord = true;
+            common.value = mine.value;
+            common.score = mine.score;
+        }
+
+        TrieNode<T>[] children = mine.orderedChildren();
+        for (int i = 0, count = mine.childCount; i < count; i++) {
+            TrieNode<T> theirChild = theirs.getChild(children[i].character);
+            if (theirChild == null) continue;
+
+            TrieNode<T> commonChild = intersectHelper(children[i], theirChild);
+            if (commonChild != null) common.addChild(commonChild);
+        }
+
+        common.refreshKeyCount();
+        common.refreshBestScore();
+        return common.keyCount > 0 || mine == root ? common : null;
+    }
+    // ---
+
     /**
      * Removes all keys in a given list from the Trie
      * @param list list of keys to remove
@@ -282,32 +1223,35 @@ public class Trie<T> {
      * @param currentNode current node in the Trie
      * @param key key to remove
      * @param index current index in the key
-     * @return true if the current node should be deleted, false otherwise
+     * @param end index after the last character of the key
+     * @return true if the key was found and removed, false otherwise
      */
-    private boolean removeHelper(TrieNode<T> currentNode, String key, int index) {
-        if (index == key.length()) {
+    private boolean removeHelper(TrieNode<T> currentNode, CharSequence key, int index, int end) {
+        if (index == end) {
             if (!currentNode.isEndOfWord) {
                 return false; // key does not exist
             }
             currentNode.isEndOfWord = false;
-            // If node has no children, it can be deleted
-            return currentNode.isEmpty();
+            currentNode.value = null;
+            currentNode.score = 0.0;
+            currentNode.refreshBestScore();
+            currentNode.keyCount--;
+            return true;
         }
 
-        char character = key.charAt(index);
-        TrieNode<T> childNode = currentNode.child.get(character);
-        if (childNode == null) {
+        char character = fold(key.charAt(index));
+        TrieNode<T> childNode = currentNode.getChild(character);
+        if (childNode == null || !removeHelper(childNode, key, index + 1, end)) {
             return false; // key does not exist
         }
 
-        boolean shouldDeleteChild = removeHelper(childNode, key, index + 1);
-
-        if (shouldDeleteChild) {
-            currentNode.child.remove(character);
+        // Delete the child if it is not end of another word and has no children
+        if (!childNode.isEndOfWord && childNode.isEmpty()) {
+            currentNode.removeChild(character);
         }
-
-        // Return true if current node is not end of another word and has no children
-        return !currentNode.isEndOfWord && currentNode.isEmpty();
+        currentNode.refreshBestScore();
+        currentNode.keyCount--;
+        return true;
     }
     // ---
 
@@ -333,7 +1277,7 @@ public class Trie<T> {
 
     /**
      * List the keys in a Trie that match the prefix with a limit on the number of matches.
-     * Matches prefer the shortest keys first.
+     * Keys are listed in lexicographic order of their characters.
      *
      * @param prefix prefix to match
      * @param maxMatches maximum number of matches to return
@@ -343,44 +1287,493 @@ public class Trie<T> {
      */
     public List<String> listKeysMatching(String prefix, int maxMatches) {
         List<String> list = new ArrayList<>();
-        StringBuffer stringAssembler = new StringBuffer();
+        Iterator<String> keys = keys(prefix).iterator();
+
+        while (keys.hasNext() && (maxMatches == -1 || list.size() < maxMatches)) {
+            list.add(keys.next());
+        }
+        return list;
+    }
+
+    /**
+     * Count the keys in a Trie that start with the prefix, in O(|prefix|), without
+     * visiting them. Every node keeps the number of keys at or below it.
+     * @param prefix prefix to match
+     * @return number of keys that start with or match the prefix
+     */
+    public int countWithPrefix(String prefix) {
+        TrieNode<T> node = findNode(prefix, 0, prefix.length());
+        return node == null ? 0 : node.keyCount;
+    }
+
+    /**
+     * Get the position the key has or would have in the lexicographic order of the keys,
+     * i.e. the number of keys that sort before it. The key does not need to exist.
+     * <p>Together with {@link #keyAt(int)} this allows paging through the keys without
+     * listing them. Runs in O(|key|) steps, each summing the counts of the smaller
+     * siblings of the path.</p>
+     * @param key key to rank
+     * @return number of keys smaller than the key
+     */
+    public int rank(String key) {
+        TrieNode<T> currentNode = root;
+        int rank = 0;
+
+        for (int i = 0; i < key.length(); i++) {
+            char character = fold(key.charAt(i));
+            if (currentNode.isEndOfWord) rank++; // a proper prefix sorts first
+
+            TrieNode<T> next = null;
+            for (TrieNode<T> childNode : currentNode.childNodes) {
+                if (childNode == null) continue;
+                if (childNode.character < character) {
+                    rank += childNode.keyCount;
+                } else if (childNode.character == character) {
+                    next = childNode;
+                }
+            }
+            if (next == null) return rank;
+            currentNode = next;
+        }
+
+        return rank;
+    }
+
+    /**
+     * Get the key at the given position in the lexicographic order of the keys, without
+     * visiting the keys before it.
+     * @param index position of the key, from 0 to {@link #size()} - 1
+     * @return the key at the position
+     * @throws IndexOutOfBoundsException if the index is negative or not less than the size
+     * @see #rank(String)
+     */
+    public String keyAt(int index) {
+        Objects.checkIndex(index, root.keyCount);
+        StringBuilder stringAssembler = new StringBuilder();
         TrieNode<T> currentNode = root;
+        int remaining = index;
 
-        for (char character : prefix.toCharArray()) {
-            currentNode = currentNode.child.get(character);
+        while (true) {
+            if (currentNode.isEndOfWord) {
+                if (remaining == 0) return stringAssembler.toString();
+                remaining--;
+            }
 
-            if (currentNode == null) {
-                return list;
+            TrieNode<T>[] children = currentNode.orderedChildren();
+            for (int i = 0; i < currentNode.childCount; i++) {
+                if (remaining < children[i].keyCount) {
+                    currentNode = children[i];
+                    break;
+                }
+                remaining -= children[i].keyCount;
             }
+            stringAssembler.append(currentNode.character);
+        }
+    }
+
+    /**
+     * Lazily iterate the keys in a Trie that match the prefix, in lexicographic order of
+     * their characters. Keys are produced one at a time while iterating, so callers can
+     * stop early without the Trie building a list first.
+     * <p>The Trie must not be modified while iterating.</p>
+     *
+     * @param prefix prefix to match
+     * @return iterable over the matching keys
+     *
+     * @see #entries(String)
+     * @see #stream(String)
+     */
+    public Iterable<String> keys(String prefix) {
+        return () -> new Iterator<>() {
+            private final Iterator<Map.Entry<String, T>> entries = entries(prefix).iterator();
+
+            @Override
+            public boolean hasNext() {
+                return entries.hasNext();
+            }
+
+            @Override
+            public String next() {
+                return entries.next().getKey();
+            }
+        };
+    }
+
+    /**
+     * Lazily iterate the key-value pairs in a Trie whose keys match the prefix, in
+     * lexicographic order of their keys.
+     * <p>The Trie must not be modified while iterating.</p>
+     *
+     * @param prefix prefix to match
+     * @return iterable over the matching entries
+     *
+     * @see #keys(String)
+     * @see #stream(String)
+     */
+    public Iterable<Map.Entry<String, T>> entries(String prefix) {
+        return () -> Spliterators.iterator(spliterator(prefix));
+    }
+
+    /**
+     * Stream the key-value pairs in a Trie whose keys match the prefix, in lexicographic
+     * order of their keys. The stream is backed by a splittable {@link Spliterator}, so
+     * {@link Stream#parallel()} processes separate subtrees on separate threads.
+     * <p>The Trie must not be modified while the stream is in use.</p>
+     *
+     * @param prefix prefix to match
+     * @return stream of the matching entries
+     *
+     * @see #entries(String)
+     */
+    public Stream<Map.Entry<String, T>> stream(String prefix) {
+        return StreamSupport.stream(spliterator(prefix), false);
+    }
+
+    // ---
+    private Spliterator<Map.Entry<String, T>> spliterator(String prefix) {
+        TrieNode<T> node = findNode(prefix, 0, prefix.length());
+        return node != null ? new TrieSpliterator<>(node, foldKey(prefix)) : Spliterators.emptySpliterator();
+    }
+
+    /**
+     * Follows the key from the root.
+     * @return the node of the last character of the key, or null if it does not exist
+     */
+    private TrieNode<T> findNode(CharSequence key, int start, int end) {
+        TrieNode<T> currentNode = root;
+
+        for (int i = start; i < end && currentNode != null; i++) {
+            currentNode = currentNode.getChild(fold(key.charAt(i)));
+        }
+        return currentNode;
+    }
+    // ---
+
+    /**
+     * List the highest-scoring keys in a Trie that match the prefix, best first.
+     * <p>Every node caches the best score found below it, so the search expands the most
+     * promising subtree first and stops after {@code k} keys. Its cost depends on
+     * {@code k}, the prefix length and the fan-out of the visited nodes, not on the
+     * size of the matching subtree.</p>
+     *
+     * @param prefix prefix to match
+     * @param k maximum number of keys to return
+     * @return up to k matching keys, ordered by descending score
+     *
+     * @see #insert(String, Object, double)
+     */
+    public List<String> topKMatching(String prefix, int k) {
+        List<String> list = new ArrayList<>();
+        TrieNode<T> currentNode = findNode(prefix, 0, prefix.length());
+
+        if (currentNode == null) {
+            return list;
+        }
+        if (k <= 0 || currentNode.bestScore == Double.NEGATIVE_INFINITY) return list;
+
+        String keyPrefix = foldKey(prefix);
+        PriorityQueue<ScoredPath<T>> queue = new PriorityQueue<>();
+        queue.add(new ScoredPath<>(currentNode, null, false));
+        while (!queue.isEmpty() && list.size() < k) {
+            ScoredPath<T> path = queue.poll();
+            if (path.isKey) {
+                list.add(path.buildKey(keyPrefix));
+                continue;
+            }
+
+            TrieNode<T> node = path.node;
+            if (node.isEndOfWord) queue.add(new ScoredPath<>(node, path, true));
+            for (TrieNode<T> childNode : node.childNodes) {
+                if (childNode != null) queue.add(new ScoredPath<>(childNode, path, false));
+            }
+        }
+        return list;
+    }
+
+    // ---
+    /**
+     * Queue entry of {@link #topKMatching(String, int)}. Either a whole subtree, ranked by
+     * its best score, or the key ending at a node, ranked by that key's score.
+     */
+    private static final class ScoredPath<T> implements Comparable<ScoredPath<T>> {
+        final TrieNode<T> node;
+        final ScoredPath<T> parent;
+        final boolean isKey;
+        final double priority;
+
+        ScoredPath(TrieNode<T> node, ScoredPath<T> parent, boolean isKey) {
+            this.node = node;
+            this.parent = parent;
+            this.isKey = isKey;
+            this.priority = isKey ? node.score : node.bestScore;
+        }
+
+        @Override
+        public int compareTo(ScoredPath<T> other) {
+            int byPriority = Double.compare(other.priority, priority);
+            if (byPriority != 0) return byPriority;
+            return Boolean.compare(other.isKey, isKey); // keys before subtrees that tie
+        }
+
+        /**
+         * Rebuilds the key of a key entry from the chain of subtree entries leading to it.
+         * The first entry of the chain is the prefix node, which the prefix already covers.
+         */
+        private String buildKey(String prefix) {
+            StringBuilder stringAssembler = new StringBuilder();
+            for (ScoredPath<T> path = parent; path.parent != null; path = path.parent) {
+                stringAssembler.append(path.node.character);
+            }
+            return prefix + stringAssembler.reverse();
+        }
+    }
+    // ---
+
+    /**
+     * List the keys in a Trie within the given Levenshtein (edit) distance of the query,
+     * closest first. Useful for suggestions when the query contains typos.
+     * <p>The distance is computed incrementally along each trie path, one row of the
+     * edit-distance table per node, so keys sharing a prefix share that work. A branch
+     * is abandoned as soon as every entry of its row exceeds {@code maxEdits}, since no
+     * key below it can come closer.</p>
+     *
+     * @param query string to match against
+     * @param maxEdits maximum number of single-character insertions, deletions or substitutions
+     * @param limit maximum number of keys to return, -1 for no limit
+     * @return matching keys ordered by distance, then lexicographically
+     * @throws IllegalArgumentException if maxEdits is negative
+     */
+    public List<String> fuzzyMatches(String query, int maxEdits, int limit) {
+        if (maxEdits < 0) throw new IllegalArgumentException("Maximum edits is negative: " + maxEdits);
+
+        List<Map.Entry<String, Integer>> matches = new ArrayList<>();
+        int columns = query.length() + 1;
+        int[][] rows = new int[columns + maxEdits + 1][];
+        rows[0] = new int[columns];
+        for (int j = 0; j < columns; j++) {
+            rows[0][j] = j;
+        }
+
+        if (root.isEndOfWord && rows[0][columns - 1] <= maxEdits) {
+            matches.add(new AbstractMap.SimpleImmutableEntry<>("", rows[0][columns - 1]));
+        }
+        fuzzyHelper(root, foldKey(query), maxEdits, rows, 0, new StringBuilder(), matches);
+
+        matches.sort(Map.Entry.<String, Integer>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        List<String> list = new ArrayList<>();
+        for (Map.Entry<String, Integer> match : matches) {
+            if (limit != -1 && list.size() >= limit) break;
+            list.add(match.getKey());
+        }
+        return list;
+    }
+
+    // ---
+    /**
+     * Computes the next edit-distance row for every child of the node and descends into
+     * the children whose row can still lead to a match.
+     * @param rows one reusable row per depth, rows[depth] belongs to currentNode
+     */
+    private void fuzzyHelper(
+            TrieNode<T> currentNode, String query, int maxEdits,
+            int[][] rows, int depth, StringBuilder stringAssembler,
+            List<Map.Entry<String, Integer>> matches
+    ) {
+        int columns = query.length() + 1;
+        int[] previous = rows[depth];
+        if (rows[depth + 1] == null) rows[depth + 1] = new int[columns];
+        int[] row = rows[depth + 1];
+
+        for (TrieNode<T> childNode : currentNode.childNodes) {
+            if (childNode == null) continue;
+
+            char character = childNode.character;
+            row[0] = previous[0] + 1;
+            int rowMin = row[0];
+            for (int j = 1; j < columns; j++) {
+                int substitute = previous[j - 1] + (query.charAt(j - 1) == character ? 0 : 1);
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), substitute);
+                if (row[j] < rowMin) rowMin = row[j];
+            }
+            if (rowMin > maxEdits) continue; // nothing below can get back within range
 
             stringAssembler.append(character);
+            int distance = row[columns - 1];
+            if (childNode.isEndOfWord && distance <= maxEdits) {
+                matches.add(new AbstractMap.SimpleImmutableEntry<>(stringAssembler.toString(), distance));
+            }
+            // a path longer than query + maxEdits can't match, and its row would be pruned anyway
+            if (!childNode.isEmpty() && depth + 2 < rows.length) {
+                fuzzyHelper(childNode, query, maxEdits, rows, depth + 1, stringAssembler, matches);
+            }
+            stringAssembler.setLength(stringAssembler.length() - 1);
         }
+    }
+    // ---
 
-        listKeysHelper(currentNode, list, stringAssembler, maxMatches);
+    /**
+     * List the keys in a Trie that match a glob pattern.
+     *
+     * @param glob pattern to match
+     * @return List of all matching keys in the Trie
+     *
+     * @see #matchPattern(String, int)
+     */
+    public List<String> matchPattern(String glob) {
+        return matchPattern(glob, -1);
+    }
+
+    /**
+     * List the keys in a Trie that match a glob pattern with a limit on the number of matches.
+     * Keys are listed in lexicographic order.
+     * <p>In the pattern, {@code *} matches any sequence of characters, including none,
+     * {@code ?} matches exactly one character, and a backslash makes the next character
+     * literal. Every other character matches itself, so {@code Settings.*.title} matches
+     * {@code Settings.main.title}.</p>
+     * <p>The pattern is run as a small automaton alongside the traversal: each node carries
+     * the set of pattern positions it can be at, and a branch is dropped as soon as that set
+     * is empty. While no wildcard is active, only the children for the literal characters
+     * are looked up, so the cost follows the branches the pattern can reach.</p>
+     *
+     * @param glob pattern to match
+     * @param maxMatches maximum number of matches to return, -1 for no limit
+     * @return List of all matching keys in the Trie
+     * @throws IllegalArgumentException if the pattern ends with an unescaped backslash
+     *
+     * @see #matchPattern(String)
+     */
+    public List<String> matchPattern(String glob, int maxMatches) {
+        GlobPattern pattern = new GlobPattern(glob);
+        for (int i = 0; i < pattern.length; i++) {
+            if (pattern.kinds[i] == GlobPattern.LITERAL) pattern.characters[i] = fold(pattern.characters[i]);
+        }
+        List<String> list = new ArrayList<>();
+        BitSet positions = new BitSet(pattern.length + 1);
+        positions.set(0);
+        pattern.close(positions);
+        matchPatternHelper(root, pattern, positions, new StringBuilder(), list, maxMatches);
         return list;
     }
 
     // ---
-    private void listKeysHelper(
-            TrieNode<T> currentNode, List<String> list,
-            StringBuffer stringAssembler, int maxMatches
+    /**
+     * A glob pattern split into tokens: a literal character, {@code ?} or {@code *}.
+     */
+    private static final class GlobPattern {
+        private static final char LITERAL = 0;
+        private static final char ANY_ONE = 1;
+        private static final char ANY_SEQUENCE = 2;
+
+        final char[] kinds;
+        final char[] characters;
+        final int length;
+
+        GlobPattern(String glob) {
+            kinds = new char[glob.length()];
+            characters = new char[glob.length()];
+            int count = 0;
+            for (int i = 0; i < glob.length(); i++) {
+                char c = glob.charAt(i);
+                if (c == '\\') {
+                    if (++i == glob.length()) {
+                        throw new IllegalArgumentException("Pattern ends with an unescaped backslash: " + glob);
+                    }
+                    kinds[count] = LITERAL;
+                    characters[count++] = glob.charAt(i);
+                } else if (c == '*') {
+                    // consecutive stars match the same as one
+                    if (count == 0 || kinds[count - 1] != ANY_SEQUENCE) kinds[count++] = ANY_SEQUENCE;
+                } else {
+                    kinds[count] = c == '?' ? ANY_ONE : LITERAL;
+                    characters[count++] = c;
+                }
+            }
+            length = count;
+        }
+
+        /**
+         * Adds the positions reachable without reading a character, i.e. past each star.
+         */
+        void close(BitSet positions) {
+            for (int p = positions.nextSetBit(0); p >= 0 && p < length; p = positions.nextSetBit(p + 1)) {
+                if (kinds[p] == ANY_SEQUENCE) positions.set(p + 1);
+            }
+        }
+
+        /**
+         * @return the positions after reading the character from the given positions
+         */
+        BitSet step(BitSet positions, char c) {
+            BitSet next = new BitSet(length + 1);
+            for (int p = positions.nextSetBit(0); p >= 0 && p < length; p = positions.nextSetBit(p + 1)) {
+                if (kinds[p] == ANY_SEQUENCE) {
+                    next.set(p);
+                } else if (kinds[p] == ANY_ONE || characters[p] == c) {
+                    next.set(p + 1);
+                }
+            }
+            close(next);
+            return next;
+        }
+
+        /**
+         * @return true if any position is a wildcard, so every child has to be tried
+         */
+        boolean anyWildcard(BitSet positions) {
+            for (int p = positions.nextSetBit(0); p >= 0 && p < length; p = positions.nextSetBit(p + 1)) {
+                if (kinds[p] != LITERAL) return true;
+            }
+            return false;
+        }
+    }
+
+    private void matchPatternHelper(
+            TrieNode<T> currentNode, GlobPattern pattern, BitSet positions,
+            StringBuilder stringAssembler, List<String> list, int maxMatches
     ) {
-        if (currentNode.isEndOfWord) list.add(stringAssembler.toString());
+        if (currentNode.isEndOfWord && positions.get(pattern.length)) {
+            list.add(stringAssembler.toString());
+        }
+        if (currentNode.isEmpty()) return;
 
-        if ( currentNode.isEmpty() || (maxMatches != -1 && list.size() >= maxMatches) ) {
+        if (pattern.anyWildcard(positions)) {
+            TrieNode<T>[] children = currentNode.orderedChildren();
+            for (int i = 0; i < currentNode.childCount; i++) {
+                if (maxMatches != -1 && list.size() >= maxMatches) return;
+                matchPatternChild(children[i], pattern, positions, stringAssembler, list, maxMatches);
+            }
             return;
         }
 
-        for (TrieNode<T> childNode : currentNode.getChildren()) {
-            // branch into child nodes and append
-            listKeysHelper(
-                    childNode, list, stringAssembler.append(childNode.character),
-                    maxMatches
-            );
-            // reset to childless state before probing next child
-            stringAssembler.setLength(stringAssembler.length() - 1);
+        // only literals are active: look up just their characters, in order
+        char[] literals = new char[positions.cardinality()];
+        int count = 0;
+        for (int p = positions.nextSetBit(0); p >= 0 && p < pattern.length; p = positions.nextSetBit(p + 1)) {
+            literals[count++] = pattern.characters[p];
+        }
+        Arrays.sort(literals, 0, count);
+        for (int i = 0; i < count; i++) {
+            if (i > 0 && literals[i] == literals[i - 1]) continue;
+            if (maxMatches != -1 && list.size() >= maxMatches) return;
+
+            TrieNode<T> childNode = currentNode.getChild(literals[i]);
+            if (childNode != null) {
+                matchPatternChild(childNode, pattern, positions, stringAssembler, list, maxMatches);
+            }
         }
     }
+
+    private void matchPatternChild(
+            TrieNode<T> childNode, GlobPattern pattern, BitSet positions,
+            StringBuilder stringAssembler, List<String> list, int maxMatches
+    ) {
+        BitSet next = pattern.step(positions, childNode.character);
+        if (next.isEmpty()) return;
+
+        stringAssembler.append(childNode.character);
+        matchPatternHelper(childNode, pattern, next, stringAssembler, list, maxMatches);
+        stringAssembler.setLength(stringAssembler.length() - 1);
+    }
     // ---
 
     /**
@@ -389,12 +1782,31 @@ public class Trie<T> {
      * @return the value associated with the key
      */
     public T get(String key) {
-        TrieNode<T> currentNode = root;
-        for (char character : key.toCharArray()) {
-            currentNode = currentNode.child.get(character);
-            if (currentNode == null) return null;
-        }
-        return currentNode.isEndOfWord ? currentNode.value : null;
+        return get(key, 0, key.length());
+    }
+
+    /**
+     * Get the value of a key in the Trie, reading the key in place.
+     * @param key the key to search for
+     * @return the value associated with the key
+     */
+    public T get(CharSequence key) {
+        return get(key, 0, key.length());
+    }
+
+    /**
+     * Get the value of the key held in the characters from start (inclusive) to end
+     * (exclusive) of the sequence, reading it in place.
+     * @param key sequence holding the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @return the value associated with the key
+     */
+    public T get(CharSequence key, int start, int end) {
+        Objects.checkFromToIndex(start, end, key.length());
+        if (bloomFilter != null && !mightContain(key, start, end)) return null;
+        TrieNode<T> currentNode = findNode(key, start, end);
+        return currentNode != null && currentNode.isEndOfWord ? currentNode.value : null;
     }
 
     /**
@@ -404,14 +1816,39 @@ public class Trie<T> {
      * @return true if value was set, false otherwise (including value does not exist)
      */
     public boolean set(String key, T value) {
-        TrieNode<T> currentNode = root;
+        return setHelper(key, 0, key.length(), value);
+    }
+
+    /**
+     * Set the value for an existing key in the Trie, reading the key in place.
+     * @param key key to search for
+     * @param value value to set as
+     * @return true if value was set, false otherwise (including value does not exist)
+     */
+    public boolean set(CharSequence key, T value) {
+        return setHelper(key, 0, key.length(), value);
+    }
 
-        for (char character : key.toCharArray()) {
-            currentNode = currentNode.child.get(character);
+    /**
+     * Set the value for the existing key held in the characters from start (inclusive)
+     * to end (exclusive) of the sequence, reading it in place.
+     * @param key sequence holding the key
+     * @param start index of the first character of the key
+     * @param end index after the last character of the key
+     * @param value value to set as
+     * @return true if value was set, false otherwise (including value does not exist)
+     */
+    public boolean set(CharSequence key, int start, int end, T value) {
+        Objects.checkFromToIndex(start, end, key.length());
+        return setHelper(key, start, end, value);
+    }
 
-            if (currentNode == null) {
-                return false;
-            }
+    // ---
+    private boolean setHelper(CharSequence key, int start, int end, T value) {
+        TrieNode<T> currentNode = findNode(key, start, end);
+
+        if (currentNode == null) {
+            return false;
         }
 
         if (currentNode.isEndOfWord) {
@@ -420,6 +1857,141 @@ public class Trie<T> {
 
         return currentNode.isEndOfWord;
     }
+    // ---
+
+    /**
+     * Find the longest key in the Trie that is a prefix of the given key, as in routing
+     * table lookups. The key itself counts when it exists.
+     * @param key the key to match against
+     * @return the longest matching key, null if no key is a prefix of it
+     * @see #longestPrefixValue(String)
+     */
+    public String longestPrefixOf(String key) {
+        int length = longestPrefixLength(key);
+        return length == -1 ? null : foldKey(key.substring(0, length));
+    }
+
+    /**
+     * Get the value of the longest key in the Trie that is a prefix of the given key.
+     * @param key the key to match against
+     * @return the value associated with the longest matching key,
+     *         null if no key is a prefix of it
+     * @see #longestPrefixOf(String)
+     */
+    public T longestPrefixValue(String key) {
+        TrieNode<T> currentNode = root;
+        TrieNode<T> match = root.isEndOfWord ? root : null;
+
+        for (int i = 0; i < key.length(); i++) {
+            currentNode = currentNode.getChild(fold(key.charAt(i)));
+            if (currentNode == null) break;
+            if (currentNode.isEndOfWord) match = currentNode;
+        }
+
+        return match == null ? null : match.value;
+    }
+
+    // ---
+    /**
+     * @return length of the longest key that is a prefix of the given key, or -1
+     */
+    private int longestPrefixLength(String key) {
+        TrieNode<T> currentNode = root;
+        int length = root.isEndOfWord ? 0 : -1;
+
+        for (int i = 0; i < key.length(); i++) {
+            currentNode = currentNode.getChild(fold(key.charAt(i)));
+            if (currentNode == null) break;
+            if (currentNode.isEndOfWord) length = i + 1;
+        }
+
+        return length;
+    }
+    // ---
+
+    /**
+     * Compile the current contents into an immutable double-array trie.
+     * <p>The returned {@link FrozenTrie} answers lookups with array indexing only and
+     * can be shared between threads without synchronization. Later changes to this
+     * Trie are not reflected in it. It ignores case if this Trie does.</p>
+     * @return a frozen copy of this Trie
+     * @see FrozenTrie
+     */
+    public FrozenTrie<T> freeze() {
+        return new FrozenTrie<>(root, ignoreCase);
+    }
+
+    /**
+     * Get a {@link NavigableMap} view of this Trie, with keys in lexicographic order.
+     * <p>The view reads and writes through to this Trie, and computes its navigation
+     * and range views by descending the Trie instead of scanning the keys.</p>
+     * @return a sorted map view of this Trie
+     * @see TrieMap
+     */
+    public NavigableMap<String, T> asNavigableMap() {
+        return new TrieMap<>(this);
+    }
+
+    /**
+     * Gather the node count, key count, depths, fan-out histogram, estimated footprint
+     * and single-child share of this Trie in one traversal.
+     * @return a snapshot of the statistics
+     * @see TrieStats
+     */
+    public TrieStats stats() {
+        return TrieStats.of(root);
+    }
+
+    /**
+     * Get a JMX management bean reporting on this Trie, ready to be registered with an
+     * MBean server.
+     * @return a management bean backed by this Trie
+     * @see TrieMXBean
+     */
+    public TrieMXBean mxBean() {
+        return new TrieMXBean() {
+            @Override
+            public int getKeyCount() {
+                return size();
+            }
+
+            @Override
+            public boolean isIgnoreCase() {
+                return ignoreCase;
+            }
+
+            @Override
+            public TrieStats getStats() {
+                return stats();
+            }
+        };
+    }
+
+    /**
+     * Build an Aho-Corasick automaton from the current keys, to find all of them in a
+     * text in a single pass.
+     * <p>Later changes to this Trie are not reflected in the returned matcher. It ignores
+     * case in the text if this Trie ignores case.</p>
+     * @return a matcher for the current keys and values
+     * @see AhoCorasick
+     */
+    public AhoCorasick<T> matcher() {
+        return new AhoCorasick<>(root, ignoreCase);
+    }
+
+    /**
+     * Write the current contents to a file that {@link MappedTrie} can map into memory.
+     * <p>Opening the file with {@link MappedTrie#open(Path, TrieValueCodec)} is much
+     * faster than rebuilding the Trie, since no nodes are created on the heap. The file
+     * records whether this Trie ignores case, and the MappedTrie matches keys the same way.</p>
+     * @param file file to write, replaced if it exists
+     * @param codec codec used to encode the values
+     * @throws IOException if the file cannot be written
+     * @see MappedTrie
+     */
+    public void writeTo(Path file, TrieValueCodec<T> codec) throws IOException {
+        MappedTrie.write(root, ignoreCase, file, codec);
+    }
 
     /**
      * Flatten the trie to a map.
@@ -427,10 +1999,9 @@ public class Trie<T> {
      */
     public Map<String,T> getTrieAsMap() {
         Map<String,T> map = new HashMap<>();
-        List<String> keys = listKeys();
 
-        for (String key : keys) {
-            map.put(key, get(key));
+        for (Map.Entry<String, T> entry : entries("")) {
+            map.put(entry.getKey(), entry.getValue());
         }
 
         return map;
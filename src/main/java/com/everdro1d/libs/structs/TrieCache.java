@@ -0,0 +1,450 @@
+// dro1dDev - created: 2026-10-16
+
+/* Reference materials:
+ * https://en.wikipedia.org/wiki/Cache_replacement_policies#Least_recently_used_(LRU)
+ * https://github.com/ben-manes/caffeine/wiki/Design
+ */
+
+package com.everdro1d.libs.structs;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongBiFunction;
+
+/**
+ * A bounded cache keyed by strings, stored in a {@link Trie} so that every entry under a
+ * path prefix can be invalidated at once.
+ * <p>The cache can be bounded by entry count, by total weight, or both. When a bound is
+ * exceeded, the least recently used entries are evicted. Entries can also expire a fixed
+ * time after they were written or last read. Each entry is linked into a doubly linked
+ * list in access order, and into one in write order when write expiry is used. The links
+ * live in the entries themselves, so recording an access, evicting the eldest entry and
+ * expiring entries are all O(1) pointer updates.</p>
+ * <p>{@link #invalidatePrefix(String)} removes every key under a prefix, such as all cached
+ * results below a directory, by detaching the subtree from the Trie. It only visits the
+ * entries it removes.</p>
+ * <p>All methods are synchronized on the cache. Loaders passed to
+ * {@link #get(String, Function)} run outside the lock, so a slow load does not block
+ * other readers, but two threads missing the same key at once may both load it.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * TrieCache&lt;Metadata&gt; cache = new TrieCache.Builder&lt;Metadata&gt;()
+ *         .maximumSize(10_000)
+ *         .expireAfterWrite(Duration.ofMinutes(5))
+ *         .build();
+ *
+ * Metadata metadata = cache.get(path, this::readMetadata);
+ * cache.invalidatePrefix("/tmp/");
+ * </pre></blockquote>
+ *
+ * @param <V> the type of cached values
+ * @see Trie
+ */
+public final class TrieCache<V> {
+    private static final long UNBOUNDED = Long.MAX_VALUE;
+    private static final long NO_EXPIRY = -1;
+
+    /**
+     * A cached value, linked into the access list and, when write expiry is used, the
+     * write list. Sentinels of both lists are entries without a key.
+     */
+    private static final class Entry<V> {
+        final String key;
+        V value;
+        long weight;
+        long accessTime;
+        long writeTime;
+
+        Entry<V> accessPrevious;
+        Entry<V> accessNext;
+        Entry<V> writePrevious;
+        Entry<V> writeNext;
+
+        Entry(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Builds a {@link TrieCache}. Without any bound or expiry the cache never evicts.
+     * @param <V> the type of cached values
+     */
+    public static final class Builder<V> {
+        private long maximumSize = UNBOUNDED;
+        private long maximumWeight = UNBOUNDED;
+        private ToLongBiFunction<String, ? super V> weigher;
+        private long expireAfterAccessNanos = NO_EXPIRY;
+        private long expireAfterWriteNanos = NO_EXPIRY;
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Creates a Builder for an unbounded cache.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Bound the number of entries.
+         * @param maximumSize maximum number of entries
+         * @return this builder
+         * @throws IllegalArgumentException if the size is negative
+         */
+        public Builder<V> maximumSize(long maximumSize) {
+            if (maximumSize < 0) throw new IllegalArgumentException("Maximum size is negative: " + maximumSize);
+            this.maximumSize = maximumSize;
+            return this;
+        }
+
+        /**
+         * Bound the total weight of the entries.
+         * @param maximumWeight maximum total weight
+         * @param weigher computes the weight of an entry when it is written, must not be negative
+         * @return this builder
+         * @throws IllegalArgumentException if the weight is negative
+         */
+        public Builder<V> maximumWeight(long maximumWeight, ToLongBiFunction<String, ? super V> weigher) {
+            if (maximumWeight < 0) throw new IllegalArgumentException("Maximum weight is negative: " + maximumWeight);
+            this.maximumWeight = maximumWeight;
+            this.weigher = Objects.requireNonNull(weigher);
+            return this;
+        }
+
+        /**
+         * Expire entries a fixed time after they were last written or read.
+         * @param duration time an entry stays cached without being used
+         * @return this builder
+         * @throws IllegalArgumentException if the duration is negative
+         */
+        public Builder<V> expireAfterAccess(Duration duration) {
+            this.expireAfterAccessNanos = toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Expire entries a fixed time after they were last written.
+         * @param duration time an entry stays cached after being written
+         * @return this builder
+         * @throws IllegalArgumentException if the duration is negative
+         */
+        public Builder<V> expireAfterWrite(Duration duration) {
+            this.expireAfterWriteNanos = toNanos(duration);
+            return this;
+        }
+
+        /**
+         * Set the time source for expiry, {@link System#nanoTime()} by default.
+         * @param ticker returns the current time in nanoseconds
+         * @return this builder
+         */
+        public Builder<V> ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker);
+            return this;
+        }
+
+        /**
+         * Creates the cache.
+         * @return a new empty cache
+         */
+        public TrieCache<V> build() {
+            return new TrieCache<>(this);
+        }
+
+        private static long toNanos(Duration duration) {
+            if (duration.isNegative()) throw new IllegalArgumentException("Duration is negative: " + duration);
+            return duration.toNanos();
+        }
+    }
+
+    private final Trie<Entry<V>> trie = new Trie<>();
+
+    /**
+     * Sentinel of the access list: {@code accessNext} is the most recently used entry,
+     * {@code accessPrevious} the least recently used.
+     */
+    private final Entry<V> accessOrder = new Entry<>(null);
+
+    /**
+     * Sentinel of the write list: {@code writePrevious} is the oldest write.
+     */
+    private final Entry<V> writeOrder = new Entry<>(null);
+
+    private final long maximumSize;
+    private final long maximumWeight;
+    private final ToLongBiFunction<String, ? super V> weigher;
+    private final long expireAfterAccessNanos;
+    private final long expireAfterWriteNanos;
+    private final LongSupplier ticker;
+
+    private int size;
+    private long weight;
+    private long hitCount;
+    private long missCount;
+    private long evictionCount;
+
+    private TrieCache(Builder<V> builder) {
+        maximumSize = builder.maximumSize;
+        maximumWeight = builder.maximumWeight;
+        weigher = builder.weigher;
+        expireAfterAccessNanos = builder.expireAfterAccessNanos;
+        expireAfterWriteNanos = builder.expireAfterWriteNanos;
+        ticker = builder.ticker;
+
+        accessOrder.accessPrevious = accessOrder.accessNext = accessOrder;
+        writeOrder.writePrevious = writeOrder.writeNext = writeOrder;
+    }
+
+    /**
+     * Get the cached value of a key and mark it as recently used.
+     * @param key key to look up
+     * @return the cached value, or null if the key is not cached or has expired
+     */
+    public synchronized V get(String key) {
+        long now = ticker.getAsLong();
+        expire(now);
+
+        Entry<V> entry = trie.get(key);
+        if (entry == null || isExpired(entry, now)) {
+            if (entry != null) evict(entry);
+            missCount++;
+            return null;
+        }
+
+        hitCount++;
+        entry.accessTime = now;
+        unlinkAccess(entry);
+        linkAccessFirst(entry);
+        return entry.value;
+    }
+
+    /**
+     * Get the cached value of a key, loading and caching it if it is missing.
+     * @param key key to look up
+     * @param loader computes the value of a missing key; a null result is not cached
+     * @return the cached or loaded value
+     */
+    public V get(String key, Function<String, ? extends V> loader) {
+        V value = get(key);
+        if (value != null) return value;
+
+        value = loader.apply(key);
+        if (value != null) put(key, value);
+        return value;
+    }
+
+    /**
+     * Check if a key is cached, without marking it as used or counting a hit or miss.
+     * @param key key to check for
+     * @return true if the key is cached and has not expired
+     */
+    public synchronized boolean containsKey(String key) {
+        Entry<V> entry = trie.get(key);
+        return entry != null && !isExpired(entry, ticker.getAsLong());
+    }
+
+    /**
+     * Cache a value, replacing any previous value of the key, then evict the least
+     * recently used entries while a bound is exceeded.
+     * @param key key to cache the value under
+     * @param value value to cache
+     * @throws NullPointerException if the value is null
+     * @throws IllegalArgumentException if the weigher returns a negative weight
+     */
+    public synchronized void put(String key, V value) {
+        Objects.requireNonNull(value);
+        long entryWeight = weigher == null ? 1 : weigher.applyAsLong(key, value);
+        if (entryWeight < 0) throw new IllegalArgumentException("Negative weight for key: " + key);
+        long now = ticker.getAsLong();
+
+        Entry<V> entry = trie.get(key);
+        if (entry == null) {
+            entry = new Entry<>(key);
+            trie.insert(key, entry);
+            size++;
+        } else {
+            unlinkAccess(entry);
+            if (expireAfterWriteNanos != NO_EXPIRY) unlinkWrite(entry);
+            weight -= entry.weight;
+        }
+
+        entry.value = value;
+        entry.weight = entryWeight;
+        entry.accessTime = entry.writeTime = now;
+        weight += entry.weight;
+        linkAccessFirst(entry);
+        if (expireAfterWriteNanos != NO_EXPIRY) linkWriteFirst(entry);
+
+        expire(now);
+        while (size > maximumSize || (weigher != null && weight > maximumWeight)) {
+            evict(accessOrder.accessPrevious);
+        }
+    }
+
+    /**
+     * Remove a key from the cache.
+     * @param key key to remove
+     * @return the value that was cached, or null if the key was not cached
+     */
+    public synchronized V invalidate(String key) {
+        Entry<V> entry = trie.get(key);
+        if (entry == null) return null;
+
+        trie.remove(key);
+        unlink(entry);
+        return entry.value;
+    }
+
+    /**
+     * Remove every key that starts with the prefix, including the prefix itself.
+     * @param prefix prefix of the keys to remove, such as a directory path
+     * @return number of entries removed
+     */
+    public synchronized int invalidatePrefix(String prefix) {
+        for (Map.Entry<String, Entry<V>> cached : trie.entries(prefix)) {
+            unlink(cached.getValue());
+        }
+        return trie.removePrefix(prefix);
+    }
+
+    /**
+     * Remove every key from the cache. The counters are kept.
+     */
+    public synchronized void invalidateAll() {
+        trie.removePrefix("");
+        accessOrder.accessPrevious = accessOrder.accessNext = accessOrder;
+        writeOrder.writePrevious = writeOrder.writeNext = writeOrder;
+        size = 0;
+        weight = 0;
+    }
+
+    /**
+     * Get the number of cached entries, including expired entries not yet removed.
+     * @return number of entries
+     */
+    public synchronized int size() {
+        return size;
+    }
+
+    /**
+     * Get the total weight of the cached entries, or their number without a weigher.
+     * @return total weight
+     */
+    public synchronized long weight() {
+        return weight;
+    }
+
+    /**
+     * Get the number of lookups that found a cached value.
+     * @return hit count
+     */
+    public synchronized long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Get the number of lookups that found no cached value.
+     * @return miss count
+     */
+    public synchronized long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Get the number of entries removed by a bound or by expiry, not counting
+     * invalidated or replaced entries.
+     * @return eviction count
+     */
+    public synchronized long getEvictionCount() {
+        return evictionCount;
+    }
+
+    /**
+     * Get the share of lookups that found a cached value.
+     * @return hit rate between 0 and 1, or 1 if there were no lookups
+     */
+    public synchronized double getHitRate() {
+        long lookups = hitCount + missCount;
+        return lookups == 0 ? 1.0 : (double) hitCount / lookups;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return "TrieCache{size=" + size
+                + ", weight=" + weight
+                + ", hits=" + hitCount
+                + ", misses=" + missCount
+                + ", evictions=" + evictionCount
+                + '}';
+    }
+
+    // ---
+    private boolean isExpired(Entry<V> entry, long now) {
+        return (expireAfterAccessNanos != NO_EXPIRY && now - entry.accessTime >= expireAfterAccessNanos)
+                || (expireAfterWriteNanos != NO_EXPIRY && now - entry.writeTime >= expireAfterWriteNanos);
+    }
+
+    /**
+     * Evicts expired entries from the old ends of the lists. Each list is ordered by the
+     * time its expiry depends on, so the sweep stops at the first live entry.
+     */
+    private void expire(long now) {
+        if (expireAfterAccessNanos != NO_EXPIRY) {
+            while (accessOrder.accessPrevious != accessOrder
+                    && now - accessOrder.accessPrevious.accessTime >= expireAfterAccessNanos) {
+                evict(accessOrder.accessPrevious);
+            }
+        }
+        if (expireAfterWriteNanos != NO_EXPIRY) {
+            while (writeOrder.writePrevious != writeOrder
+                    && now - writeOrder.writePrevious.writeTime >= expireAfterWriteNanos) {
+                evict(writeOrder.writePrevious);
+            }
+        }
+    }
+
+    private void evict(Entry<V> entry) {
+        trie.remove(entry.key);
+        unlink(entry);
+        evictionCount++;
+    }
+
+    /**
+     * Takes an entry out of both lists and the size and weight totals.
+     */
+    private void unlink(Entry<V> entry) {
+        unlinkAccess(entry);
+        if (expireAfterWriteNanos != NO_EXPIRY) unlinkWrite(entry);
+        size--;
+        weight -= entry.weight;
+    }
+
+    private void linkAccessFirst(Entry<V> entry) {
+        entry.accessPrevious = accessOrder;
+        entry.accessNext = accessOrder.accessNext;
+        accessOrder.accessNext.accessPrevious = entry;
+        accessOrder.accessNext = entry;
+    }
+
+    private void unlinkAccess(Entry<V> entry) {
+        entry.accessPrevious.accessNext = entry.accessNext;
+        entry.accessNext.accessPrevious = entry.accessPrevious;
+        entry.accessPrevious = entry.accessNext = null;
+    }
+
+    private void linkWriteFirst(Entry<V> entry) {
+        entry.writePrevious = writeOrder;
+        entry.writeNext = writeOrder.writeNext;
+        writeOrder.writeNext.writePrevious = entry;
+        writeOrder.writeNext = entry;
+    }
+
+    private void unlinkWrite(Entry<V> entry) {
+        entry.writePrevious.writeNext = entry.writeNext;
+        entry.writeNext.writePrevious = entry.writePrevious;
+        entry.writePrevious = entry.writeNext = null;
+    }
+    // ---
+
+}
@@ -0,0 +1,41 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+/**
+ * Management interface of a {@link Trie}, for watching its size and footprint from JMX
+ * tools such as JConsole or VisualVM.
+ * <p>Get an instance with {@link Trie#mxBean()} and register it under a name of your
+ * choosing. The {@code Stats} attribute is recomputed on every read, with one traversal
+ * of the Trie; {@code KeyCount} is kept up to date and is cheap to poll.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * ManagementFactory.getPlatformMBeanServer().registerMBean(
+ *         dictionary.mxBean(),
+ *         new ObjectName("com.example:type=Trie,name=dictionary"));
+ * </pre></blockquote>
+ *
+ * @see Trie#mxBean()
+ * @see TrieStats
+ */
+public interface TrieMXBean {
+
+    /**
+     * Get the number of keys in the Trie.
+     * @return number of keys
+     */
+    int getKeyCount();
+
+    /**
+     * Check whether the Trie matches keys regardless of case.
+     * @return true if the Trie ignores case
+     */
+    boolean isIgnoreCase();
+
+    /**
+     * Gather the current shape and memory statistics of the Trie.
+     * @return a new snapshot of the statistics
+     */
+    TrieStats getStats();
+}
@@ -0,0 +1,763 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.*;
+
+/**
+ * A {@link NavigableMap} view of a {@link Trie}, so a Trie can replace a {@link TreeMap}
+ * keyed by strings instead of being kept next to one.
+ * <p>The Trie's children are visited in character order, which is the natural order of
+ * {@link String}, so no comparator is needed. Navigation and range views are computed by
+ * descending the Trie with its per-node key counts ({@link Trie#rank(String)}): a
+ * {@link #subMap} knows its size and its first key in O(|key|) steps without scanning, and
+ * its iterators start at the first key of the range directly.</p>
+ * <p>The map reads and writes through to the Trie. Like {@link TreeMap}, null keys are
+ * rejected and null values are allowed; a key inserted into the Trie without a value maps
+ * to null. The Trie must not be modified while iterating, except through the iterator.</p>
+ * <p>A view of a case-insensitive Trie orders and bounds its keys by their folded form,
+ * the same form the Trie stores, and reports that order through {@link #comparator()}.</p>
+ *
+ * <p><strong>Usage example:</strong></p>
+ * <blockquote><pre>
+ * TrieMap&lt;Integer&gt; map = new TrieMap&lt;&gt;();
+ * map.put("apple", 1);
+ * map.put("banana", 2);
+ *
+ * map.ceilingKey("b");                    // "banana"
+ * map.subMap("a", "b").size();            // 1
+ * map.descendingMap().firstKey();         // "banana"
+ * </pre></blockquote>
+ *
+ * @param <T> the type of value stored in the Trie
+ * @see Trie#asNavigableMap()
+ */
+public class TrieMap<T> extends AbstractMap<String, T> implements NavigableMap<String, T> {
+
+    private static final Comparator<String> FOLDED_ORDER =
+            (a, b) -> Trie.foldCase(a).compareTo(Trie.foldCase(b));
+
+    private final Trie<T> trie;
+
+    /**
+     * Range of the view in ascending order, null bounds are open.
+     */
+    private final String low;
+    private final boolean lowInclusive;
+    private final String high;
+    private final boolean highInclusive;
+
+    /**
+     * Whether the view iterates and navigates in descending order.
+     */
+    private final boolean descending;
+
+    /**
+     * Creates a map backed by a new, empty Trie.
+     */
+    public TrieMap() {
+        this(new Trie<>());
+    }
+
+    /**
+     * Creates a map view of the given Trie. Changes to either are visible in the other.
+     * @param trie trie to view
+     */
+    public TrieMap(Trie<T> trie) {
+        this(trie, null, false, null, false, false);
+    }
+
+    private TrieMap(
+            Trie<T> trie, String low, boolean lowInclusive,
+            String high, boolean highInclusive, boolean descending
+    ) {
+        this.trie = trie;
+        this.low = low;
+        this.lowInclusive = lowInclusive;
+        this.high = high;
+        this.highInclusive = highInclusive;
+        this.descending = descending;
+    }
+
+    // Map
+
+    @Override
+    public int size() {
+        return Math.max(0, endIndex() - startIndex());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        String k = (String) Objects.requireNonNull(key);
+        return inRange(k) && trie.contains(k);
+    }
+
+    @Override
+    public T get(Object key) {
+        String k = (String) Objects.requireNonNull(key);
+        return inRange(k) ? trie.get(k) : null;
+    }
+
+    @Override
+    public T put(String key, T value) {
+        Objects.requireNonNull(key);
+        if (!inRange(key)) throw new IllegalArgumentException("key out of range: " + key);
+
+        T previous = trie.get(key);
+        trie.insert(key, value);
+        return previous;
+    }
+
+    @Override
+    public T remove(Object key) {
+        String k = (String) Objects.requireNonNull(key);
+        if (!inRange(k) || !trie.contains(k)) return null;
+
+        T previous = trie.get(k);
+        trie.remove(k);
+        return previous;
+    }
+
+    @Override
+    public void clear() {
+        if (low == null && high == null) {
+            trie.clear();
+            trie.remove(""); // clear() keeps the root, which may end the empty key
+        } else {
+            for (Iterator<Entry<String, T>> entries = entrySet().iterator(); entries.hasNext(); ) {
+                entries.next();
+                entries.remove();
+            }
+        }
+    }
+
+    @Override
+    public Set<Entry<String, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, T>> iterator() {
+                return new RangeIterator<>(descending) {
+                    @Override
+                    Entry<String, T> element(String key, Trie.TrieNode<T> node) {
+                        return new TrieEntry(key, node.value);
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return TrieMap.this.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                if (!(o instanceof Map.Entry<?, ?> entry) || !(entry.getKey() instanceof String key)) return false;
+                return containsKey(key) && Objects.equals(trie.get(key), entry.getValue());
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                if (!contains(o)) return false;
+                trie.remove((String) ((Map.Entry<?, ?>) o).getKey());
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                TrieMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return navigableKeySet();
+    }
+
+    // SortedMap
+
+    /**
+     * @return null for the natural order of the keys, the order of their folded form if
+     *         the Trie ignores case, or the reverse of either for a descending view
+     */
+    @Override
+    public Comparator<? super String> comparator() {
+        if (trie.isIgnoreCase()) return descending ? FOLDED_ORDER.reversed() : FOLDED_ORDER;
+        return descending ? Collections.reverseOrder() : null;
+    }
+
+    @Override
+    public String firstKey() {
+        return key(firstEntry());
+    }
+
+    @Override
+    public String lastKey() {
+        return key(lastEntry());
+    }
+
+    @Override
+    public SortedMap<String, T> subMap(String fromKey, String toKey) {
+        return subMap(fromKey, true, toKey, false);
+    }
+
+    @Override
+    public SortedMap<String, T> headMap(String toKey) {
+        return headMap(toKey, false);
+    }
+
+    @Override
+    public SortedMap<String, T> tailMap(String fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    // NavigableMap
+
+    @Override
+    public Entry<String, T> firstEntry() {
+        return isEmpty() ? null : entryAt(descending ? endIndex() - 1 : startIndex());
+    }
+
+    @Override
+    public Entry<String, T> lastEntry() {
+        return isEmpty() ? null : entryAt(descending ? startIndex() : endIndex() - 1);
+    }
+
+    @Override
+    public Entry<String, T> pollFirstEntry() {
+        return poll(firstEntry());
+    }
+
+    @Override
+    public Entry<String, T> pollLastEntry() {
+        return poll(lastEntry());
+    }
+
+    @Override
+    public Entry<String, T> lowerEntry(String key) {
+        return descending ? absHigher(key) : absLower(key);
+    }
+
+    @Override
+    public String lowerKey(String key) {
+        return keyOrNull(lowerEntry(key));
+    }
+
+    @Override
+    public Entry<String, T> floorEntry(String key) {
+        return descending ? absCeiling(key) : absFloor(key);
+    }
+
+    @Override
+    public String floorKey(String key) {
+        return keyOrNull(floorEntry(key));
+    }
+
+    @Override
+    public Entry<String, T> ceilingEntry(String key) {
+        return descending ? absFloor(key) : absCeiling(key);
+    }
+
+    @Override
+    public String ceilingKey(String key) {
+        return keyOrNull(ceilingEntry(key));
+    }
+
+    @Override
+    public Entry<String, T> higherEntry(String key) {
+        return descending ? absLower(key) : absHigher(key);
+    }
+
+    @Override
+    public String higherKey(String key) {
+        return keyOrNull(higherEntry(key));
+    }
+
+    @Override
+    public NavigableMap<String, T> descendingMap() {
+        return new TrieMap<>(trie, low, lowInclusive, high, highInclusive, !descending);
+    }
+
+    @Override
+    public NavigableSet<String> navigableKeySet() {
+        return new KeySet(this);
+    }
+
+    @Override
+    public NavigableSet<String> descendingKeySet() {
+        return new KeySet(descendingMap());
+    }
+
+    @Override
+    public NavigableMap<String, T> subMap(String fromKey, boolean fromInclusive, String toKey, boolean toInclusive) {
+        Objects.requireNonNull(fromKey);
+        Objects.requireNonNull(toKey);
+        if (descending ? compare(fromKey, toKey) < 0 : compare(fromKey, toKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return descending
+                ? bounded(toKey, toInclusive, fromKey, fromInclusive)
+                : bounded(fromKey, fromInclusive, toKey, toInclusive);
+    }
+
+    @Override
+    public NavigableMap<String, T> headMap(String toKey, boolean inclusive) {
+        Objects.requireNonNull(toKey);
+        return descending
+                ? bounded(toKey, inclusive, null, false)
+                : bounded(null, false, toKey, inclusive);
+    }
+
+    @Override
+    public NavigableMap<String, T> tailMap(String fromKey, boolean inclusive) {
+        Objects.requireNonNull(fromKey);
+        return descending
+                ? bounded(null, false, fromKey, inclusive)
+                : bounded(fromKey, inclusive, null, false);
+    }
+
+    // ---
+    /**
+     * Narrows this view to the given ascending bounds, null for unchanged.
+     * @throws IllegalArgumentException if a bound lies outside this view
+     */
+    private TrieMap<T> bounded(String newLow, boolean newLowInclusive, String newHigh, boolean newHighInclusive) {
+        if (newLow == null) {
+            newLow = low;
+            newLowInclusive = lowInclusive;
+        } else if (!inRange(newLow, newLowInclusive)) {
+            throw new IllegalArgumentException("fromKey out of range: " + newLow);
+        }
+
+        if (newHigh == null) {
+            newHigh = high;
+            newHighInclusive = highInclusive;
+        } else if (!inRange(newHigh, newHighInclusive)) {
+            throw new IllegalArgumentException("toKey out of range: " + newHigh);
+        }
+
+        return new TrieMap<>(trie, newLow, newLowInclusive, newHigh, newHighInclusive, descending);
+    }
+
+    private boolean tooLow(String key) {
+        if (low == null) return false;
+        int order = compare(key, low);
+        return order < 0 || (order == 0 && !lowInclusive);
+    }
+
+    private boolean tooHigh(String key) {
+        if (high == null) return false;
+        int order = compare(key, high);
+        return order > 0 || (order == 0 && !highInclusive);
+    }
+
+    private boolean inRange(String key) {
+        return !tooLow(key) && !tooHigh(key);
+    }
+
+    /**
+     * Checks a new bound: an exclusive bound may also sit on an exclusive bound of this view.
+     */
+    private boolean inRange(String key, boolean inclusive) {
+        if (inclusive) return inRange(key);
+        return (low == null || compare(key, low) >= 0) && (high == null || compare(key, high) <= 0);
+    }
+
+    /**
+     * Compares keys in the order the Trie stores them, folding case if it ignores case.
+     */
+    private int compare(String a, String b) {
+        return trie.isIgnoreCase() ? FOLDED_ORDER.compare(a, b) : a.compareTo(b);
+    }
+
+    /**
+     * @return index in the whole Trie of the first key of the range, in ascending order
+     */
+    private int startIndex() {
+        if (low == null) return 0;
+        return lowInclusive ? trie.rank(low) : rankAfter(low);
+    }
+
+    /**
+     * @return index in the whole Trie after the last key of the range, in ascending order
+     */
+    private int endIndex() {
+        if (high == null) return trie.size();
+        return highInclusive ? rankAfter(high) : trie.rank(high);
+    }
+
+    /**
+     * @return number of keys less than or equal to the key
+     */
+    private int rankAfter(String key) {
+        return trie.rank(key) + (trie.contains(key) ? 1 : 0);
+    }
+
+    private Entry<String, T> absLower(String key) {
+        return entryIn(Math.min(trie.rank(key), endIndex()) - 1);
+    }
+
+    private Entry<String, T> absFloor(String key) {
+        return entryIn(Math.min(rankAfter(key), endIndex()) - 1);
+    }
+
+    private Entry<String, T> absCeiling(String key) {
+        return entryIn(Math.max(trie.rank(key), startIndex()));
+    }
+
+    private Entry<String, T> absHigher(String key) {
+        return entryIn(Math.max(rankAfter(key), startIndex()));
+    }
+
+    /**
+     * @return the entry at the index if it lies in the range, else null
+     */
+    private Entry<String, T> entryIn(int index) {
+        return index >= startIndex() && index < endIndex() ? entryAt(index) : null;
+    }
+
+    /**
+     * Finds the key at the index of the whole Trie by descending with the key counts.
+     */
+    private Entry<String, T> entryAt(int index) {
+        StringBuilder stringAssembler = new StringBuilder();
+        Trie.TrieNode<T> currentNode = trie.root;
+        int remaining = index;
+
+        while (true) {
+            if (currentNode.isEndOfWord) {
+                if (remaining == 0) return new TrieEntry(stringAssembler.toString(), currentNode.value);
+                remaining--;
+            }
+
+            Trie.TrieNode<T>[] children = currentNode.orderedChildren();
+            for (int i = 0; i < currentNode.childCount; i++) {
+                if (remaining < children[i].keyCount) {
+                    currentNode = children[i];
+                    break;
+                }
+                remaining -= children[i].keyCount;
+            }
+            stringAssembler.append(currentNode.character);
+        }
+    }
+
+    private Entry<String, T> poll(Entry<String, T> entry) {
+        if (entry != null) trie.remove(entry.getKey());
+        return entry;
+    }
+
+    private static String key(Entry<String, ?> entry) {
+        if (entry == null) throw new NoSuchElementException();
+        return entry.getKey();
+    }
+
+    private static String keyOrNull(Entry<String, ?> entry) {
+        return entry == null ? null : entry.getKey();
+    }
+
+    /**
+     * An entry whose {@link #setValue(Object)} writes through to the Trie.
+     */
+    private final class TrieEntry extends AbstractMap.SimpleEntry<String, T> {
+        // SimpleEntry is Serializable, but a TrieEntry is only meaningful next to its Trie
+        private static final long serialVersionUID = 1L;
+
+        TrieEntry(String key, T value) {
+            super(key, value);
+        }
+
+        @Override
+        public T setValue(T value) {
+            trie.set(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * One node on the traversal path, with the children still to visit.
+     */
+    private static final class Frame<T> {
+        final Trie.TrieNode<T> node;
+        final Trie.TrieNode<T>[] children;
+        int next;
+        boolean selfPending;
+
+        Frame(Trie.TrieNode<T> node, int next, boolean selfPending) {
+            this.node = node;
+            this.children = node.orderedChildren();
+            this.next = next;
+            this.selfPending = selfPending;
+        }
+    }
+
+    /**
+     * Iterates the keys of the range in either direction. The traversal is seeded at the
+     * first index by descending with the key counts, then continues depth first, so a
+     * range costs O(depth) to start plus O(1) amortized per key.
+     */
+    private abstract class RangeIterator<E> implements Iterator<E> {
+        private final boolean reverse;
+        private final ArrayDeque<Frame<T>> stack = new ArrayDeque<>();
+        private final StringBuilder stringAssembler = new StringBuilder();
+
+        /**
+         * Index in the whole Trie of the next key.
+         */
+        private int nextIndex;
+        private int remaining;
+        private boolean seeded;
+        private String lastKey;
+
+        RangeIterator(boolean reverse) {
+            this.reverse = reverse;
+            this.nextIndex = reverse ? endIndex() - 1 : startIndex();
+            this.remaining = size();
+        }
+
+        abstract E element(String key, Trie.TrieNode<T> node);
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public E next() {
+            if (remaining == 0) throw new NoSuchElementException();
+            if (!seeded) seed(nextIndex);
+
+            Trie.TrieNode<T> node = advance();
+            lastKey = stringAssembler.toString();
+            nextIndex += reverse ? -1 : 1;
+            remaining--;
+            return element(lastKey, node);
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) throw new IllegalStateException();
+            trie.remove(lastKey);
+            lastKey = null;
+
+            // the removal shifts later keys down by one and may have changed the nodes
+            if (!reverse) nextIndex--;
+            seeded = false;
+        }
+
+        /**
+         * Rebuilds the path to the key at the index, so that {@link #advance()} returns it first.
+         */
+        private void seed(int index) {
+            stack.clear();
+            stringAssembler.setLength(0);
+            Trie.TrieNode<T> currentNode = trie.root;
+            int remainingIndex = index;
+
+            while (true) {
+                if (currentNode.isEndOfWord && remainingIndex == 0) {
+                    stack.push(new Frame<>(currentNode, reverse ? -1 : 0, true));
+                    seeded = true;
+                    return;
+                }
+                if (currentNode.isEndOfWord) remainingIndex--;
+
+                Trie.TrieNode<T>[] children = currentNode.orderedChildren();
+                int chosen = 0;
+                while (remainingIndex >= children[chosen].keyCount) {
+                    remainingIndex -= children[chosen].keyCount;
+                    chosen++;
+                }
+
+                // ascending: the node itself was passed; descending: it comes after its children
+                stack.push(reverse
+                        ? new Frame<>(currentNode, chosen - 1, currentNode.isEndOfWord)
+                        : new Frame<>(currentNode, chosen + 1, false));
+                currentNode = children[chosen];
+                stringAssembler.append(currentNode.character);
+            }
+        }
+
+        /**
+         * Moves to the next key in the direction of the iterator.
+         * @return the node of the key, spelled by the string assembler
+         */
+        private Trie.TrieNode<T> advance() {
+            Frame<T> frame;
+            while ((frame = stack.peek()) != null) {
+                if (!reverse && frame.selfPending) {
+                    frame.selfPending = false;
+                    return frame.node;
+                }
+
+                if (!reverse && frame.next < frame.node.childCount) {
+                    Trie.TrieNode<T> child = frame.children[frame.next++];
+                    stack.push(new Frame<>(child, 0, child.isEndOfWord));
+                    stringAssembler.append(child.character);
+                } else if (reverse && frame.next >= 0) {
+                    Trie.TrieNode<T> child = frame.children[frame.next--];
+                    stack.push(new Frame<>(child, child.childCount - 1, child.isEndOfWord));
+                    stringAssembler.append(child.character);
+                } else if (reverse && frame.selfPending) {
+                    frame.selfPending = false;
+                    return frame.node;
+                } else {
+                    stack.pop();
+                    if (!stack.isEmpty()) stringAssembler.setLength(stringAssembler.length() - 1);
+                }
+            }
+            throw new NoSuchElementException();
+        }
+    }
+
+    /**
+     * Navigable key set of a map view, delegating to the map.
+     */
+    private static final class KeySet extends AbstractSet<String> implements NavigableSet<String> {
+        private final NavigableMap<String, ?> map;
+
+        KeySet(NavigableMap<String, ?> map) {
+            this.map = map;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            Iterator<? extends Entry<String, ?>> entries = map.entrySet().iterator();
+            return new Iterator<>() {
+                @Override
+                public boolean hasNext() {
+                    return entries.hasNext();
+                }
+
+                @Override
+                public String next() {
+                    return entries.next().getKey();
+                }
+
+                @Override
+                public void remove() {
+                    entries.remove();
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return map.isEmpty();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return map.containsKey(o);
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!map.containsKey(o)) return false;
+            map.remove(o);
+            return true;
+        }
+
+        @Override
+        public void clear() {
+            map.clear();
+        }
+
+        @Override
+        public Comparator<? super String> comparator() {
+            return map.comparator();
+        }
+
+        @Override
+        public String first() {
+            return map.firstKey();
+        }
+
+        @Override
+        public String last() {
+            return map.lastKey();
+        }
+
+        @Override
+        public String lower(String key) {
+            return map.lowerKey(key);
+        }
+
+        @Override
+        public String floor(String key) {
+            return map.floorKey(key);
+        }
+
+        @Override
+        public String ceiling(String key) {
+            return map.ceilingKey(key);
+        }
+
+        @Override
+        public String higher(String key) {
+            return map.higherKey(key);
+        }
+
+        @Override
+        public String pollFirst() {
+            return keyOrNull(map.pollFirstEntry());
+        }
+
+        @Override
+        public String pollLast() {
+            return keyOrNull(map.pollLastEntry());
+        }
+
+        @Override
+        public NavigableSet<String> descendingSet() {
+            return new KeySet(map.descendingMap());
+        }
+
+        @Override
+        public Iterator<String> descendingIterator() {
+            return descendingSet().iterator();
+        }
+
+        @Override
+        public NavigableSet<String> subSet(String fromElement, boolean fromInclusive, String toElement, boolean toInclusive) {
+            return new KeySet(map.subMap(fromElement, fromInclusive, toElement, toInclusive));
+        }
+
+        @Override
+        public NavigableSet<String> headSet(String toElement, boolean inclusive) {
+            return new KeySet(map.headMap(toElement, inclusive));
+        }
+
+        @Override
+        public NavigableSet<String> tailSet(String fromElement, boolean inclusive) {
+            return new KeySet(map.tailMap(fromElement, inclusive));
+        }
+
+        @Override
+        public SortedSet<String> subSet(String fromElement, String toElement) {
+            return subSet(fromElement, true, toElement, false);
+        }
+
+        @Override
+        public SortedSet<String> headSet(String toElement) {
+            return headSet(toElement, false);
+        }
+
+        @Override
+        public SortedSet<String> tailSet(String fromElement) {
+            return tailSet(fromElement, true);
+        }
+    }
+    // ---
+
+}
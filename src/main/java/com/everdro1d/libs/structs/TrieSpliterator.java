@@ -0,0 +1,154 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * Lazy depth-first traversal of a {@link Trie} subtree, producing entries in
+ * lexicographic order of their keys.
+ * <p>The traversal keeps an explicit stack of frames, one per node on the current path,
+ * each with the range of children still to visit. {@link #trySplit()} cuts the shallowest
+ * frame's remaining children in half. The returned spliterator takes the current path and
+ * the first half, this one keeps the second half, so a parallel stream works on separate
+ * subtrees while the encounter order is preserved.</p>
+ * <p>The subtree key counts give the exact number of entries left, before and after
+ * any split, so the spliterator reports {@link #SIZED} and {@link #SUBSIZED}.</p>
+ *
+ * @param <T> the type of value stored in the Trie
+ * @see Trie#stream(String)
+ */
+final class TrieSpliterator<T> implements Spliterator<Map.Entry<String, T>> {
+
+    private static final class Frame<T> {
+        final Trie.TrieNode<T> node;
+        final Trie.TrieNode<T>[] children;
+        final int depth;
+        int next;
+        int end;
+        boolean selfPending;
+
+        Frame(Trie.TrieNode<T> node, int depth, boolean selfPending) {
+            this.node = node;
+            this.children = node.orderedChildren();
+            this.depth = depth;
+            this.end = node.childCount;
+            this.selfPending = selfPending;
+        }
+
+        Frame(Frame<T> from, int next, int end) {
+            this.node = from.node;
+            this.children = from.children;
+            this.depth = from.depth;
+            this.next = next;
+            this.end = end;
+        }
+
+        /**
+         * @return number of keys this frame has yet to produce
+         */
+        long pendingKeys() {
+            long count = selfPending && node.isEndOfWord ? 1 : 0;
+            for (int i = next; i < end; i++) {
+                count += children[i].keyCount;
+            }
+            return count;
+        }
+    }
+
+    /**
+     * Frames of the current path, the deepest first.
+     */
+    private final ArrayDeque<Frame<T>> stack = new ArrayDeque<>();
+
+    /**
+     * Key of the current path. Characters up to a frame's depth spell that frame's key.
+     */
+    private final StringBuilder stringAssembler;
+
+    /**
+     * Number of entries not yet produced, from the subtree key counts.
+     */
+    private long remaining;
+
+    TrieSpliterator(Trie.TrieNode<T> node, String prefix) {
+        stringAssembler = new StringBuilder(prefix);
+        stack.push(new Frame<>(node, prefix.length(), true));
+        remaining = node.keyCount;
+    }
+
+    private TrieSpliterator(CharSequence path) {
+        stringAssembler = new StringBuilder(path);
+    }
+
+    @Override
+    public boolean tryAdvance(Consumer<? super Map.Entry<String, T>> action) {
+        Frame<T> frame;
+        while ((frame = stack.peek()) != null) {
+            if (frame.selfPending) {
+                frame.selfPending = false;
+                if (frame.node.isEndOfWord) {
+                    remaining--;
+                    stringAssembler.setLength(frame.depth);
+                    action.accept(new AbstractMap.SimpleImmutableEntry<>(
+                            stringAssembler.toString(), frame.node.value
+                    ));
+                    return true;
+                }
+            } else if (frame.next < frame.end) {
+                Trie.TrieNode<T> child = frame.children[frame.next++];
+                stringAssembler.setLength(frame.depth);
+                stringAssembler.append(child.character);
+                stack.push(new Frame<>(child, frame.depth + 1, true));
+            } else {
+                stack.pop();
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Spliterator<Map.Entry<String, T>> trySplit() {
+        // the shallowest frame holds the largest untouched subtrees
+        Frame<T> splitFrame = null;
+        for (var frames = stack.descendingIterator(); frames.hasNext() && splitFrame == null; ) {
+            Frame<T> frame = frames.next();
+            if (frame.end - frame.next >= 2) splitFrame = frame;
+        }
+        if (splitFrame == null) return null;
+
+        // elements in deeper frames come first, so they move to the returned prefix
+        TrieSpliterator<T> prefix = new TrieSpliterator<>(stringAssembler);
+        while (stack.peek() != splitFrame) {
+            prefix.stack.addLast(stack.pop());
+        }
+
+        int mid = splitFrame.next + ((splitFrame.end - splitFrame.next) >>> 1);
+        Frame<T> head = new Frame<>(splitFrame, splitFrame.next, mid);
+        head.selfPending = splitFrame.selfPending;
+        prefix.stack.addLast(head);
+
+        splitFrame.next = mid;
+        splitFrame.selfPending = false;
+
+        for (Frame<T> frame : prefix.stack) {
+            prefix.remaining += frame.pendingKeys();
+        }
+        remaining -= prefix.remaining;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return remaining;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | DISTINCT | NONNULL | SIZED | SUBSIZED;
+    }
+}
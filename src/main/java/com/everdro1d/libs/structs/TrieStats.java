@@ -0,0 +1,177 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.Arrays;
+
+/**
+ * Shape and memory statistics of a {@link Trie}, gathered in one traversal by
+ * {@link Trie#stats()}.
+ * <p>A TrieStats is an immutable snapshot; it does not follow later changes to the Trie.
+ * Use it to size the heap for a Trie, or to decide when another representation fits
+ * better: a high {@link #getSingleChildShare() single-child share} means long unbranched
+ * chains that a {@link RadixTrie} would store as one edge, and a Trie that no longer
+ * changes can be compacted with {@link Trie#freeze()}.</p>
+ *
+ * @see Trie#stats()
+ * @see TrieMXBean
+ */
+public final class TrieStats {
+
+    /*
+     * Layout assumed for the byte estimate: a 64-bit JVM with compressed references,
+     * 12-byte object headers, 16-byte array headers and 8-byte alignment.
+     */
+    private static final int NODE_BYTES = align(12 + 1 + 2 + 4 + 4 + 4 + 1 + 4 + 8 + 8 + 4);
+    private static final int ARRAY_HEADER_BYTES = 16;
+    private static final int REFERENCE_BYTES = 4;
+
+    private final int nodeCount;
+    private final int keyCount;
+    private final int maxDepth;
+    private final double averageDepth;
+    private final int[] fanOutHistogram;
+    private final long estimatedBytes;
+    private final int singleChildNodes;
+
+    private TrieStats(Collector collector) {
+        this.nodeCount = collector.nodeCount;
+        this.keyCount = collector.keyCount;
+        this.maxDepth = collector.maxDepth;
+        this.averageDepth = collector.keyCount == 0 ? 0.0 : (double) collector.depthSum / collector.keyCount;
+        this.fanOutHistogram = Arrays.copyOf(collector.fanOutHistogram, collector.maxFanOut + 1);
+        this.estimatedBytes = collector.estimatedBytes;
+        this.singleChildNodes = collector.singleChildNodes;
+    }
+
+    /**
+     * Get the number of nodes, including the root.
+     * @return number of nodes
+     */
+    public int getNodeCount() {
+        return nodeCount;
+    }
+
+    /**
+     * Get the number of keys.
+     * @return number of keys
+     */
+    public int getKeyCount() {
+        return keyCount;
+    }
+
+    /**
+     * Get the depth of the deepest key, i.e. the length of the longest key.
+     * @return maximum key depth, 0 if there are no keys
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Get the average depth of the keys, i.e. their average length.
+     * @return average key depth, 0 if there are no keys
+     */
+    public double getAverageDepth() {
+        return averageDepth;
+    }
+
+    /**
+     * Get the number of nodes by number of children. The entry at index {@code i} counts
+     * the nodes with exactly {@code i} children; the last index is the widest fan-out.
+     * @return fan-out histogram
+     */
+    public int[] getFanOutHistogram() {
+        return fanOutHistogram.clone();
+    }
+
+    /**
+     * Get the estimated number of bytes retained by the nodes and their child arrays,
+     * assuming a 64-bit JVM with compressed references. The values stored in the Trie
+     * are not included, since they may be shared with the rest of the application.
+     * @return estimated retained bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Get the share of nodes that only link a chain: nodes with exactly one child and
+     * no key ending at them. These are the nodes a radix tree would merge into edges.
+     * @return share of single-child chain nodes between 0 and 1
+     */
+    public double getSingleChildShare() {
+        return nodeCount == 0 ? 0.0 : (double) singleChildNodes / nodeCount;
+    }
+
+    @Override
+    public String toString() {
+        return "TrieStats{nodes=" + nodeCount
+                + ", keys=" + keyCount
+                + ", maxDepth=" + maxDepth
+                + ", averageDepth=" + String.format("%.2f", averageDepth)
+                + ", fanOut=" + Arrays.toString(fanOutHistogram)
+                + ", estimatedBytes=" + estimatedBytes
+                + ", singleChildShare=" + String.format("%.3f", getSingleChildShare())
+                + '}';
+    }
+
+    // ---
+    /**
+     * Gathers the statistics of a subtree in one depth-first traversal.
+     */
+    static <T> TrieStats of(Trie.TrieNode<T> root) {
+        Collector collector = new Collector();
+        collector.visit(root, 0);
+        return new TrieStats(collector);
+    }
+
+    private static final class Collector {
+        int nodeCount;
+        int keyCount;
+        int maxDepth;
+        long depthSum;
+        int[] fanOutHistogram = new int[16];
+        int maxFanOut;
+        long estimatedBytes;
+        int singleChildNodes;
+
+        <T> void visit(Trie.TrieNode<T> node, int depth) {
+            nodeCount++;
+            if (node.isEndOfWord) {
+                keyCount++;
+                depthSum += depth;
+                if (depth > maxDepth) maxDepth = depth;
+            }
+
+            int fanOut = node.childCount;
+            if (fanOut >= fanOutHistogram.length) {
+                fanOutHistogram = Arrays.copyOf(fanOutHistogram, Math.max(fanOut + 1, fanOutHistogram.length << 1));
+            }
+            fanOutHistogram[fanOut]++;
+            if (fanOut > maxFanOut) maxFanOut = fanOut;
+            if (fanOut == 1 && !node.isEndOfWord) singleChildNodes++;
+
+            estimatedBytes += NODE_BYTES;
+            if (node.childKeys.length > 0) {
+                // leaves share one empty array, so only allocated child arrays count
+                estimatedBytes += align(ARRAY_HEADER_BYTES + (long) Character.BYTES * node.childKeys.length);
+                estimatedBytes += align(ARRAY_HEADER_BYTES + (long) REFERENCE_BYTES * node.childNodes.length);
+            }
+
+            for (Trie.TrieNode<T> child : node.childNodes) {
+                if (child != null) visit(child, depth + 1);
+            }
+        }
+    }
+
+    private static int align(int bytes) {
+        return (bytes + 7) & ~7;
+    }
+
+    private static long align(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+    // ---
+
+}
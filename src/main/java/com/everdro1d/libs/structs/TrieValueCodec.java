@@ -0,0 +1,68 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Converts Trie values to and from bytes for the on-disk format used by
+ * {@link Trie#writeTo(java.nio.file.Path, TrieValueCodec)} and {@link MappedTrie}.
+ * <p>Null values never reach the codec, they are recorded separately by the format.</p>
+ *
+ * @param <T> the type of value to encode
+ * @see MappedTrie
+ */
+public interface TrieValueCodec<T> {
+
+    /**
+     * Encodes a value.
+     * @param value non-null value to encode
+     * @return the encoded bytes
+     */
+    byte[] encode(T value);
+
+    /**
+     * Decodes a value from the remaining bytes of the buffer, between its position and limit.
+     * @param buffer buffer holding exactly one encoded value
+     * @return the decoded value
+     */
+    T decode(ByteBuffer buffer);
+
+    /**
+     * Codec storing strings as UTF-8.
+     * @return string codec
+     */
+    static TrieValueCodec<String> strings() {
+        return new TrieValueCodec<>() {
+            @Override
+            public byte[] encode(String value) {
+                return value.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(ByteBuffer buffer) {
+                return StandardCharsets.UTF_8.decode(buffer).toString();
+            }
+        };
+    }
+
+    /**
+     * Codec storing integers as 4 big-endian bytes.
+     * @return integer codec
+     */
+    static TrieValueCodec<Integer> integers() {
+        return new TrieValueCodec<>() {
+            @Override
+            public byte[] encode(Integer value) {
+                return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+            }
+
+            @Override
+            public Integer decode(ByteBuffer buffer) {
+                return buffer.getInt();
+            }
+        };
+    }
+
+}
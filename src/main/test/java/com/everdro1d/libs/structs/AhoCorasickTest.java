@@ -0,0 +1,109 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+class AhoCorasickTest {
+
+    @Test
+    void testFindAllOverlapping() {
+        Trie<Integer> trie = new Trie<>(Map.of("he", 1, "she", 2, "his", 3, "hers", 4));
+        AhoCorasick<Integer> matcher = trie.matcher();
+
+        List<String> found = new ArrayList<>();
+        for (AhoCorasick.Match<Integer> match : matcher.findAll("ushers")) {
+            found.add(match.getKey() + ":" + match.getStart() + "-" + match.getEnd() + "=" + match.getValue());
+        }
+        assertEquals(List.of("she:1-4=2", "he:2-4=1", "hers:2-6=4"), found);
+        assertEquals(4, matcher.size());
+    }
+
+    @Test
+    void testContainsAnyAndStop() {
+        AhoCorasick<String> matcher = new Trie<String>(List.of("error", "warn", "fatal")).matcher();
+
+        assertTrue(matcher.containsAny("[main] WARN x: warning issued"));
+        assertFalse(matcher.containsAny("all good"));
+        assertFalse(matcher.containsAny(""));
+
+        int[] calls = new int[1];
+        assertFalse(matcher.scan("error error", (start, end, key, value) -> ++calls[0] < 1));
+        assertEquals(1, calls[0]);
+    }
+
+    @Test
+    void testReaderAcrossBufferBoundary() throws IOException {
+        AhoCorasick<String> matcher = new Trie<String>(List.of("needle")).matcher();
+        StringBuilder text = new StringBuilder();
+        text.append("x".repeat(8190)).append("needle").append("y".repeat(100)).append("needle");
+
+        List<Integer> starts = new ArrayList<>();
+        assertTrue(matcher.scan(new StringReader(text.toString()), (start, end, key, value) -> starts.add(start)));
+        assertEquals(List.of(8190, 8296), starts);
+    }
+
+    @Test
+    void testRandomAgainstIndexOf() {
+        Random random = new Random(15);
+        List<String> keywords = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                key.append((char) ('a' + random.nextInt(3)));
+            }
+            keywords.add(key.toString());
+        }
+        AhoCorasick<String> matcher = new Trie<String>(keywords).matcher();
+
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            text.append((char) ('a' + random.nextInt(3)));
+        }
+
+        Set<String> expected = new HashSet<>();
+        for (String key : new HashSet<>(keywords)) {
+            for (int i = text.indexOf(key); i != -1; i = text.indexOf(key, i + 1)) {
+                expected.add(key + "@" + i);
+            }
+        }
+
+        Set<String> actual = new HashSet<>();
+        int[] lastEnd = new int[1];
+        matcher.scan(text, (start, end, key, value) -> {
+            assertTrue(end >= lastEnd[0]);
+            lastEnd[0] = end;
+            assertEquals(key, text.substring(start, end));
+            actual.add(key + "@" + start);
+            return true;
+        });
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testIgnoreCase() throws IOException {
+        Trie<String> trie = new Trie<>(true);
+        trie.insert("Error", "e");
+        AhoCorasick<String> matcher = trie.matcher();
+
+        assertTrue(matcher.isIgnoreCase());
+        assertTrue(trie.contains("ERROR"));
+        assertTrue(matcher.containsAny("an ERROR here"));
+
+        List<String> found = new ArrayList<>();
+        for (AhoCorasick.Match<String> match : matcher.findAll("an ERROR and an error")) {
+            found.add(match.getKey() + ":" + match.getStart() + "-" + match.getEnd());
+        }
+        assertEquals(List.of("error:3-8", "error:16-21"), found);
+
+        int[] count = new int[1];
+        matcher.scan(new StringReader("eRRoR ErRoR"), (start, end, key, value) -> ++count[0] > 0);
+        assertEquals(2, count[0]);
+        assertFalse(new Trie<String>(List.of("Error")).matcher().containsAny("an ERROR here"));
+    }
+}
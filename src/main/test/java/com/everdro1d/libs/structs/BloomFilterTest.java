@@ -0,0 +1,105 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class BloomFilterTest {
+
+    @Test
+    void testNoFalseNegativesAndTargetRate() {
+        for (BloomFilter filter : List.of(BloomFilter.create(20_000, 0.01), BloomFilter.createBlocked(20_000, 0.01))) {
+            for (int i = 0; i < 20_000; i++) {
+                filter.put("key-" + i);
+            }
+            for (int i = 0; i < 20_000; i++) {
+                assertTrue(filter.mightContain("key-" + i));
+            }
+
+            int falsePositives = 0;
+            for (int i = 0; i < 100_000; i++) {
+                if (filter.mightContain("other-" + i)) falsePositives++;
+            }
+            double rate = falsePositives / 100_000.0;
+            assertTrue(rate < 0.02, filter + " false positive rate " + rate);
+            assertEquals(filter.expectedFalsePositiveRate(), rate, 0.01);
+        }
+    }
+
+    @Test
+    void testSizingAndRanges() {
+        BloomFilter filter = BloomFilter.create(1000, 0.01);
+        assertTrue(filter.bitSize() >= 9585); // -n ln p / (ln 2)^2
+        assertEquals(7, filter.hashCount());
+        assertFalse(filter.isBlocked());
+        assertEquals(0, BloomFilter.createBlocked(1000, 0.01).bitSize() % 512);
+
+        assertTrue(filter.put(new StringBuilder("apple")));
+        assertFalse(filter.put("apple"));
+        assertEquals(1, filter.insertions());
+        assertTrue(filter.mightContain("[apple]", 1, 6));
+        assertThrows(IndexOutOfBoundsException.class, () -> filter.mightContain("apple", 2, 9));
+
+        filter.clear();
+        assertFalse(filter.mightContain("apple"));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(0, 0.01));
+        assertThrows(IllegalArgumentException.class, () -> BloomFilter.create(10, 1.0));
+    }
+
+    @Test
+    void testAttachedToTrie() {
+        Trie<Integer> trie = new Trie<>(Map.of("alpha", 1, "beta", 2));
+        BloomFilter filter = trie.attachBloomFilter(1000, 0.001);
+        assertTrue(filter.mightContain("alpha"));
+
+        trie.insert("gamma", 3);
+        trie.insert(new StringBuilder("[delta]"), 1, 6, 4);
+        assertTrue(filter.mightContain("gamma"));
+        assertTrue(filter.mightContain("delta"));
+        assertEquals(4, trie.get("delta"));
+        assertTrue(trie.contains("beta"));
+        assertFalse(trie.contains("bet"));
+        assertTrue(trie.startsWith("bet"));
+
+        trie.remove("beta");
+        assertFalse(trie.contains("beta")); // the filter still passes it, the nodes reject it
+        assertNull(trie.get("beta"));
+
+        trie.clear();
+        assertFalse(filter.mightContain("alpha"));
+        trie.detachBloomFilter();
+        trie.insert("alpha", 1);
+        assertTrue(trie.contains("alpha"));
+
+        // clear() keeps the empty key, and the filter must not reject it afterwards
+        trie.insert("", 0);
+        trie.attachBloomFilter(1000, 0.001);
+        trie.clear();
+        assertEquals(1, trie.size());
+        assertTrue(trie.contains(""));
+        assertEquals(0, trie.get(""));
+        assertFalse(trie.contains("alpha"));
+    }
+
+    @Test
+    void testAttachedToCaseInsensitiveTrie() {
+        Trie<String> trie = new Trie<>(true);
+        trie.attachBloomFilter(100, 0.01);
+        trie.insert("Hello", "1");
+        assertTrue(trie.contains("HELLO"));
+        assertEquals("1", trie.get(new StringBuilder("hello")));
+
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            keys.add("Key" + i);
+        }
+        trie.setParallelThreshold(1000);
+        trie.insert(keys);
+        for (String key : keys) {
+            assertTrue(trie.contains(key.toUpperCase()));
+        }
+    }
+}
@@ -0,0 +1,64 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Load time of {@link Trie#insert(List)} for 1M path-like keys, single threaded and in
+ * parallel on pools of increasing size up to the number of available cores.
+ * Run the main method, results are printed to standard output.
+ */
+public class BulkLoadBenchmark {
+    private static final int KEY_COUNT = 1_000_000;
+    private static final int ROUNDS = 3;
+
+    public static void main(String[] args) {
+        List<String> keys = generateKeys();
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-12s %10s%n", "threads", "best ms");
+        System.out.printf("%-12s %10d%n", "sequential", time(keys, null));
+        for (int threads = 1; threads <= cores; threads <<= 1) {
+            ForkJoinPool pool = new ForkJoinPool(threads);
+            System.out.printf("%-12d %10d%n", threads, time(keys, pool));
+            pool.shutdown();
+        }
+    }
+
+    private static long time(List<String> keys, ForkJoinPool pool) {
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            Trie<String> trie = new Trie<>();
+            trie.setParallelThreshold(pool == null ? Integer.MAX_VALUE : Trie.DEFAULT_PARALLEL_THRESHOLD);
+
+            long start = System.nanoTime();
+            if (pool == null) {
+                trie.insert(keys);
+            } else {
+                // tasks forked by the bulk load run on the pool of the calling task
+                pool.submit(() -> trie.insert(keys)).join();
+            }
+            best = Math.min(best, (System.nanoTime() - start) / 1_000_000);
+        }
+        return best;
+    }
+
+    private static List<String> generateKeys() {
+        Random random = new Random(42);
+        String[] directories = {"/usr/lib/", "/usr/share/", "/home/user/", "/var/log/", "/opt/"};
+        List<String> keys = new ArrayList<>(KEY_COUNT);
+        for (int i = 0; i < KEY_COUNT; i++) {
+            StringBuilder key = new StringBuilder(directories[random.nextInt(directories.length)]);
+            int length = 6 + random.nextInt(12);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(26)));
+            }
+            keys.add(key.toString());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,113 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+
+class ByteTrieTest {
+
+    @Test
+    void testStringAndByteKeysAgree() {
+        ByteTrie<Integer> trie = new ByteTrie<>();
+        trie.insert("caf\u00e9", 1);
+        trie.insert("cafe", 2);
+
+        byte[] bytes = "caf\u00e9".getBytes(StandardCharsets.UTF_8);
+        assertTrue(trie.contains(bytes));
+        assertEquals(1, trie.get(bytes));
+        assertEquals(2, trie.get("cafe"));
+        assertFalse(trie.contains("caf"));
+        assertTrue(trie.startsWith("caf"));
+        assertEquals(List.of("cafe", "caf\u00e9"), trie.listKeys());
+    }
+
+    @Test
+    void testArrayRanges() {
+        ByteTrie<String> trie = new ByteTrie<>();
+        byte[] line = "key=apple;key=pear".getBytes(StandardCharsets.US_ASCII);
+        trie.insert(line, 4, 5, "a");
+
+        assertTrue(trie.contains(line, 4, 5));
+        assertEquals("a", trie.get("apple"));
+        assertFalse(trie.contains(line, 14, 4));
+        assertTrue(trie.startsWith(line, 4, 3));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.contains(line, 15, 10));
+
+        assertTrue(trie.remove(line, 4, 5));
+        assertFalse(trie.remove(line, 4, 5));
+        assertTrue(trie.isEmpty());
+        assertFalse(trie.startsWith("a"));
+    }
+
+    @Test
+    void testBufferSlicesKeepPosition() {
+        ByteTrie<Integer> trie = new ByteTrie<>(Map.of("pear", 7));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(32);
+        direct.put("xxpearyy".getBytes(StandardCharsets.US_ASCII)).flip();
+        direct.position(2).limit(6);
+
+        assertTrue(trie.contains(direct));
+        assertEquals(7, trie.get(direct));
+        assertEquals(2, direct.position());
+        assertTrue(trie.startsWith(direct.slice(2, 2)));
+    }
+
+    @Test
+    void testMappedBufferLookups() throws IOException {
+        Path file = Files.createTempFile("bytetrie", ".txt");
+        try {
+            Files.writeString(file, "apple\nbanana\ncherry\n");
+            ByteTrie<Boolean> trie = new ByteTrie<>(Map.of("banana", true, "cherry", true));
+
+            MappedByteBuffer mapped;
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+
+            List<String> found = new ArrayList<>();
+            int start = 0;
+            for (int i = 0; i < mapped.limit(); i++) {
+                if (mapped.get(i) != '\n') continue;
+                ByteBuffer line = mapped.slice(start, i - start);
+                if (trie.contains(line)) found.add(StandardCharsets.UTF_8.decode(line).toString());
+                start = i + 1;
+            }
+            assertEquals(List.of("banana", "cherry"), found);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testRandomKeysAgainstMap() {
+        Random random = new Random(13);
+        ByteTrie<Integer> trie = new ByteTrie<>();
+        Map<String, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int j = random.nextInt(6); j >= 0; j--) {
+                key.append((char) (random.nextBoolean() ? 'a' + random.nextInt(3) : 0xE0 + random.nextInt(3)));
+            }
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key.toString()) != null, trie.remove(key.toString()));
+            } else {
+                trie.insert(key.toString(), i);
+                expected.put(key.toString(), i);
+            }
+        }
+        assertEquals(expected, trie.getTrieAsMap());
+        assertEquals(expected.size(), trie.size());
+    }
+}
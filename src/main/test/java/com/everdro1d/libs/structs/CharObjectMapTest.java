@@ -0,0 +1,70 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class CharObjectMapTest {
+
+    @Test
+    void testBasicOperations() {
+        CharObjectMap<String> map = new CharObjectMap<>();
+        map.put('&', "&amp;");
+        map.put('<', "&lt;");
+        map.put('\uffff', "max");
+
+        assertEquals("&lt;", map.get('<'));
+        assertEquals("max", map.get('\uffff'));
+        assertNull(map.get('>'));
+        assertEquals(">", map.getOrDefault('>', ">"));
+        assertEquals("&amp;", map.remove('&'));
+        assertEquals(2, map.size());
+        assertEquals("{<=&lt;, \uffff=max}".length(), map.toString().length());
+    }
+
+    @Test
+    void testRandomAgainstHashMap() {
+        Random random = new Random(25);
+        CharObjectMap<Integer> map = new CharObjectMap<>();
+        Map<Character, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            char key = (char) (random.nextBoolean() ? random.nextInt(64) : random.nextInt(Character.MAX_VALUE + 1));
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                case 1 -> assertEquals(expected.get(key), map.get(key));
+                default -> assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        Map<Character, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+        assertEquals(expected.size(), map.keys().length);
+    }
+
+    @Test
+    void testCapacityDoesNotOverflow() {
+        assertEquals(8, CharObjectMap.capacityFor(0));
+        assertEquals(64, CharObjectMap.capacityFor(20));
+        assertEquals(1 << 17, CharObjectMap.capacityFor(1 << 16));
+        assertEquals(1 << 17, CharObjectMap.capacityFor(1 << 28));
+        assertEquals(1 << 17, CharObjectMap.capacityFor(Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testHoldsEveryChar() {
+        CharObjectMap<Integer> map = new CharObjectMap<>();
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            assertNull(map.put((char) c, c));
+        }
+        assertEquals(1 << 16, map.size());
+        for (int c = Character.MIN_VALUE; c <= Character.MAX_VALUE; c++) {
+            assertEquals(c, map.get((char) c));
+        }
+    }
+}
@@ -0,0 +1,41 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.Random;
+
+/**
+ * Lookup throughput of {@link CidrTrie#lookup(int)} over a table of 100k random IPv4
+ * blocks, in the prefix length mix of a typical routing table (mostly /16 to /24).
+ * Run the main method, results are printed to standard output.
+ */
+public class CidrTrieBenchmark {
+    private static final int BLOCK_COUNT = 100_000;
+    private static final int LOOKUP_COUNT = 10_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        CidrTrie<Integer> routes = new CidrTrie<>();
+        for (int i = 0; i < BLOCK_COUNT; i++) {
+            int length = 16 + random.nextInt(9);
+            routes.insert(random.nextInt(), length, i);
+        }
+
+        int[] addresses = new int[LOOKUP_COUNT];
+        for (int i = 0; i < LOOKUP_COUNT; i++) {
+            addresses[i] = random.nextInt();
+        }
+
+        for (int round = 0; round < ROUNDS; round++) {
+            int hits = 0;
+            long start = System.nanoTime();
+            for (int address : addresses) {
+                if (routes.lookup(address) != null) hits++;
+            }
+            long nanos = System.nanoTime() - start;
+            System.out.printf("round %d: %.1f M lookups/s (%d hits)%n",
+                    round, LOOKUP_COUNT * 1000.0 / nanos, hits);
+        }
+    }
+}
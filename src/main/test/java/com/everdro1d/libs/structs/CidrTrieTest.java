@@ -0,0 +1,131 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.util.*;
+
+class CidrTrieTest {
+
+    @Test
+    void testIpv4LongestMatch() {
+        CidrTrie<String> routes = new CidrTrie<>();
+        routes.insert("10.0.0.0/8", "internal");
+        routes.insert("10.1.0.0/16", "lab");
+        routes.insert("10.1.2.3", "host");
+
+        assertEquals("host", routes.lookup(0x0A010203));
+        assertEquals("lab", routes.lookup("10.1.2.4"));
+        assertEquals("internal", routes.lookup("10.200.0.1"));
+        assertNull(routes.lookup("192.168.0.1"));
+        assertEquals(3, routes.size());
+
+        routes.insert(0, 0, "default");
+        assertEquals("default", routes.lookup("192.168.0.1"));
+
+        assertEquals("lab", routes.get(0x0A01FFFF, 16)); // host bits are ignored
+        assertNull(routes.get(0x0A010000, 12));
+        assertTrue(routes.remove(0x0A010000, 16));
+        assertFalse(routes.remove(0x0A010000, 16));
+        assertEquals("internal", routes.lookup("10.1.2.4"));
+    }
+
+    @Test
+    void testIpv6LongestMatch() {
+        CidrTrie<String> routes = new CidrTrie<>();
+        routes.insert("2001:db8::/32", "documentation");
+        routes.insert("2001:db8:1::/48", "site");
+        routes.insert("0.0.0.0/0", "v4 default");
+
+        assertEquals("site", routes.lookup("2001:db8:1::1"));
+        assertEquals("documentation", routes.lookup(0x20010DB800020000L, 1L));
+        assertNull(routes.lookup("2001:db9::1"));
+        assertEquals("site", routes.get(0x20010DB800010000L, 0L, 48));
+
+        routes.insert(0x20010DB800010000L, 0x8000000000000000L, 65, "low half");
+        assertEquals("low half", routes.lookup(0x20010DB800010000L, -1L));
+        assertEquals("site", routes.lookup(0x20010DB800010000L, 1L));
+    }
+
+    @Test
+    void testInvalidInput() {
+        CidrTrie<String> routes = new CidrTrie<>();
+        assertThrows(IllegalArgumentException.class, () -> routes.insert(0, 33, "x"));
+        assertThrows(IllegalArgumentException.class, () -> routes.insert("10.0.0.0/x", "x"));
+        assertThrows(IllegalArgumentException.class, () -> routes.insert("example.com/8", "x"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("300.1.1.1"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("256.0.0.1"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("1.2.3"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("1.2.3.4."));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup(".:"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup(":::"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("1::2::3"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("1:2:3:4:5:6:7"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("1:2:3:4:5:6:7:8:9"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("1:2:3:4:5:6:7::8"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("12345::"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("::1.2.3.4:5"));
+        assertThrows(IllegalArgumentException.class, () -> routes.lookup("::ffff:300.0.0.1"));
+    }
+
+    @Test
+    void testParsesLiteralsLikeInetAddress() throws Exception {
+        String[] literals = {
+                "0.0.0.0", "255.255.255.255", "10.1.2.3", "::", "::1", "1::", "2001:db8::1",
+                "2001:DB8:0:0:8:800:200C:417A", "fe80::1:2:3:4:5:6", "1:2:3:4:5:6:7::",
+                "::1:2:3:4:5:6:7", "::1.2.3.4", "64:ff9b::192.0.2.33", "1:2:3:4:5:6:1.2.3.4"
+        };
+        for (String literal : literals) {
+            CidrTrie<String> routes = new CidrTrie<>();
+            routes.insert(literal, literal);
+            // getByName does not use the name service for these, they are all literals
+            assertEquals(literal, routes.lookup(InetAddress.getByName(literal)), literal);
+            assertEquals(literal, routes.lookup(literal), literal);
+        }
+    }
+
+    @Test
+    void testIpv4MappedBlocks() throws Exception {
+        CidrTrie<String> routes = new CidrTrie<>();
+        routes.insert("::ffff:10.0.0.0/104", "internal");
+        routes.insert("::ffff:10.1.2.3", "host");
+
+        assertEquals("internal", routes.get(0x0A000000, 8));
+        assertEquals("host", routes.get(0x0A010203, 32));
+        assertEquals("internal", routes.lookup("10.9.9.9"));
+        assertEquals("internal", routes.lookup("::ffff:10.9.9.9"));
+        assertEquals("host", routes.lookup(InetAddress.getByName("::ffff:10.1.2.3")));
+        assertNull(routes.lookup(0L, 0x0000FFFF0A010203L)); // nothing was stored as IPv6
+        assertEquals(2, routes.size());
+
+        assertThrows(IllegalArgumentException.class, () -> routes.insert("::ffff:0.0.0.0/95", "x"));
+        assertThrows(IllegalArgumentException.class, () -> routes.insert("::ffff:0.0.0.0/129", "x"));
+    }
+
+    @Test
+    void testRandomBlocksAgainstLinearScan() {
+        Random random = new Random(14);
+        CidrTrie<Integer> routes = new CidrTrie<>();
+        List<int[]> blocks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            int length = random.nextInt(33);
+            int address = length == 0 ? 0 : random.nextInt() & (-1 << (32 - length));
+            routes.insert(address, length, i);
+            blocks.removeIf(block -> block[0] == address && block[1] == length);
+            blocks.add(new int[] {address, length, i});
+        }
+
+        for (int i = 0; i < 2000; i++) {
+            int address = random.nextInt();
+            int[] best = null;
+            for (int[] block : blocks) {
+                int mask = block[1] == 0 ? 0 : -1 << (32 - block[1]);
+                if ((address & mask) == block[0] && (best == null || block[1] > best[1])) best = block;
+            }
+            assertEquals(best == null ? null : best[2], routes.lookup(address));
+        }
+    }
+}
@@ -0,0 +1,122 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput of {@link ConcurrentTrie} against a {@link Trie} behind a global lock,
+ * with a read-mostly mix (90% get/startsWith/listKeysMatching, 10% insert/remove).
+ * Run the main method, results are printed to standard output.
+ */
+public class ConcurrentTrieBenchmark {
+    private static final int KEY_COUNT = 100_000;
+    private static final long RUN_MILLIS = 2_000;
+
+    private interface Target {
+        void insert(String key, Integer value);
+        boolean remove(String key);
+        Integer get(String key);
+        boolean startsWith(String prefix);
+        List<String> listKeysMatching(String prefix, int maxMatches);
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] keys = generateKeys();
+        int maxThreads = Runtime.getRuntime().availableProcessors();
+
+        System.out.printf("%-8s %20s %20s%n", "threads", "synchronized ops/s", "concurrent ops/s");
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            long locked = run(synchronizedTrie(keys), keys, threads);
+            long lockFree = run(concurrentTrie(keys), keys, threads);
+            System.out.printf("%-8d %20d %20d%n", threads, locked, lockFree);
+        }
+    }
+
+    private static long run(Target target, String[] keys, int threads) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        LongAdder ops = new LongAdder();
+        long deadline = System.currentTimeMillis() + RUN_MILLIS;
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int seed = t;
+            futures.add(executor.submit(() -> {
+                Random random = new Random(seed);
+                long done = 0;
+                while ((done & 1023) != 0 || System.currentTimeMillis() < deadline) {
+                    String key = keys[random.nextInt(keys.length)];
+                    int roll = random.nextInt(100);
+                    if (roll < 60) {
+                        target.get(key);
+                    } else if (roll < 80) {
+                        target.startsWith(key.substring(0, 4));
+                    } else if (roll < 90) {
+                        target.listKeysMatching(key.substring(0, 5), 10);
+                    } else if (roll < 95) {
+                        target.insert(key, roll);
+                    } else {
+                        target.remove(key);
+                    }
+                    done++;
+                }
+                ops.add(done);
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+        return ops.sum() * 1000 / RUN_MILLIS;
+    }
+
+    private static String[] generateKeys() {
+        Random random = new Random(42);
+        String[] keys = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 6 + random.nextInt(10);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(26)));
+            }
+            keys[i] = key.toString();
+        }
+        return keys;
+    }
+
+    private static Target synchronizedTrie(String[] keys) {
+        Trie<Integer> trie = new Trie<>();
+        for (String key : keys) trie.insert(key, 0);
+
+        Object lock = new Object();
+        return new Target() {
+            public void insert(String key, Integer value) { synchronized (lock) { trie.insert(key, value); } }
+            public boolean remove(String key) { synchronized (lock) { return trie.remove(key); } }
+            public Integer get(String key) { synchronized (lock) { return trie.get(key); } }
+            public boolean startsWith(String prefix) { synchronized (lock) { return trie.startsWith(prefix); } }
+            public List<String> listKeysMatching(String prefix, int maxMatches) {
+                synchronized (lock) { return trie.listKeysMatching(prefix, maxMatches); }
+            }
+        };
+    }
+
+    private static Target concurrentTrie(String[] keys) {
+        ConcurrentTrie<Integer> trie = new ConcurrentTrie<>();
+        for (String key : keys) trie.insert(key, 0);
+
+        return new Target() {
+            public void insert(String key, Integer value) { trie.insert(key, value); }
+            public boolean remove(String key) { return trie.remove(key); }
+            public Integer get(String key) { return trie.get(key); }
+            public boolean startsWith(String prefix) { return trie.startsWith(prefix); }
+            public List<String> listKeysMatching(String prefix, int maxMatches) {
+                return trie.listKeysMatching(prefix, maxMatches);
+            }
+        };
+    }
+}
@@ -0,0 +1,119 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+class ConcurrentTrieTest {
+
+    @Test
+    void testInsertGetAndRemove() {
+        ConcurrentTrie<String> trie = new ConcurrentTrie<>();
+        trie.insert("apple", "fruit");
+        trie.insert("app", "prefix");
+
+        assertTrue(trie.contains("apple"));
+        assertEquals("prefix", trie.get("app"));
+        assertFalse(trie.contains("ap"));
+        assertTrue(trie.startsWith("ap"));
+
+        assertTrue(trie.remove("apple"));
+        assertFalse(trie.remove("apple"));
+        assertFalse(trie.startsWith("appl"));
+        assertTrue(trie.contains("app"));
+
+        assertTrue(trie.remove("app"));
+        assertTrue(trie.isEmpty());
+        assertFalse(trie.startsWith("a"));
+    }
+
+    @Test
+    void testSetAndListKeys() {
+        ConcurrentTrie<String> trie = new ConcurrentTrie<>();
+        trie.insert(Arrays.asList("ap", "app", "apple", "apricot", "banana"));
+
+        assertTrue(trie.set("apple", "fruit"));
+        assertEquals("fruit", trie.get("apple"));
+        assertFalse(trie.set("appl", "nope"));
+
+        assertEquals(List.of("ap", "app", "apple", "apricot"), trie.listKeysMatching("ap"));
+        assertEquals(List.of("ap", "app"), trie.listKeysMatching("ap", 2));
+        assertEquals(5, trie.getTrieAsMap().size());
+
+        trie.clear();
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void testConcurrentWritersAndReaders() throws Exception {
+        int writers = 4;
+        int keysPerWriter = 2000;
+        ExecutorService executor = Executors.newFixedThreadPool(writers + 2);
+        ConcurrentTrie<Integer> trie = new ConcurrentTrie<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        // keys shared across writers so inserts and prunes race on the same nodes
+        List<Future<?>> futures = new ArrayList<>();
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            futures.add(executor.submit(() -> {
+                for (int round = 0; round < 3; round++) {
+                    for (int i = 0; i < keysPerWriter; i++) {
+                        trie.insert("key" + i + "/" + writer, i);
+                    }
+                    for (int i = 0; i < keysPerWriter; i++) {
+                        if (i % 2 == 0) trie.remove("key" + i + "/" + writer);
+                    }
+                    if (round < 2) {
+                        for (int i = 0; i < keysPerWriter; i++) {
+                            trie.remove("key" + i + "/" + writer);
+                        }
+                    }
+                }
+            }));
+        }
+
+        for (int r = 0; r < 2; r++) {
+            executor.submit(() -> {
+                try {
+                    while (running.get()) {
+                        for (String key : trie.listKeysMatching("key1", 50)) {
+                            assertTrue(key.startsWith("key1"));
+                        }
+                        Integer value = trie.get("key7/0");
+                        assertTrue(value == null || value == 7);
+                        trie.startsWith("key19");
+                    }
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+            });
+        }
+
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        running.set(false);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertNull(failure.get());
+
+        Map<String, Integer> expected = new HashMap<>();
+        for (int w = 0; w < writers; w++) {
+            for (int i = 1; i < keysPerWriter; i += 2) {
+                expected.put("key" + i + "/" + w, i);
+            }
+        }
+        assertEquals(expected, trie.getTrieAsMap());
+        for (int w = 0; w < writers; w++) {
+            assertFalse(trie.contains("key0/" + w));
+            assertEquals(1, trie.get("key1/" + w));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.stream.Stream;
+
+class DawgTest {
+
+    @Test
+    void testContainsAndStartsWith() {
+        Dawg dawg = Dawg.fromSortedKeys(Stream.of("tap", "taps", "top", "tops"));
+
+        assertEquals(4, dawg.size());
+        assertTrue(dawg.contains("tap"));
+        assertTrue(dawg.contains("tops"));
+        assertFalse(dawg.contains("to"));
+        assertFalse(dawg.contains("tapss"));
+        assertTrue(dawg.startsWith("to"));
+        assertFalse(dawg.startsWith("x"));
+    }
+
+    @Test
+    void testSuffixSharing() {
+        Dawg dawg = Dawg.fromSortedKeys(Stream.of("tap", "taps", "top", "tops"));
+        // t -> {a,o} -> p(final) -> s(final): root, t, a/o merged, p, s
+        assertEquals(5, dawg.stateCount());
+    }
+
+    @Test
+    void testListKeysMatching() {
+        Dawg dawg = new Dawg.Builder()
+                .add("ap").add("app").add("apple").add("apricot").add("apricot").add("banana")
+                .build();
+
+        assertEquals(List.of("ap", "app", "apple", "apricot"), dawg.listKeysMatching("ap"));
+        assertEquals(List.of("ap", "app"), dawg.listKeysMatching("ap", 2));
+        assertEquals(5, dawg.listKeys().size());
+        assertTrue(dawg.listKeysMatching("c").isEmpty());
+    }
+
+    @Test
+    void testUnsortedKeysAreRejected() {
+        Dawg.Builder builder = new Dawg.Builder().add("b");
+        assertThrows(IllegalArgumentException.class, () -> builder.add("a"));
+    }
+
+    @Test
+    void testFromSortedFile() throws IOException {
+        Path file = Files.createTempFile("dawg", ".txt");
+        try {
+            Files.write(file, List.of("cat", "cats", "dog", "dogs"));
+            Dawg dawg = Dawg.fromSortedFile(file);
+            assertEquals(List.of("cat", "cats", "dog", "dogs"), dawg.listKeys());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRandomKeysAgainstTrie() {
+        Random random = new Random(17);
+        TreeSet<String> keys = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = random.nextInt(7);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(5)));
+            }
+            keys.add(key.toString());
+        }
+
+        Dawg dawg = Dawg.fromSortedKeys(keys.stream());
+        assertEquals(new ArrayList<>(keys), dawg.listKeys());
+        assertEquals(new Trie<String>(new ArrayList<>(keys)).listKeysMatching("ab"), dawg.listKeysMatching("ab"));
+        for (String key : keys) {
+            assertTrue(dawg.contains(key));
+            assertFalse(dawg.contains(key + "z"));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class FrozenTrieTest {
+
+    @Test
+    void testFreezeLookups() {
+        Trie<String> trie = new Trie<>();
+        trie.insert("apple", "fruit");
+        trie.insert("app", "prefix");
+        trie.insert("apricot", "fruit");
+        trie.insert("car", "vehicle");
+
+        FrozenTrie<String> frozen = trie.freeze();
+        assertEquals(4, frozen.size());
+        assertTrue(frozen.contains("apple"));
+        assertFalse(frozen.contains("ap"));
+        assertFalse(frozen.contains("apples"));
+        assertFalse(frozen.contains("zebra"));
+        assertTrue(frozen.startsWith("apr"));
+        assertFalse(frozen.startsWith("cat"));
+        assertEquals("vehicle", frozen.get("car"));
+        assertNull(frozen.get("ca"));
+        assertNull(frozen.get("\u00e9"));
+    }
+
+    @Test
+    void testFreezeIsACopy() {
+        Trie<String> trie = new Trie<>();
+        trie.insert("apple", "fruit");
+        FrozenTrie<String> frozen = trie.freeze();
+
+        trie.insert("banana", "fruit");
+        trie.remove("apple");
+        assertTrue(frozen.contains("apple"));
+        assertFalse(frozen.contains("banana"));
+    }
+
+    @Test
+    void testListKeysMatching() {
+        Trie<String> trie = new Trie<>();
+        trie.insert(Arrays.asList("ap", "app", "apple", "apricot", "banana"));
+        FrozenTrie<String> frozen = trie.freeze();
+
+        assertEquals(List.of("ap", "app", "apple", "apricot"), frozen.listKeysMatching("ap"));
+        assertEquals(List.of("ap", "app"), frozen.listKeysMatching("ap", 2));
+        assertTrue(frozen.listKeysMatching("c").isEmpty());
+        assertEquals(5, frozen.listKeys().size());
+    }
+
+    @Test
+    void testEmptyTrie() {
+        Trie<String> trie = new Trie<>();
+        FrozenTrie<String> frozen = trie.freeze();
+        assertTrue(frozen.isEmpty());
+        assertEquals(trie.startsWith(""), frozen.startsWith(""));
+        assertTrue(frozen.startsWith(""));
+        assertFalse(frozen.startsWith("a"));
+        assertFalse(frozen.contains("a"));
+        assertTrue(frozen.listKeys().isEmpty());
+    }
+
+    @Test
+    void testRandomKeysAgainstTrie() {
+        Random random = new Random(3);
+        Trie<Integer> trie = new Trie<>();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('0' + random.nextInt(75)));
+            }
+            trie.insert(key.toString(), i);
+        }
+
+        FrozenTrie<Integer> frozen = trie.freeze();
+        assertEquals(trie.getTrieAsMap(), frozen.getTrieAsMap());
+        for (String key : trie.listKeys()) {
+            assertEquals(trie.get(key), frozen.get(key));
+            assertFalse(frozen.contains(key + '~'));
+        }
+    }
+
+    @Test
+    void testIgnoreCase() {
+        Trie<String> trie = new Trie<>(true);
+        trie.insert("Error", "e");
+        trie.insert("error-code", "c");
+
+        FrozenTrie<String> frozen = trie.freeze();
+        assertTrue(frozen.isIgnoreCase());
+        assertTrue(trie.contains("ERROR"));
+        assertTrue(frozen.contains("ERROR"));
+        assertTrue(frozen.contains("eRrOr"));
+        assertTrue(frozen.startsWith("ERROR-"));
+        assertEquals("c", frozen.get("Error-Code"));
+        assertEquals(List.of("error", "error-code"), frozen.listKeysMatching("ERR"));
+        assertFalse(new Trie<String>(List.of("Error")).freeze().contains("ERROR"));
+    }
+
+    @Test
+    void testListKeysOverLargeAlphabet() {
+        Random random = new Random(9);
+        Trie<Integer> trie = new Trie<>();
+        for (int i = 0; i < 20000; i++) {
+            char[] key = new char[1 + random.nextInt(4)];
+            for (int j = 0; j < key.length; j++) {
+                key[j] = (char) (1 + random.nextInt(0xd000));
+            }
+            trie.insert(new String(key), i);
+        }
+
+        FrozenTrie<Integer> frozen = trie.freeze();
+        assertEquals(trie.listKeys(), frozen.listKeys());
+        assertEquals(trie.getTrieAsMap(), frozen.getTrieAsMap());
+        String prefix = trie.listKeys().get(100).substring(0, 1);
+        assertEquals(trie.listKeysMatching(prefix, 3), frozen.listKeysMatching(prefix, 3));
+    }
+}
@@ -0,0 +1,82 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Time per query of {@link Trie#fuzzyMatches(String, int, int)} against computing the
+ * edit distance to every key from {@link Trie#listKeys()}.
+ * Run the main method, results are printed to standard output.
+ */
+public class FuzzyMatchBenchmark {
+    private static final int KEY_COUNT = 200_000;
+    private static final int QUERY_COUNT = 50;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Trie<String> trie = new Trie<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            trie.insert(randomWord(random));
+        }
+
+        List<String> queries = new ArrayList<>();
+        for (int i = 0; i < QUERY_COUNT; i++) {
+            queries.add(randomWord(random));
+        }
+
+        System.out.printf("%-9s %18s %18s%n", "maxEdits", "trie us/query", "brute us/query");
+        for (int maxEdits = 1; maxEdits <= 3; maxEdits++) {
+            long trieMatches = 0;
+            long start = System.nanoTime();
+            for (String query : queries) {
+                trieMatches += trie.fuzzyMatches(query, maxEdits, -1).size();
+            }
+            long trieNanos = System.nanoTime() - start;
+
+            long bruteMatches = 0;
+            start = System.nanoTime();
+            for (String query : queries) {
+                for (String key : trie.listKeys()) {
+                    if (levenshtein(query, key) <= maxEdits) bruteMatches++;
+                }
+            }
+            long bruteNanos = System.nanoTime() - start;
+
+            if (trieMatches != bruteMatches) {
+                throw new IllegalStateException("Result mismatch: " + trieMatches + " != " + bruteMatches);
+            }
+            System.out.printf("%-9d %18d %18d%n", maxEdits,
+                    trieNanos / 1000 / QUERY_COUNT, bruteNanos / 1000 / QUERY_COUNT);
+        }
+    }
+
+    private static String randomWord(Random random) {
+        StringBuilder word = new StringBuilder();
+        int length = 4 + random.nextInt(8);
+        for (int i = 0; i < length; i++) {
+            word.append((char) ('a' + random.nextInt(26)));
+        }
+        return word.toString();
+    }
+
+    private static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitute = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), substitute);
+            }
+            int[] swap = previous;
+            previous = row;
+            row = swap;
+        }
+        return previous[b.length()];
+    }
+}
@@ -0,0 +1,67 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class IntObjectMapTest {
+
+    @Test
+    void testBasicOperations() {
+        IntObjectMap<String> map = new IntObjectMap<>();
+        assertNull(map.put(404, "Not Found"));
+        assertEquals("Not Found", map.put(404, "Missing"));
+        assertNull(map.putIfAbsent(-1, "negative"));
+        assertEquals("negative", map.putIfAbsent(-1, "other"));
+        map.put(0, "zero");
+
+        assertEquals("Missing", map.get(404));
+        assertEquals("zero", map.get(0));
+        assertNull(map.get(500));
+        assertEquals("default", map.getOrDefault(500, "default"));
+        assertEquals(3, map.size());
+        assertArrayEquals(new int[] {-1, 0, 404}, Arrays.stream(map.keys()).sorted().toArray());
+
+        assertEquals("zero", map.remove(0));
+        assertNull(map.remove(0));
+        assertFalse(map.containsKey(0));
+        assertThrows(NullPointerException.class, () -> map.put(1, null));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(404));
+    }
+
+    @Test
+    void testRandomAgainstHashMap() {
+        Random random = new Random(25);
+        IntObjectMap<Integer> map = new IntObjectMap<>(4);
+        Map<Integer, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            // multiples of 1024 collide in the low bits, to exercise the probe chains
+            int key = random.nextBoolean() ? random.nextInt(200) * 1024 : random.nextInt(300) - 100;
+            switch (random.nextInt(3)) {
+                case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                case 1 -> assertEquals(expected.get(key), map.get(key));
+                default -> assertEquals(expected.put(key, i), map.put(key, i));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        Map<Integer, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testCapacityDoesNotOverflow() {
+        assertEquals(8, IntObjectMap.capacityFor(0));
+        assertEquals(64, IntObjectMap.capacityFor(20));
+        assertEquals(1 << 30, IntObjectMap.capacityFor(1 << 28));
+        assertEquals(1 << 30, IntObjectMap.capacityFor(1 << 29));
+        assertEquals(1 << 30, IntObjectMap.capacityFor(Integer.MAX_VALUE));
+    }
+}
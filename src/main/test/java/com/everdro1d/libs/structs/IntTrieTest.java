@@ -0,0 +1,60 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class IntTrieTest {
+
+    @Test
+    void testPutGetAndAddTo() {
+        IntTrie trie = new IntTrie();
+        assertEquals(0, trie.putInt("apple", 5));
+        assertEquals(5, trie.putInt("apple", 7));
+        assertEquals(10, trie.addTo("apple", 3));
+        assertEquals(1, trie.increment("app"));
+
+        assertEquals(10, trie.getInt("apple"));
+        assertEquals(0, trie.getInt("missing"));
+        assertEquals(-1, trie.getOrDefault("missing", -1));
+        assertFalse(trie.contains("ap"));
+        assertTrue(trie.startsWith("ap"));
+        assertEquals(List.of("app", "apple"), trie.listKeys());
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void testRemove() {
+        IntTrie trie = new IntTrie();
+        trie.putInt("app", 1);
+        trie.putInt("apple", 2);
+
+        assertTrue(trie.remove("apple"));
+        assertFalse(trie.remove("apple"));
+        assertFalse(trie.startsWith("appl"));
+        assertEquals(1, trie.size());
+
+        // a removed key starts counting from zero again
+        assertEquals(1, trie.increment("apple"));
+    }
+
+    @Test
+    void testWordCountsAgainstMap() {
+        Random random = new Random(12);
+        IntTrie trie = new IntTrie();
+        Map<String, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            String word = Integer.toString(random.nextInt(1000), 5);
+            trie.increment(word);
+            expected.merge(word, 1, Integer::sum);
+        }
+
+        Map<String, Integer> actual = new LinkedHashMap<>();
+        trie.forEach(actual::put);
+        assertEquals(expected, actual);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+    }
+}
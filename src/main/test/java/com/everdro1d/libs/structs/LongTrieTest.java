@@ -0,0 +1,94 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class LongTrieTest {
+
+    @Test
+    void testPutGetAndAddTo() {
+        LongTrie trie = new LongTrie();
+        assertEquals(0, trie.putLong("apple", 5));
+        assertEquals(5, trie.putLong("apple", 7));
+        assertEquals(10, trie.addTo("apple", 3));
+        assertEquals(1, trie.increment("app"));
+
+        assertEquals(10, trie.getLong("apple"));
+        assertEquals(0, trie.getLong("missing"));
+        assertEquals(-1, trie.getOrDefault("missing", -1));
+        assertFalse(trie.contains("ap"));
+        assertTrue(trie.startsWith("ap"));
+        assertEquals(List.of("app", "apple"), trie.listKeys());
+        assertEquals(2, trie.size());
+    }
+
+    @Test
+    void testValuesPastIntRange() {
+        LongTrie trie = new LongTrie();
+        trie.putLong("bytes", Integer.MAX_VALUE);
+        assertEquals(Integer.MAX_VALUE + 10L, trie.addTo("bytes", 10));
+        assertEquals(Integer.MAX_VALUE + 11L, trie.increment("bytes"));
+
+        assertEquals(Long.MIN_VALUE, trie.addTo("total", Long.MIN_VALUE));
+        trie.putLong("low", Integer.MIN_VALUE - 1L);
+        assertEquals(Integer.MIN_VALUE - 1L, trie.getLong("low"));
+        assertEquals(3L * Integer.MAX_VALUE, trie.addTo("sum", 3L * Integer.MAX_VALUE));
+    }
+
+    @Test
+    void testRemove() {
+        LongTrie trie = new LongTrie();
+        trie.putLong("app", 1);
+        trie.putLong("apple", 5_000_000_000L);
+
+        assertTrue(trie.remove("apple"));
+        assertFalse(trie.remove("apple"));
+        assertFalse(trie.remove("ap"));
+        assertFalse(trie.startsWith("appl"));
+        assertEquals(0, trie.getLong("apple"));
+        assertEquals(1, trie.size());
+
+        // a removed key starts counting from zero again
+        assertEquals(1, trie.increment("apple"));
+
+        trie.clear();
+        assertTrue(trie.isEmpty());
+        assertTrue(trie.startsWith(""));
+        assertFalse(trie.startsWith("a"));
+    }
+
+    @Test
+    void testForEach() {
+        LongTrie trie = new LongTrie();
+        trie.putLong("bytes", Integer.MAX_VALUE + 10L);
+        trie.increment("files");
+        trie.increment("file");
+
+        Map<String, Long> actual = new LinkedHashMap<>();
+        trie.forEach(actual::put);
+        assertEquals(Map.of("bytes", Integer.MAX_VALUE + 10L, "file", 1L, "files", 1L), actual);
+        assertEquals(List.of("bytes", "file", "files"), new ArrayList<>(actual.keySet()));
+    }
+
+    @Test
+    void testSizesAgainstMap() {
+        Random random = new Random(12);
+        LongTrie trie = new LongTrie();
+        Map<String, Long> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            String word = Integer.toString(random.nextInt(1000), 5);
+            long size = random.nextInt() & 0xffffffffL;
+            trie.addTo(word, size);
+            expected.merge(word, size, Long::sum);
+        }
+
+        Map<String, Long> actual = new LinkedHashMap<>();
+        trie.forEach(actual::put);
+        assertEquals(expected, actual);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(actual.keySet()));
+    }
+}
@@ -0,0 +1,147 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+class MappedTrieTest {
+
+    @Test
+    void testWriteAndMap() throws IOException {
+        Trie<String> trie = new Trie<>();
+        trie.insert("apple", "fruit");
+        trie.insert("app", "prefix");
+        trie.insert("apricot", "fruit");
+        trie.insert("car");
+
+        Path file = Files.createTempFile("trie", ".bin");
+        try {
+            trie.writeTo(file, TrieValueCodec.strings());
+            MappedTrie<String> mapped = MappedTrie.open(file, TrieValueCodec.strings());
+
+            assertEquals(4, mapped.size());
+            assertTrue(mapped.contains("apple"));
+            assertTrue(mapped.contains("car"));
+            assertFalse(mapped.contains("ap"));
+            assertTrue(mapped.startsWith("ap"));
+            assertFalse(mapped.startsWith("b"));
+            assertEquals("fruit", mapped.get("apple"));
+            assertNull(mapped.get("car"));
+            assertNull(mapped.get("ca"));
+
+            assertEquals(List.of("app", "apple", "apricot"), mapped.listKeysMatching("ap"));
+            assertEquals(List.of("app", "apple"), mapped.listKeysMatching("ap", 2));
+            assertEquals(trie.getTrieAsMap(), mapped.getTrieAsMap());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testIntegerCodecAndRandomKeys() throws IOException {
+        Random random = new Random(5);
+        Trie<Integer> trie = new Trie<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(20)));
+            }
+            trie.insert(key.toString(), i);
+        }
+
+        Path file = Files.createTempFile("trie", ".bin");
+        try {
+            trie.writeTo(file, TrieValueCodec.integers());
+            MappedTrie<Integer> mapped = MappedTrie.open(file, TrieValueCodec.integers());
+            for (String key : trie.listKeys()) {
+                assertEquals(trie.get(key), mapped.get(key));
+            }
+            assertEquals(trie.getTrieAsMap(), mapped.getTrieAsMap());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testEmptyTrie() throws IOException {
+        Trie<String> trie = new Trie<>();
+        Path file = Files.createTempFile("trie", ".bin");
+        try {
+            trie.writeTo(file, TrieValueCodec.strings());
+            MappedTrie<String> mapped = MappedTrie.open(file, TrieValueCodec.strings());
+            assertTrue(mapped.isEmpty());
+            assertEquals(trie.startsWith(""), mapped.startsWith(""));
+            assertTrue(mapped.startsWith(""));
+            assertFalse(mapped.startsWith("a"));
+            assertTrue(mapped.listKeys().isEmpty());
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testRejectsOtherFiles() throws IOException {
+        Path file = Files.createTempFile("trie", ".bin");
+        try {
+            Files.write(file, new byte[32]);
+            assertThrows(IOException.class, () -> MappedTrie.open(file, TrieValueCodec.strings()));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testIgnoreCase() throws IOException {
+        Trie<String> trie = new Trie<>(true);
+        trie.insert("Error", "e");
+        trie.insert("error-code", "c");
+
+        Path file = Files.createTempFile("trie", ".bin");
+        try {
+            trie.writeTo(file, TrieValueCodec.strings());
+            MappedTrie<String> mapped = MappedTrie.open(file, TrieValueCodec.strings());
+
+            assertTrue(mapped.isIgnoreCase());
+            assertTrue(mapped.contains("ERROR"));
+            assertTrue(mapped.startsWith("ERROR-"));
+            assertEquals("c", mapped.get("Error-Code"));
+            assertEquals(List.of("error", "error-code"), mapped.listKeysMatching("ERR"));
+
+            new Trie<String>(List.of("Error")).writeTo(file, TrieValueCodec.strings());
+            MappedTrie<String> exact = MappedTrie.open(file, TrieValueCodec.strings());
+            assertFalse(exact.isIgnoreCase());
+            assertFalse(exact.contains("ERROR"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void testReadsVersion1Files() throws IOException {
+        // magic, version 1, no flags; an empty root node; keyCount 0, rootOffset 8, magic
+        ByteBuffer bytes = ByteBuffer.allocate(25);
+        bytes.putInt(0x44545249).putInt(1);
+        bytes.put((byte) 0).putInt(0);
+        bytes.putInt(0).putInt(8).putInt(0x44545249);
+
+        Path file = Files.createTempFile("trie", ".bin");
+        try {
+            Files.write(file, bytes.array());
+            MappedTrie<String> mapped = MappedTrie.open(file, TrieValueCodec.strings());
+            assertTrue(mapped.isEmpty());
+            assertFalse(mapped.isIgnoreCase());
+            assertFalse(mapped.contains(""));
+            assertTrue(mapped.startsWith(""));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
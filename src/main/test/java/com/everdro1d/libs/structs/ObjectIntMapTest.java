@@ -0,0 +1,67 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class ObjectIntMapTest {
+
+    @Test
+    void testCounters() {
+        ObjectIntMap<String> counts = new ObjectIntMap<>();
+        for (String word : "the cat and the hat and the bat".split(" ")) {
+            counts.increment(word);
+        }
+
+        assertEquals(3, counts.getInt("the"));
+        assertEquals(2, counts.getInt("and"));
+        assertEquals(0, counts.getInt("dog"));
+        assertEquals(-1, counts.getOrDefault("dog", -1));
+        assertEquals(5, counts.size());
+
+        assertEquals(3, counts.putInt("the", 10));
+        assertEquals(0, counts.putInt("dog", 4));
+        assertEquals(14, counts.addTo("dog", 10));
+        assertTrue(counts.remove("cat"));
+        assertFalse(counts.remove("cat"));
+        assertFalse(counts.containsKey(null));
+        assertThrows(NullPointerException.class, () -> counts.increment(null));
+    }
+
+    @Test
+    void testRandomAgainstHashMap() {
+        Random random = new Random(25);
+        ObjectIntMap<String> map = new ObjectIntMap<>();
+        Map<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            String key = "k" + random.nextInt(500);
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.remove(key) != null, map.remove(key));
+                case 1 -> assertEquals(expected.getOrDefault(key, 0), map.getInt(key));
+                case 2 -> assertEquals(expected.merge(key, i, Integer::sum), map.addTo(key, i));
+                default -> {
+                    Integer previous = expected.put(key, i);
+                    assertEquals(previous == null ? 0 : previous, map.putInt(key, i));
+                }
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        Map<String, Integer> actual = new HashMap<>();
+        map.forEach(actual::put);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void testCapacityDoesNotOverflow() {
+        assertEquals(8, ObjectIntMap.capacityFor(0));
+        assertEquals(64, ObjectIntMap.capacityFor(20));
+        assertEquals(1 << 30, ObjectIntMap.capacityFor(1 << 28));
+        assertEquals(1 << 30, ObjectIntMap.capacityFor(1 << 29));
+        assertEquals(1 << 30, ObjectIntMap.capacityFor(Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,123 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class PersistentTrieTest {
+
+    @Test
+    void testInsertGetRemove() {
+        PersistentTrie<Integer> trie = new PersistentTrie<>();
+        trie.insert("apple", 1);
+        trie.insert("app", 2);
+        trie.insert("banana", 3);
+
+        assertEquals(3, trie.size());
+        assertEquals(1, trie.get("apple"));
+        assertTrue(trie.startsWith("ban"));
+        assertFalse(trie.contains("ap"));
+        assertEquals(List.of("app", "apple"), trie.listKeysMatching("ap"));
+
+        assertTrue(trie.remove("apple"));
+        assertFalse(trie.remove("apple"));
+        assertFalse(trie.startsWith("appl"));
+        assertEquals(2, trie.size());
+
+        assertTrue(trie.set("app", 5));
+        assertFalse(trie.set("missing", 5));
+        assertEquals(5, trie.get("app"));
+    }
+
+    @Test
+    void testSnapshotIsUnaffectedByLaterUpdates() {
+        PersistentTrie<String> trie = new PersistentTrie<>(Map.of("one", "1", "two", "2"));
+        PersistentTrie.Snapshot<String> before = trie.snapshot();
+
+        trie.remove("one");
+        trie.insert("three", "3");
+        trie.set("two", "II");
+
+        assertEquals(Map.of("one", "1", "two", "2"), before.getTrieAsMap());
+        assertEquals(Map.of("two", "II", "three", "3"), trie.getTrieAsMap());
+        assertEquals(2, before.size());
+        assertEquals("2", before.get("two"));
+        assertFalse(before.contains("three"));
+    }
+
+    @Test
+    void testSnapshotUpdatesReturnNewVersions() {
+        PersistentTrie.Snapshot<Integer> empty = new PersistentTrie<Integer>().snapshot();
+        PersistentTrie.Snapshot<Integer> one = empty.insert("apple", 1);
+        PersistentTrie.Snapshot<Integer> two = one.insert("app", 2);
+
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertFalse(one.contains("app"));
+        assertEquals(2, two.get("app"));
+        assertEquals(1, two.get("apple"));
+
+        PersistentTrie.Snapshot<Integer> removed = two.remove("apple");
+        assertFalse(removed.contains("apple"));
+        assertTrue(two.contains("apple"));
+        assertSame(removed, removed.remove("apple"));
+        assertEquals(List.of("app"), removed.listKeysMatching("", -1));
+    }
+
+    @Test
+    void testRandomOperationsAgainstMap() {
+        Random random = new Random(11);
+        PersistentTrie<Integer> trie = new PersistentTrie<>();
+        Map<String, Integer> expected = new HashMap<>();
+        List<PersistentTrie.Snapshot<Integer>> snapshots = new ArrayList<>();
+        List<Map<String, Integer>> snapshotContents = new ArrayList<>();
+
+        for (int i = 0; i < 5000; i++) {
+            String key = Integer.toString(random.nextInt(400), 7);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, trie.remove(key));
+            } else {
+                trie.insert(key, i);
+                expected.put(key, i);
+            }
+            if (i % 500 == 0) {
+                snapshots.add(trie.snapshot());
+                snapshotContents.add(new HashMap<>(expected));
+            }
+        }
+
+        assertEquals(expected, trie.getTrieAsMap());
+        assertEquals(expected.size(), trie.size());
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertEquals(snapshotContents.get(i), snapshots.get(i).getTrieAsMap());
+            assertEquals(snapshotContents.get(i).size(), snapshots.get(i).size());
+        }
+    }
+
+    @Test
+    void testConcurrentWritersWithSnapshotReaders() throws InterruptedException {
+        PersistentTrie<Integer> trie = new PersistentTrie<>();
+        int threads = 4;
+        int perThread = 2000;
+        Thread[] workers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            int id = t;
+            workers[t] = new Thread(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    trie.insert(id + ":" + i, i);
+                    if (i % 100 == 0) {
+                        PersistentTrie.Snapshot<Integer> snapshot = trie.snapshot();
+                        assertEquals(snapshot.size(), snapshot.listKeysMatching("", -1).size());
+                    }
+                }
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+
+        assertEquals(threads * perThread, trie.size());
+    }
+}
@@ -0,0 +1,135 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+import java.util.*;
+
+class RadixTrieTest {
+
+    @Test
+    void testInsertAndContains() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.insert("apple", "fruit");
+        assertTrue(trie.contains("apple"));
+        assertFalse(trie.contains("app"));
+        assertFalse(trie.contains("apples"));
+    }
+
+    @Test
+    void testSplitEdges() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.insert("/usr/local/bin", "bin");
+        trie.insert("/usr/local/lib", "lib");
+        trie.insert("/usr", "usr");
+
+        assertEquals("bin", trie.get("/usr/local/bin"));
+        assertEquals("lib", trie.get("/usr/local/lib"));
+        assertEquals("usr", trie.get("/usr"));
+        assertNull(trie.get("/usr/local"));
+        assertFalse(trie.contains("/usr/local/"));
+    }
+
+    @Test
+    void testStartsWith() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.insert("apple", "fruit");
+        trie.insert("application", "software");
+        assertTrue(trie.startsWith("app"));
+        assertTrue(trie.startsWith("appl"));
+        assertTrue(trie.startsWith("applic"));
+        assertTrue(trie.startsWith(""));
+        assertFalse(trie.startsWith("apx"));
+        assertFalse(trie.startsWith("applex"));
+    }
+
+    @Test
+    void testRemoveMergesEdges() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.insert("test", "a");
+        trie.insert("team", "b");
+        trie.insert("tea", "c");
+
+        assertTrue(trie.remove("tea"));
+        assertFalse(trie.remove("tea"));
+        assertFalse(trie.remove("te"));
+        assertEquals("b", trie.get("team"));
+
+        assertTrue(trie.remove("test"));
+        assertEquals("b", trie.get("team"));
+        assertEquals(List.of("team"), trie.listKeys());
+
+        assertTrue(trie.remove("team"));
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void testRemoveAllAndClear() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        List<String> keys = Arrays.asList("apple", "app", "application");
+        trie.insert(keys);
+        assertTrue(trie.containsAll(keys));
+        assertTrue(trie.removeAll(keys));
+        assertTrue(trie.isEmpty());
+
+        trie.insert(keys);
+        trie.clear();
+        assertTrue(trie.isEmpty());
+    }
+
+    @Test
+    void testListKeysMatching() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.insert("apple", "fruit");
+        trie.insert("app", "prefix");
+        trie.insert("apricot", "fruit");
+        trie.insert("ap", "prefix");
+        trie.insert("banana", "fruit");
+
+        assertEquals(List.of("ap", "app", "apple", "apricot"), trie.listKeysMatching("ap"));
+        assertEquals(List.of("apple"), trie.listKeysMatching("appl"));
+        assertEquals(List.of("ap", "app"), trie.listKeysMatching("ap", 2));
+        assertTrue(trie.listKeysMatching("c").isEmpty());
+    }
+
+    @Test
+    void testSet() {
+        RadixTrie<String> trie = new RadixTrie<>();
+        trie.insert("apple", "fruit");
+
+        assertTrue(trie.set("apple", "newFruit"));
+        assertEquals("newFruit", trie.get("apple"));
+
+        assertFalse(trie.set("app", "prefix"));
+        assertNull(trie.get("app"));
+    }
+
+    @Test
+    void testRandomKeysAgainstTrie() {
+        Random random = new Random(7);
+        RadixTrie<Integer> radixTrie = new RadixTrie<>();
+        Trie<Integer> trie = new Trie<>();
+
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(4)));
+            }
+
+            if (random.nextInt(3) == 0) {
+                assertEquals(trie.contains(key.toString()), radixTrie.remove(key.toString()));
+                trie.remove(key.toString());
+            } else {
+                radixTrie.insert(key.toString(), i);
+                trie.insert(key.toString(), i);
+            }
+        }
+
+        assertEquals(trie.getTrieAsMap(), radixTrie.getTrieAsMap());
+        for (String key : trie.listKeys()) {
+            assertEquals(trie.get(key), radixTrie.get(key));
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class SubstringIndexTest {
+
+    @Test
+    void testFindEntries() {
+        SubstringIndex index = new SubstringIndex(List.of("banana.txt", "bandana.pdf", "cabana", "notes.md"));
+
+        assertEquals(List.of("banana.txt", "bandana.pdf", "cabana"), index.findEntries("ana"));
+        assertEquals(List.of("banana.txt", "bandana.pdf", "cabana"), index.findEntries("ban"));
+        assertEquals(List.of("bandana.pdf"), index.findEntries("band"));
+        assertEquals(List.of("notes.md"), index.findEntries(".md"));
+        assertEquals(List.of(), index.findEntries("txtband")); // never across two entries
+        assertEquals(List.of(), index.findEntries("zzz"));
+        assertEquals(4, index.findEntries("").size());
+        assertArrayEquals(new int[] {0, 1}, index.findIds("a."));
+        assertEquals(4, index.countOccurrences("ana")); // twice in banana, overlapping
+    }
+
+    @Test
+    void testIncrementalAdds() {
+        SubstringIndex index = new SubstringIndex();
+        assertEquals(List.of(), index.findEntries("a"));
+
+        assertEquals(0, index.add("alpha"));
+        assertEquals(List.of("alpha"), index.findEntries("lp"));
+        index.add("beta");
+        index.add("");
+        index.add("alphabet");
+        assertEquals(List.of("alpha", "alphabet"), index.findEntries("lph"));
+        assertEquals(List.of("beta", "alphabet"), index.findEntries("bet"));
+        assertEquals("", index.get(2));
+        assertEquals(4, index.size());
+    }
+
+    @Test
+    void testRandomAgainstContains() {
+        Random random = new Random(24);
+        SubstringIndex index = new SubstringIndex();
+        List<String> entries = new ArrayList<>();
+
+        for (int round = 0; round < 60; round++) {
+            for (int i = random.nextInt(20); i >= 0; i--) {
+                String entry = randomString(random, 12);
+                entries.add(entry);
+                index.add(entry);
+            }
+            for (int q = 0; q < 20; q++) {
+                String query = randomString(random, 4);
+                List<String> expected = new ArrayList<>();
+                int occurrences = 0;
+                for (String entry : entries) {
+                    if (entry.contains(query)) expected.add(entry);
+                    for (int i = entry.indexOf(query); i != -1; i = entry.indexOf(query, i + 1)) {
+                        occurrences++;
+                    }
+                }
+                assertEquals(expected, index.findEntries(query), query);
+                assertEquals(occurrences, index.countOccurrences(query), query);
+            }
+        }
+    }
+
+    @Test
+    void testInterleavedAddsAndQueriesBoundIndexingWork() {
+        Random random = new Random(2024);
+        SubstringIndex scanned = new SubstringIndex();
+        SubstringIndex rebuilt = new SubstringIndex();
+        List<String> entries = new ArrayList<>();
+        int totalLength = 0;
+
+        for (int i = 0; i < 4000; i++) {
+            String entry = randomString(random, 12);
+            entries.add(entry);
+            totalLength += entry.length() + 1;
+            scanned.add(entry);
+            rebuilt.add(entry);
+            rebuilt.rebuild(); // index every entry right away, the worst case for merging
+
+            String query = randomString(random, 3);
+            assertEquals(scanned.findEntries(query), rebuilt.findEntries(query), query);
+            assertEquals(scanned.countOccurrences(query), rebuilt.countOccurrences(query), query);
+            if (i % 500 == 0) {
+                List<String> expected = new ArrayList<>();
+                for (String e : entries) {
+                    if (e.contains(query)) expected.add(e);
+                }
+                assertEquals(expected, rebuilt.findEntries(query), query);
+            }
+        }
+
+        // each character is re-indexed only when its segment grows by half
+        int log = 32 - Integer.numberOfLeadingZeros(totalLength);
+        assertTrue(rebuilt.indexedCharacters <= 2L * totalLength * log,
+                rebuilt.indexedCharacters + " characters indexed for a text of " + totalLength);
+        assertTrue(scanned.indexedCharacters <= 2L * totalLength * log,
+                scanned.indexedCharacters + " characters indexed for a text of " + totalLength);
+    }
+
+    private static String randomString(Random random, int maxLength) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = random.nextInt(maxLength); i >= 0; i--) {
+            builder.append(random.nextInt(10) == 0 ? '\uffff' : (char) ('a' + random.nextInt(3)));
+        }
+        return builder.toString();
+    }
+}
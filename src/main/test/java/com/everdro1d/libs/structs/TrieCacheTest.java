@@ -0,0 +1,142 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.*;
+
+class TrieCacheTest {
+
+    @Test
+    void testLeastRecentlyUsedEviction() {
+        TrieCache<Integer> cache = new TrieCache.Builder<Integer>().maximumSize(3).build();
+        cache.put("/a", 1);
+        cache.put("/b", 2);
+        cache.put("/c", 3);
+        assertEquals(1, cache.get("/a")); // /b is now the least recently used
+        cache.put("/d", 4);
+
+        assertNull(cache.get("/b"));
+        assertTrue(cache.containsKey("/a"));
+        assertTrue(cache.containsKey("/c"));
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0.5, cache.getHitRate());
+    }
+
+    @Test
+    void testWeightBound() {
+        TrieCache<String> cache = new TrieCache.Builder<String>()
+                .maximumWeight(10, (key, value) -> value.length())
+                .build();
+        cache.put("x", "aaaa");
+        cache.put("y", "bbbb");
+        cache.put("x", "aa"); // replacing updates the weight and the recency
+        assertEquals(6, cache.weight());
+        cache.put("z", "cccccc");
+
+        assertEquals(8, cache.weight());
+        assertNull(cache.get("y"));
+        assertEquals("aa", cache.get("x"));
+        assertThrows(IllegalArgumentException.class,
+                () -> new TrieCache.Builder<String>().maximumWeight(1, (key, value) -> -1).build().put("k", "v"));
+    }
+
+    @Test
+    void testExpiry() {
+        long[] now = {0};
+        TrieCache<String> afterWrite = new TrieCache.Builder<String>()
+                .expireAfterWrite(Duration.ofSeconds(10))
+                .ticker(() -> now[0])
+                .build();
+        TrieCache<String> afterAccess = new TrieCache.Builder<String>()
+                .expireAfterAccess(Duration.ofSeconds(10))
+                .ticker(() -> now[0])
+                .build();
+        for (TrieCache<String> cache : List.of(afterWrite, afterAccess)) {
+            cache.put("old", "1");
+            cache.put("read", "2");
+        }
+
+        now[0] = Duration.ofSeconds(6).toNanos();
+        afterWrite.get("read");
+        afterAccess.get("read");
+        now[0] = Duration.ofSeconds(12).toNanos();
+
+        assertNull(afterWrite.get("read"));
+        assertEquals("2", afterAccess.get("read"));
+        assertFalse(afterAccess.containsKey("old"));
+        assertEquals(0, afterWrite.size());
+        assertEquals(1, afterAccess.size());
+        assertEquals(2, afterWrite.getEvictionCount());
+    }
+
+    @Test
+    void testInvalidatePrefix() {
+        TrieCache<String> cache = new TrieCache.Builder<String>().maximumSize(100).build();
+        for (String path : List.of("/tmp/a", "/tmp/b/c", "/tmp", "/tmpfile", "/home/user")) {
+            cache.put(path, path.toUpperCase());
+        }
+
+        assertEquals(2, cache.invalidatePrefix("/tmp/"));
+        assertTrue(cache.containsKey("/tmpfile"));
+        assertEquals(2, cache.invalidatePrefix("/tmp")); // "/tmp" and "/tmpfile"
+        assertEquals(1, cache.size());
+        assertEquals("/HOME/USER", cache.get("/home/user"));
+        assertEquals("/HOME/USER", cache.invalidate("/home/user"));
+        assertNull(cache.invalidate("/home/user"));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getEvictionCount());
+
+        // the access list must still be intact after the invalidations
+        for (int i = 0; i < 200; i++) {
+            cache.put("/k" + i, "v");
+        }
+        assertEquals(100, cache.size());
+        assertTrue(cache.containsKey("/k199"));
+        assertFalse(cache.containsKey("/k99"));
+        cache.invalidateAll();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.weight());
+    }
+
+    @Test
+    void testRandomAgainstLinkedHashMap() {
+        Random random = new Random(22);
+        TrieCache<Integer> cache = new TrieCache.Builder<Integer>().maximumSize(20).build();
+        LinkedHashMap<String, Integer> expected = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Integer> eldest) {
+                return size() > 20;
+            }
+        };
+
+        for (int i = 0; i < 5000; i++) {
+            String key = "/" + (char) ('a' + random.nextInt(4)) + "/" + random.nextInt(15);
+            switch (random.nextInt(10)) {
+                case 0 -> {
+                    String prefix = key.substring(0, 2);
+                    int removed = 0;
+                    for (Iterator<String> keys = expected.keySet().iterator(); keys.hasNext(); ) {
+                        if (keys.next().startsWith(prefix)) {
+                            keys.remove();
+                            removed++;
+                        }
+                    }
+                    assertEquals(removed, cache.invalidatePrefix(prefix));
+                }
+                case 1, 2, 3, 4 -> assertEquals(expected.get(key), cache.get(key));
+                default -> {
+                    expected.put(key, i);
+                    cache.put(key, i);
+                }
+            }
+            assertEquals(expected.size(), cache.size());
+        }
+    }
+}
@@ -0,0 +1,172 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+class TrieMapTest {
+
+    @Test
+    void testNavigation() {
+        TrieMap<Integer> map = new TrieMap<>();
+        map.put("apple", 1);
+        map.put("app", 2);
+        map.put("banana", 3);
+        map.put("band", 4);
+
+        assertEquals("app", map.firstKey());
+        assertEquals("band", map.lastKey());
+        assertEquals("banana", map.ceilingKey("b"));
+        assertEquals("apple", map.floorKey("b"));
+        assertEquals("apple", map.lowerKey("banana"));
+        assertEquals("band", map.higherKey("banana"));
+        assertNull(map.higherKey("band"));
+        assertEquals(List.of("app", "apple"), new ArrayList<>(map.headMap("b").keySet()));
+        assertEquals(List.of("band", "banana"), new ArrayList<>(map.tailMap("bana", true).descendingKeySet()));
+        assertEquals(3, map.subMap("apa", "bananas").size());
+
+        assertEquals(2, map.pollFirstEntry().getValue());
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void testViewOfTrie() {
+        Trie<String> trie = new Trie<>(Map.of("one", "1", "two", "2"));
+        NavigableMap<String, String> map = trie.asNavigableMap();
+
+        trie.insert("three", "3");
+        assertEquals(List.of("one", "three", "two"), new ArrayList<>(map.keySet()));
+
+        map.put("four", "4");
+        map.firstEntry().setValue("FOUR");
+        assertEquals("FOUR", trie.get("four"));
+
+        Iterator<String> keys = map.keySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().startsWith("t")) keys.remove();
+        }
+        assertEquals(List.of("four", "one"), trie.listKeys());
+
+        NavigableMap<String, String> tail = map.tailMap("o", true);
+        assertThrows(IllegalArgumentException.class, () -> tail.put("a", "x"));
+        assertThrows(IllegalArgumentException.class, () -> tail.headMap("a", false));
+        tail.clear();
+        assertEquals(List.of("four"), trie.listKeys());
+    }
+
+    @Test
+    void testRandomOperationsAgainstTreeMap() {
+        Random random = new Random(18);
+        TrieMap<Integer> map = new TrieMap<>();
+        TreeMap<String, Integer> expected = new TreeMap<>();
+
+        for (int i = 0; i < 3000; i++) {
+            String key = randomKey(random);
+            switch (random.nextInt(4)) {
+                case 0 -> assertEquals(expected.remove(key), map.remove(key));
+                case 1 -> assertEquals(expected.ceilingKey(key), map.ceilingKey(key));
+                default -> assertEquals(expected.put(key, i), map.put(key, i));
+            }
+        }
+        assertEquals(expected, map);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+
+        for (int i = 0; i < 300; i++) {
+            String a = randomKey(random);
+            String b = randomKey(random);
+            String from = a.compareTo(b) <= 0 ? a : b;
+            String to = a.compareTo(b) <= 0 ? b : a;
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+
+            NavigableMap<String, Integer> expectedView = expected.subMap(from, fromInclusive, to, toInclusive);
+            NavigableMap<String, Integer> view = map.subMap(from, fromInclusive, to, toInclusive);
+            if (random.nextBoolean()) {
+                expectedView = expectedView.descendingMap();
+                view = view.descendingMap();
+            }
+
+            assertEquals(expectedView.size(), view.size());
+            assertEquals(new ArrayList<>(expectedView.entrySet()), new ArrayList<>(view.entrySet()));
+            String probe = randomKey(random);
+            assertEquals(expectedView.lowerKey(probe), view.lowerKey(probe));
+            assertEquals(expectedView.floorKey(probe), view.floorKey(probe));
+            assertEquals(expectedView.ceilingKey(probe), view.ceilingKey(probe));
+            assertEquals(expectedView.higherKey(probe), view.higherKey(probe));
+            assertEquals(expectedView.firstEntry(), view.firstEntry());
+            assertEquals(expectedView.lastEntry(), view.lastEntry());
+            assertEquals(expectedView.containsKey(probe), view.containsKey(probe));
+        }
+    }
+
+    @Test
+    void testIgnoreCaseBounds() {
+        Trie<Integer> trie = new Trie<>(true);
+        NavigableMap<String, Integer> map = trie.asNavigableMap();
+        map.put("Apple", 1);
+        map.put("banana", 2);
+        map.put("CHERRY", 3);
+
+        NavigableMap<String, Integer> view = map.subMap("APPLE", true, "Cherry", false);
+        assertEquals(List.of("apple", "banana"), new ArrayList<>(view.keySet()));
+        assertTrue(view.containsKey("BANANA"));
+        assertEquals(1, view.get("aPPLE"));
+        assertFalse(view.containsKey("cherry"));
+        assertEquals("banana", map.higherKey("B"));
+        assertEquals(List.of("banana", "cherry"), new ArrayList<>(map.tailMap("Banana", true).keySet()));
+        assertEquals(0, map.comparator().compare("APPLE", "apple"));
+        assertThrows(IllegalArgumentException.class, () -> map.subMap("C", "a"));
+        assertThrows(IllegalArgumentException.class, () -> view.headMap("D"));
+
+        // bounds and probes in any case behave as their folded form
+        Random random = new Random(18);
+        TreeMap<String, Integer> expected = new TreeMap<>(Map.of("apple", 1, "banana", 2, "cherry", 3));
+        for (int i = 0; i < 2000; i++) {
+            String key = randomMixedCaseKey(random);
+            map.put(key, i);
+            expected.put(Trie.foldCase(key), i);
+
+            String from = randomMixedCaseKey(random);
+            String to = randomMixedCaseKey(random);
+            if (Trie.foldCase(from).compareTo(Trie.foldCase(to)) > 0) {
+                String swap = from;
+                from = to;
+                to = swap;
+            }
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            NavigableMap<String, Integer> expectedView =
+                    expected.subMap(Trie.foldCase(from), fromInclusive, Trie.foldCase(to), toInclusive);
+            NavigableMap<String, Integer> actualView = map.subMap(from, fromInclusive, to, toInclusive);
+
+            assertEquals(expectedView.size(), actualView.size());
+            assertEquals(new ArrayList<>(expectedView.entrySet()), new ArrayList<>(actualView.entrySet()));
+            String probe = randomMixedCaseKey(random);
+            String folded = Trie.foldCase(probe);
+            assertEquals(expectedView.containsKey(folded), actualView.containsKey(probe));
+            assertEquals(expectedView.get(folded), actualView.get(probe));
+            assertEquals(expectedView.floorKey(folded), actualView.floorKey(probe));
+            assertEquals(expectedView.higherKey(folded), actualView.higherKey(probe));
+        }
+    }
+
+    private static String randomMixedCaseKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        for (int j = random.nextInt(4); j >= 0; j--) {
+            char c = (char) ('a' + random.nextInt(random.nextBoolean() ? 3 : 12));
+            key.append(random.nextBoolean() ? Character.toUpperCase(c) : c);
+        }
+        return key.toString();
+    }
+
+    private static String randomKey(Random random) {
+        StringBuilder key = new StringBuilder();
+        for (int j = random.nextInt(4); j >= 0; j--) {
+            key.append((char) ('a' + random.nextInt(random.nextBoolean() ? 3 : 12)));
+        }
+        return key.toString();
+    }
+}
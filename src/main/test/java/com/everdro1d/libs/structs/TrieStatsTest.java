@@ -0,0 +1,75 @@
+// dro1dDev - created: 2026-10-16
+
+package com.everdro1d.libs.structs;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+
+class TrieStatsTest {
+
+    @Test
+    void testShape() {
+        Trie<String> trie = new Trie<>(List.of("abc", "abd", "b"));
+        TrieStats stats = trie.stats();
+
+        // root, a, ab, abc, abd, b
+        assertEquals(6, stats.getNodeCount());
+        assertEquals(3, stats.getKeyCount());
+        assertEquals(3, stats.getMaxDepth());
+        assertEquals(7.0 / 3, stats.getAverageDepth(), 1e-9);
+        assertArrayEquals(new int[] {3, 1, 2}, stats.getFanOutHistogram());
+        assertEquals(1.0 / 6, stats.getSingleChildShare(), 1e-9); // only "a"
+        assertTrue(stats.getEstimatedBytes() >= 6 * 48L);
+
+        TrieStats empty = new Trie<String>().stats();
+        assertEquals(1, empty.getNodeCount());
+        assertEquals(0, empty.getKeyCount());
+        assertEquals(0.0, empty.getAverageDepth());
+        assertArrayEquals(new int[] {1}, empty.getFanOutHistogram());
+    }
+
+    @Test
+    void testWideAndChainedTries() {
+        Trie<String> wide = new Trie<>();
+        for (char c = 'A'; c < 'A' + 40; c++) {
+            wide.insert(String.valueOf(c));
+        }
+        int[] histogram = wide.stats().getFanOutHistogram();
+        assertEquals(41, histogram.length);
+        assertEquals(1, histogram[40]);
+        assertEquals(40, histogram[0]);
+
+        Trie<String> chain = new Trie<>(List.of("x".repeat(100)));
+        TrieStats stats = chain.stats();
+        assertEquals(101, stats.getNodeCount());
+        assertEquals(100, stats.getMaxDepth());
+        assertEquals(100.0 / 101, stats.getSingleChildShare(), 1e-9);
+        assertTrue(stats.getEstimatedBytes() > wide.stats().getEstimatedBytes());
+    }
+
+    @Test
+    void testMXBean() throws Exception {
+        Trie<Integer> trie = new Trie<>(Map.of("one", 1, "two", 2));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        ObjectName name = new ObjectName("com.everdro1d.libs.structs:type=Trie,name=test");
+        server.registerMBean(trie.mxBean(), name);
+        try {
+            trie.insert("three", 3);
+            assertEquals(3, server.getAttribute(name, "KeyCount"));
+            assertEquals(false, server.getAttribute(name, "IgnoreCase"));
+
+            CompositeData stats = (CompositeData) server.getAttribute(name, "Stats");
+            assertEquals(3, stats.get("keyCount"));
+            assertEquals(trie.stats().getNodeCount(), stats.get("nodeCount"));
+            assertArrayEquals(trie.stats().getFanOutHistogram(), (int[]) stats.get("fanOutHistogram"));
+        } finally {
+            server.unregisterMBean(name);
+        }
+    }
+}
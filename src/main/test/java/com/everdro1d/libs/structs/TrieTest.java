@@ -5,7 +5,11 @@ package com.everdro1d.libs.structs;
 import com.everdro1d.libs.structs.Trie;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
+import java.lang.management.ManagementFactory;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 class TrieTest {
 
@@ -154,4 +158,611 @@ class TrieTest {
         assertEquals("vehicle", trie.get("car"));
         assertNull(trie.get("banana")); // Key not present
     }
-}
\ No newline at end of file
+
+    @Test
+    void testWideFanOut() {
+        Trie<Integer> trie = new Trie<>();
+        for (char c = 'a'; c <= 'z'; c++) {
+            trie.insert("k" + c, (int) c);
+            trie.insert(String.valueOf(c), (int) c);
+        }
+
+        for (char c = 'a'; c <= 'z'; c++) {
+            assertEquals((int) c, trie.get("k" + c));
+            assertEquals((int) c, trie.get(String.valueOf(c)));
+        }
+        assertEquals(52, trie.listKeys().size());
+
+        // remove most children so the node shrinks back to its sorted layout
+        for (char c = 'a'; c <= 'w'; c++) {
+            trie.remove("k" + c);
+        }
+        assertFalse(trie.contains("ka"));
+        assertEquals((int) 'x', trie.get("kx"));
+        assertEquals((int) 'z', trie.get("kz"));
+        assertEquals(Arrays.asList("k", "kx", "ky", "kz"), trie.listKeysMatching("k"));
+    }
+
+    @Test
+    void testRandomKeysAgainstMap() {
+        Random random = new Random(42);
+        Trie<Integer> trie = new Trie<>();
+        Map<String, Integer> expected = new HashMap<>();
+
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(4);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('!' + random.nextInt(60)));
+            }
+
+            if (random.nextInt(3) == 0) {
+                trie.remove(key.toString());
+                expected.remove(key.toString());
+                assertFalse(trie.contains(key.toString()));
+            } else {
+                trie.insert(key.toString(), i);
+                expected.put(key.toString(), i);
+            }
+        }
+
+        assertEquals(expected, trie.getTrieAsMap());
+    }
+
+    @Test
+    void testTopKMatching() {
+        Trie<String> trie = new Trie<>();
+        trie.insert("apple", "fruit", 5);
+        trie.insert("app", "prefix", 1);
+        trie.insert("apricot", "fruit", 9);
+        trie.insert("application", "software", 7);
+        trie.insert("banana", "fruit", 100);
+        trie.insert("ap", "prefix");
+
+        assertEquals(List.of("apricot", "application"), trie.topKMatching("ap", 2));
+        assertEquals(List.of("apricot", "application", "apple", "app", "ap"), trie.topKMatching("ap", 10));
+        assertEquals(List.of("banana"), trie.topKMatching("", 1));
+        assertTrue(trie.topKMatching("c", 3).isEmpty());
+
+        // lowering and removing keys must update the cached best scores
+        trie.insert("apricot", "fruit", 2);
+        assertEquals(List.of("application", "apple"), trie.topKMatching("ap", 2));
+        trie.remove("application");
+        assertEquals(List.of("apple", "apricot"), trie.topKMatching("ap", 2));
+    }
+
+    @Test
+    void testTopKMatchingAgainstSort() {
+        Random random = new Random(11);
+        Trie<Integer> trie = new Trie<>();
+        Map<String, Double> scores = new HashMap<>();
+        for (int i = 0; i < 3000; i++) {
+            StringBuilder key = new StringBuilder("k");
+            int length = random.nextInt(5);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(5)));
+            }
+            double score = random.nextInt(1_000_000);
+            trie.insert(key.toString(), i, score);
+            scores.put(key.toString(), score);
+        }
+
+        List<String> expected = new ArrayList<>(scores.keySet());
+        expected.sort((a, b) -> Double.compare(scores.get(b), scores.get(a)));
+        List<String> actual = trie.topKMatching("k", 20);
+        assertEquals(20, actual.size());
+        for (int i = 0; i < 20; i++) {
+            assertEquals(scores.get(expected.get(i)), scores.get(actual.get(i)));
+        }
+    }
+
+    @Test
+    void testLazyKeysAndEntries() {
+        Trie<String> trie = new Trie<>();
+        trie.insert("apple", "fruit");
+        trie.insert("app", "prefix");
+        trie.insert("apricot", "fruit");
+        trie.insert("banana", "fruit");
+
+        List<String> keys = new ArrayList<>();
+        for (String key : trie.keys("ap")) {
+            keys.add(key);
+        }
+        assertEquals(List.of("app", "apple", "apricot"), keys);
+
+        Iterator<Map.Entry<String, String>> entries = trie.entries("").iterator();
+        Map.Entry<String, String> first = entries.next();
+        assertEquals("app", first.getKey());
+        assertEquals("prefix", first.getValue());
+        assertFalse(trie.keys("c").iterator().hasNext());
+    }
+
+    @Test
+    void testStream() {
+        Trie<Integer> trie = new Trie<>();
+        for (int i = 0; i < 10000; i++) {
+            trie.insert(Integer.toString(i, 7), i);
+        }
+
+        List<String> sequential = trie.stream("1").map(Map.Entry::getKey).collect(Collectors.toList());
+        List<String> parallel = trie.stream("1").parallel().map(Map.Entry::getKey).collect(Collectors.toList());
+        assertEquals(trie.listKeysMatching("1"), sequential);
+        assertEquals(sequential, parallel);
+
+        long sum = trie.stream("").parallel().mapToLong(Map.Entry::getValue).sum();
+        assertEquals(49995000L, sum);
+        assertEquals(List.of("0", "1"), trie.stream("").limit(2).map(Map.Entry::getKey).collect(Collectors.toList()));
+    }
+
+    @Test
+    void testStreamIsSized() {
+        Trie<Integer> trie = new Trie<>();
+        for (int i = 0; i < 10000; i++) {
+            trie.insert(Integer.toString(i, 7), i);
+        }
+
+        Spliterator<Map.Entry<String, Integer>> spliterator = trie.stream("1").spliterator();
+        assertTrue(spliterator.hasCharacteristics(Spliterator.SIZED));
+        assertEquals(trie.countWithPrefix("1"), spliterator.estimateSize());
+
+        spliterator.tryAdvance(entry -> { });
+        Spliterator<Map.Entry<String, Integer>> prefix = spliterator.trySplit();
+        long expected = trie.countWithPrefix("1") - 1;
+        assertEquals(expected, prefix.estimateSize() + spliterator.estimateSize());
+
+        long[] counted = new long[1];
+        prefix.forEachRemaining(entry -> counted[0]++);
+        assertEquals(expected - spliterator.estimateSize(), counted[0]);
+        assertEquals(0, prefix.estimateSize());
+        assertEquals(trie.size(), trie.stream("").parallel().count());
+    }
+
+    @Test
+    void testFuzzyMatches() {
+        Trie<String> trie = new Trie<>();
+        trie.insert(Arrays.asList("help", "hello", "helm", "held", "shell", "yellow", "h"));
+
+        assertEquals(List.of("help"), trie.fuzzyMatches("help", 0, -1));
+        assertEquals(List.of("help", "held", "helm"), trie.fuzzyMatches("help", 1, -1));
+        assertEquals(List.of("held", "hello"), trie.fuzzyMatches("hepl", 2, 2));
+        assertTrue(trie.fuzzyMatches("hepl", 1, -1).isEmpty());
+        assertEquals(List.of("yellow"), trie.fuzzyMatches("yelow", 1, -1));
+        assertTrue(trie.fuzzyMatches("xyz", 1, -1).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> trie.fuzzyMatches("help", -1, -1));
+        assertThrows(IllegalArgumentException.class, () -> trie.fuzzyMatches("", -5, -1));
+    }
+
+    @Test
+    void testFuzzyMatchesAgainstBruteForce() {
+        Random random = new Random(13);
+        Trie<String> trie = new Trie<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder key = new StringBuilder();
+            int length = 1 + random.nextInt(6);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(4)));
+            }
+            trie.insert(key.toString());
+        }
+
+        for (String query : List.of("abc", "dddd", "a", "abcdab")) {
+            List<String> expected = new ArrayList<>();
+            for (String key : trie.listKeys()) {
+                if (levenshtein(query, key) <= 2) expected.add(key);
+            }
+            List<String> actual = trie.fuzzyMatches(query, 2, -1);
+            assertEquals(new TreeSet<>(expected), new TreeSet<>(actual));
+            assertEquals(expected.size(), actual.size());
+        }
+    }
+
+    static int levenshtein(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] row = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) previous[j] = j;
+
+        for (int i = 1; i <= a.length(); i++) {
+            row[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitute = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                row[j] = Math.min(Math.min(row[j - 1] + 1, previous[j] + 1), substitute);
+            }
+            int[] swap = previous;
+            previous = row;
+            row = swap;
+        }
+        return previous[b.length()];
+    }
+
+    @Test
+    void testParallelBulkInsert() {
+        Random random = new Random(19);
+        Map<String, Integer> map = new HashMap<>();
+        List<String> list = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            StringBuilder key = new StringBuilder("/usr/");
+            int length = random.nextInt(8);
+            for (int j = 0; j < length; j++) {
+                key.append((char) ('a' + random.nextInt(6)));
+            }
+            map.put(key.toString(), i);
+            list.add(key.toString());
+        }
+
+        Trie<Integer> sequential = new Trie<>();
+        sequential.setParallelThreshold(Integer.MAX_VALUE);
+        sequential.insert(map);
+
+        Trie<Integer> parallel = new Trie<>();
+        parallel.setParallelThreshold(1000);
+        // explicit pool, so the parallel path also runs on single-core machines
+        ForkJoinPool pool = new ForkJoinPool(4);
+        pool.submit(() -> parallel.insert(map)).join();
+        pool.shutdown();
+        assertEquals(sequential.getTrieAsMap(), parallel.getTrieAsMap());
+        assertEquals(1, parallel.topKMatching("/usr/", 1).size());
+
+        // list inserts after the map insert reset every value to null
+        parallel.insert(list);
+        assertEquals(map.keySet(), new HashSet<>(parallel.listKeys()));
+        for (String key : map.keySet()) {
+            assertNull(parallel.get(key));
+        }
+    }
+
+    @Test
+    void testLongestPrefix() {
+        Trie<String> trie = new Trie<>(Map.of("/", "root", "/usr", "usr", "/usr/lib", "lib"));
+
+        assertEquals("/usr/lib", trie.longestPrefixOf("/usr/lib/jvm"));
+        assertEquals("lib", trie.longestPrefixValue("/usr/lib/jvm"));
+        assertEquals("/usr", trie.longestPrefixOf("/usr/li"));
+        assertEquals("/usr", trie.longestPrefixOf("/usr"));
+        assertEquals("root", trie.longestPrefixValue("/var"));
+        assertNull(trie.longestPrefixOf("var"));
+        assertNull(trie.longestPrefixValue(""));
+
+        trie.insert("", "empty");
+        assertEquals("", trie.longestPrefixOf("var"));
+        assertEquals("empty", trie.longestPrefixValue("var"));
+    }
+
+    @Test
+    void testMatchPattern() {
+        Trie<String> trie = new Trie<>(List.of(
+                "Settings.main.title", "Settings.main.label", "Settings.about.title",
+                "Settings.title", "Menu.file.title", "a*b", "axb"
+        ));
+
+        assertEquals(List.of("Settings.about.title", "Settings.main.title"), trie.matchPattern("Settings.*.title"));
+        assertEquals(List.of("Settings.about.title", "Settings.main.title", "Settings.title"), trie.matchPattern("Settings*title"));
+        assertEquals(List.of("a*b", "axb"), trie.matchPattern("a?b"));
+        assertEquals(List.of("a*b"), trie.matchPattern("a\\*b"));
+        assertEquals(List.of("Menu.file.title"), trie.matchPattern("*.file.*"));
+        assertEquals(7, trie.matchPattern("**").size());
+        assertEquals(2, trie.matchPattern("*", 2).size());
+        assertTrue(trie.matchPattern("Settings.?").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> trie.matchPattern("a\\"));
+    }
+
+    @Test
+    void testMatchPatternAgainstRegex() {
+        Random random = new Random(16);
+        Trie<String> trie = new Trie<>();
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int j = random.nextInt(7); j >= 0; j--) {
+                key.append((char) ('a' + random.nextInt(3)));
+            }
+            trie.insert(key.toString());
+            keys.add(key.toString());
+        }
+
+        String[] tokens = {"a", "b", "c", "?", "*"};
+        for (int i = 0; i < 200; i++) {
+            StringBuilder glob = new StringBuilder();
+            StringBuilder regex = new StringBuilder();
+            for (int j = random.nextInt(5); j >= 0; j--) {
+                String token = tokens[random.nextInt(tokens.length)];
+                glob.append(token);
+                regex.append(token.equals("?") ? "." : token.equals("*") ? ".*" : token);
+            }
+
+            List<String> expected = keys.stream()
+                    .filter(key -> key.matches(regex.toString()))
+                    .distinct().sorted().collect(Collectors.toList());
+            assertEquals(expected, trie.matchPattern(glob.toString()), glob.toString());
+        }
+    }
+
+    @Test
+    void testOrderStatistics() {
+        Trie<String> trie = new Trie<>(List.of("app", "apple", "apply", "banana", "band"));
+
+        assertEquals(5, trie.size());
+        assertEquals(3, trie.countWithPrefix("app"));
+        assertEquals(2, trie.countWithPrefix("ban"));
+        assertEquals(0, trie.countWithPrefix("c"));
+        assertEquals(0, trie.rank("app"));
+        assertEquals(1, trie.rank("appl"));
+        assertEquals(3, trie.rank("b"));
+        assertEquals(5, trie.rank("z"));
+        assertEquals("apply", trie.keyAt(2));
+        assertEquals("band", trie.keyAt(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.keyAt(5));
+
+        assertTrue(trie.remove("apple"));
+        assertFalse(trie.remove("apple"));
+        assertFalse(trie.remove("ap"));
+        assertEquals(4, trie.size());
+        assertEquals("apply", trie.keyAt(1));
+
+        trie.clear();
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void testOrderStatisticsAgainstTreeSet() {
+        Random random = new Random(17);
+        Trie<Integer> trie = new Trie<>();
+        TreeSet<String> expected = new TreeSet<>();
+        for (int i = 0; i < 5000; i++) {
+            StringBuilder key = new StringBuilder();
+            for (int j = random.nextInt(5); j >= 0; j--) {
+                // wide alphabet so some nodes switch to the hashed layout
+                key.append((char) ('a' + random.nextInt(random.nextBoolean() ? 3 : 20)));
+            }
+            if (random.nextInt(4) == 0) {
+                assertEquals(expected.remove(key.toString()), trie.remove(key.toString()));
+            } else if (random.nextBoolean()) {
+                trie.insert(key.toString(), i, random.nextDouble());
+                expected.add(key.toString());
+            } else {
+                trie.insert(key.toString(), i);
+                expected.add(key.toString());
+            }
+        }
+
+        assertEquals(expected.size(), trie.size());
+        List<String> sorted = new ArrayList<>(expected);
+        for (int i = 0; i < sorted.size(); i += 7) {
+            assertEquals(sorted.get(i), trie.keyAt(i));
+            assertEquals(i, trie.rank(sorted.get(i)));
+        }
+        for (String prefix : List.of("a", "ab", "c", "t", "zz")) {
+            assertEquals(expected.subSet(prefix, prefix + Character.MAX_VALUE).size(), trie.countWithPrefix(prefix));
+            assertEquals(expected.headSet(prefix).size(), trie.rank(prefix));
+        }
+    }
+
+    @Test
+    void testSizeAfterParallelInsert() {
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            keys.add("key" + (i % 15000));
+        }
+
+        Trie<String> trie = new Trie<>();
+        trie.setParallelThreshold(1000);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        pool.submit(() -> trie.insert(keys)).join();
+        pool.shutdown();
+
+        assertEquals(15000, trie.size());
+        assertEquals(6111, trie.countWithPrefix("key1")); // key1, key1x, key1xx, key1xxx, key10000-key14999
+        assertEquals(new TreeSet<>(keys).first(), trie.keyAt(0));
+    }
+
+    @Test
+    void testCharSequenceRanges() {
+        Trie<Integer> trie = new Trie<>();
+        StringBuilder text = new StringBuilder("[apple][app][banana]");
+        trie.insert(text, 1, 6, 1);
+        trie.insert(text, 8, 11, 2);
+        trie.insert(new StringBuilder("banana"), 3);
+
+        assertEquals(List.of("app", "apple", "banana"), trie.listKeys());
+        assertTrue(trie.contains(text, 8, 11));
+        assertFalse(trie.contains(text, 8, 10));
+        assertTrue(trie.startsWith(text, 8, 10));
+        assertEquals(3, trie.get(text, 13, 19));
+        assertTrue(trie.set(text, 1, 6, 10));
+        assertEquals(10, trie.get("apple"));
+        assertTrue(trie.remove(text, 8, 11));
+        assertFalse(trie.contains("app"));
+        assertThrows(IndexOutOfBoundsException.class, () -> trie.contains(text, 5, 100));
+    }
+
+    @Test
+    void testIgnoreCase() {
+        Trie<String> trie = new Trie<>(true);
+        assertTrue(trie.isIgnoreCase());
+        trie.insert("Hello", "1");
+        trie.insert("HELP", "2");
+
+        assertTrue(trie.contains("hello"));
+        assertTrue(trie.contains(new StringBuilder("hElLo")));
+        assertEquals("2", trie.get("help"));
+        assertTrue(trie.startsWith("HEL"));
+        assertEquals(List.of("hello", "help"), trie.listKeysMatching("HeL"));
+        assertEquals("help", trie.longestPrefixOf("HELPER"));
+        assertEquals(List.of("help"), trie.matchPattern("H*P"));
+        assertTrue(trie.remove("HELLO"));
+        assertEquals(1, trie.size());
+        assertFalse(new Trie<String>().isIgnoreCase());
+    }
+
+    @Test
+    void testLookupsDoNotAllocate() {
+        if (!(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threads)
+                || !threads.isThreadAllocatedMemorySupported()) {
+            return;
+        }
+        threads.setThreadAllocatedMemoryEnabled(true);
+
+        Trie<Integer> trie = new Trie<>(true);
+        StringBuilder[] keys = new StringBuilder[500];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = new StringBuilder("Key-").append(i * 7919);
+            trie.insert(keys[i].toString(), i);
+        }
+
+        int lookups = 200_000;
+        long hits = 0;
+        for (int round = 0; round < 3; round++) { // warm up, then measure the last round
+            long before = threads.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < lookups; i++) {
+                StringBuilder key = keys[i % keys.length];
+                if (trie.contains(key, 0, key.length())) hits++;
+                if (trie.get(key) != null) hits++;
+            }
+            long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+            if (round == 2) {
+                // allow a fixed slack for the measurement itself, far less than one byte per lookup
+                assertTrue(allocated < 4096, allocated + " bytes allocated for " + lookups + " lookups");
+            }
+        }
+        assertEquals(6L * lookups, hits);
+    }
+
+    @Test
+    void testRemovePrefix() {
+        Trie<String> trie = new Trie<>(List.of("car", "cart", "carbon", "care", "cat", "dog"));
+        trie.insert("carbonate", "x", 5.0);
+
+        assertEquals(4, trie.removePrefix("carb") + trie.removePrefix("cart") + trie.removePrefix("care"));
+        assertEquals(List.of("car", "cat", "dog"), trie.listKeys());
+        assertEquals(0, trie.removePrefix("cow"));
+        assertEquals(List.of("car", "cat"), trie.topKMatching("c", 5).stream().sorted().toList());
+        assertEquals(2, trie.removePrefix("ca"));
+        assertEquals(List.of("dog"), trie.listKeys());
+        assertFalse(trie.startsWith("c"));
+        assertEquals(1, trie.size());
+        assertEquals(1, trie.removePrefix(""));
+        assertTrue(trie.isEmpty());
+        assertEquals(0, trie.size());
+    }
+
+    @Test
+    void testMergeUnionIntersect() {
+        Trie<Integer> first = new Trie<>(Map.of("apple", 1, "app", 2, "banana", 3));
+        Trie<Integer> second = new Trie<>(Map.of("apple", 10, "apricot", 20, "band", 30));
+        second.insert("cherry", 40, 9.0);
+
+        Trie<Integer> union = first.union(second);
+        assertEquals(List.of("app", "apple", "apricot", "banana", "band", "cherry"), union.listKeys());
+        assertEquals(1, union.get("apple"));
+        assertEquals(List.of("cherry"), union.topKMatching("", 1));
+
+        Trie<Integer> intersection = first.intersect(second);
+        assertEquals(List.of("apple"), intersection.listKeys());
+        assertEquals(1, intersection.get("apple"));
+        assertEquals(0, first.intersect(new Trie<>()).size());
+
+        first.merge(second, Integer::sum);
+        assertEquals(11, first.get("apple"));
+        assertEquals(6, first.size());
+        second.set("band", 99);
+        assertEquals(30, first.get("band")); // no nodes are shared
+
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new Trie<>(true), Integer::sum));
+    }
+
+    @Test
+    void testSubtreeOperationsAgainstTreeMap() {
+        Random random = new Random(20);
+        for (int round = 0; round < 50; round++) {
+            TreeMap<String, Integer> left = randomMap(random);
+            TreeMap<String, Integer> right = randomMap(random);
+            Trie<Integer> leftTrie = new Trie<>(left);
+            Trie<Integer> rightTrie = new Trie<>(right);
+
+            TreeMap<String, Integer> union = new TreeMap<>(right);
+            union.putAll(left);
+            assertEquals(union, leftTrie.union(rightTrie).getTrieAsMap());
+
+            TreeMap<String, Integer> intersection = new TreeMap<>(left);
+            intersection.keySet().retainAll(right.keySet());
+            Trie<Integer> intersected = leftTrie.intersect(rightTrie);
+            assertEquals(intersection, intersected.getTrieAsMap());
+            assertEquals(intersection.size(), intersected.size());
+
+            TreeMap<String, Integer> merged = new TreeMap<>(left);
+            right.forEach((key, value) -> merged.merge(key, value, Math::max));
+            leftTrie.merge(rightTrie, Math::max);
+            assertEquals(merged, leftTrie.getTrieAsMap());
+            assertEquals(merged.size(), leftTrie.size());
+
+            String prefix = randomMap(random).firstKey();
+            int expectedRemoved = merged.subMap(prefix, prefix + Character.MAX_VALUE).size();
+            merged.subMap(prefix, prefix + Character.MAX_VALUE).clear();
+            assertEquals(expectedRemoved, leftTrie.removePrefix(prefix));
+            assertEquals(merged, leftTrie.getTrieAsMap());
+            assertEquals(merged.size(), leftTrie.size());
+            assertEquals(merged.isEmpty(), leftTrie.isEmpty());
+        }
+    }
+
+    @Test
+    void testEmptyPrefixMatchesEveryVariant() {
+        Trie<String> trie = new Trie<>();
+        RadixTrie<String> radix = new RadixTrie<>();
+        ConcurrentTrie<String> concurrent = new ConcurrentTrie<>();
+        PersistentTrie<String> persistent = new PersistentTrie<>();
+        ByteTrie<String> bytes = new ByteTrie<>();
+        IntTrie ints = new IntTrie();
+        LongTrie longs = new LongTrie();
+        PersistentTrie.Snapshot<String> snapshot = persistent.snapshot();
+
+        Map<String, Predicate<String>> variants = new LinkedHashMap<>();
+        variants.put("Trie", trie::startsWith);
+        variants.put("RadixTrie", radix::startsWith);
+        variants.put("ConcurrentTrie", concurrent::startsWith);
+        variants.put("PersistentTrie", persistent::startsWith);
+        variants.put("Snapshot", snapshot::startsWith);
+        variants.put("ByteTrie", bytes::startsWith);
+        variants.put("IntTrie", ints::startsWith);
+        variants.put("LongTrie", longs::startsWith);
+        variants.put("Dawg", new Dawg.Builder().build()::startsWith);
+        variants.put("FrozenTrie", trie.freeze()::startsWith);
+        assertEmptyPrefixContract(variants);
+
+        trie.insert("a");
+        radix.insert("a");
+        concurrent.insert("a");
+        persistent.insert("a");
+        bytes.insert("a", null);
+        ints.putInt("a", 1);
+        longs.putLong("a", 1);
+        trie.remove("a");
+        radix.remove("a");
+        concurrent.remove("a");
+        persistent.remove("a");
+        bytes.remove("a");
+        ints.remove("a");
+        longs.remove("a");
+        variants.put("Snapshot", snapshot.insert("a").remove("a")::startsWith);
+        variants.put("FrozenTrie", trie.freeze()::startsWith);
+        assertEmptyPrefixContract(variants);
+    }
+
+    private static void assertEmptyPrefixContract(Map<String, Predicate<String>> variants) {
+        variants.forEach((name, startsWith) -> {
+            assertTrue(startsWith.test(""), name);
+            assertFalse(startsWith.test("a"), name);
+        });
+    }
+
+    private static TreeMap<String, Integer> randomMap(Random random) {
+        TreeMap<String, Integer> map = new TreeMap<>();
+        for (int i = random.nextInt(40) + 1; i > 0; i--) {
+            StringBuilder key = new StringBuilder();
+            for (int j = random.nextInt(4); j >= 0; j--) {
+                key.append((char) ('a' + random.nextInt(random.nextBoolean() ? 2 : 12)));
+            }
+            map.put(key.toString(), random.nextInt(100));
+        }
+        return map;
+    }
+}